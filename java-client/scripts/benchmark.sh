@@ -0,0 +1,17 @@
+#!/bin/bash
+# Lance un benchmark de src/test/java (classe *Benchmark avec un main, hors suite de tests) sur les classes compilées.
+# Usage : scripts/benchmark.sh <classe> [arguments...]
+#   scripts/benchmark.sh InsertDayArticlesBenchmark
+#   scripts/benchmark.sh UgcFilmParserBenchmark 20 12
+set -eu
+
+if [ $# -lt 1 ]; then
+    echo "Usage : $0 <classe> [arguments...]" >&2
+    exit 1
+fi
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+CLASSPATH_FILE="$ROOT/target/benchmark.classpath"
+
+cd "$ROOT"
+mvn -B -q test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile="$CLASSPATH_FILE"
+exec java -cp "$ROOT/target/test-classes:$ROOT/target/classes:$(cat "$CLASSPATH_FILE")" "$@"
@@ -0,0 +1,97 @@
+#!/bin/bash
+# Benchmark de démarrage à froid : jar shadé lancé par le JDK courant contre l'image jlink + AppCDS.
+# Chaque exécution quitte dès que le journal est affiché et relève la première image, l'état interactif
+# (mesurés par StartupMetrics depuis le lancement du processus) et la durée totale du processus.
+# Usage : mvn -Pstartup-image package && scripts/startup-benchmark.sh [exécutions par variante, défaut 5]
+# Sous Linux, les caches de pages sont vidés avant chaque exécution si /proc/sys/vm/drop_caches est accessible.
+set -u
+
+RUNS="${1:-5}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/target/Client-java-PA-setup2-1.0-SNAPSHOT.jar"
+LAUNCHER="$ROOT/target/image/the-bench.sh"
+TIMEOUT_SECONDS="${BENCHMARK_TIMEOUT_SECONDS:-120}"
+
+if [ ! -f "$JAR" ] || [ ! -x "$LAUNCHER" ]; then
+    echo "[benchmark] Construire d'abord l'image : mvn -Pstartup-image package" >&2
+    exit 1
+fi
+if [ ! -f "$ROOT/target/image/lib/the-bench.jsa" ]; then
+    echo "[benchmark] Attention : pas d'archive AppCDS, l'image ne profite que de l'archive du JDK" >&2
+fi
+
+DISPLAY_WRAPPER=()
+if [ -z "${DISPLAY:-}" ] && [ -z "${WAYLAND_DISPLAY:-}" ]; then
+    if command -v xvfb-run > /dev/null; then
+        DISPLAY_WRAPPER=(xvfb-run -a)
+    else
+        echo "[benchmark] Pas d'affichage ni de xvfb-run : JavaFX ne peut pas démarrer" >&2
+        exit 1
+    fi
+fi
+
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+drop_caches() {
+    sync
+    if [ -w /proc/sys/vm/drop_caches ]; then
+        echo 3 > /proc/sys/vm/drop_caches
+    fi
+}
+
+# run_once <fichier de résultats> <commande...> : ajoute "première_image interactif total" en ms
+run_once() {
+    local results="$1"
+    shift
+    local db="$WORK_DIR/bench-$RANDOM.db"
+    drop_caches
+    local start end output first interactive
+    start=$(date +%s%N)
+    output=$(cd "$WORK_DIR" && THEBENCH_JAVA_OPTS="-Dthebench.exitWhenInteractive=true -Dthebench.db.path=$db" \
+        timeout "$TIMEOUT_SECONDS" "${DISPLAY_WRAPPER[@]}" "$@" 2>/dev/null)
+    end=$(date +%s%N)
+    rm -f "$db"*
+    first=$(echo "$output" | sed -n 's/^Démarrage : première image à \([0-9]*\) ms$/\1/p' | head -n 1)
+    interactive=$(echo "$output" | sed -n 's/^Démarrage : interactif à \([0-9]*\) ms$/\1/p' | head -n 1)
+    if [ -z "$first" ] || [ -z "$interactive" ]; then
+        echo "[benchmark] Exécution sans mesure ignorée : $*" >&2
+        return
+    fi
+    echo "$first $interactive $(( (end - start) / 1000000 ))" >> "$results"
+}
+
+# median <fichier> <colonne>
+median() {
+    cut -d ' ' -f "$2" "$1" | sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print 0; else if (NR % 2) print v[(NR + 1) / 2]; else print int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+BASELINE="$WORK_DIR/baseline.txt"
+IMAGE="$WORK_DIR/image.txt"
+: > "$BASELINE"
+: > "$IMAGE"
+
+# Les variantes sont alternées pour que les deux subissent les mêmes conditions de la machine
+for i in $(seq 1 "$RUNS"); do
+    echo "[benchmark] Exécution $i/$RUNS"
+    run_once "$BASELINE" bash -c 'exec java $THEBENCH_JAVA_OPTS -jar "$0"' "$JAR"
+    run_once "$IMAGE" "$LAUNCHER"
+done
+
+if [ ! -s "$BASELINE" ] || [ ! -s "$IMAGE" ]; then
+    echo "[benchmark] Aucune mesure exploitable" >&2
+    exit 1
+fi
+
+printf '\n%-22s %12s %12s %12s\n' "médianes (ms)" "jar" "image+CDS" "gain"
+for column in 1 2 3; do
+    case $column in
+        1) label="première image" ;;
+        2) label="interactif" ;;
+        3) label="processus complet" ;;
+    esac
+    before=$(median "$BASELINE" $column)
+    after=$(median "$IMAGE" $column)
+    gain=$(awk -v b="$before" -v a="$after" 'BEGIN { if (b > 0) printf "%.1f %%", (b - a) * 100 / b; else print "-" }')
+    printf '%-22s %12s %12s %12s\n' "$label" "$before" "$after" "$gain"
+done
@@ -0,0 +1,14 @@
+#!/bin/bash
+# Lance The Bench depuis l'image produite par mvn -Pstartup-image package (target/image).
+# L'archive AppCDS est utilisée si l'exécution d'entraînement l'a produite ; sinon seule l'archive du JDK sert.
+# Elle est liée au chemin du jar : après un déplacement de l'image, relancer scripts/train-cds.sh.
+IMAGE_DIR="$(cd "$(dirname "$0")" && pwd)"
+ARCHIVE="$IMAGE_DIR/lib/the-bench.jsa"
+
+CDS_OPTS=()
+if [ -f "$ARCHIVE" ]; then
+    CDS_OPTS=("-XX:SharedArchiveFile=$ARCHIVE" "-Xshare:auto")
+fi
+
+exec "$IMAGE_DIR/runtime/bin/java" "${CDS_OPTS[@]}" $THEBENCH_JAVA_OPTS \
+    -jar "$IMAGE_DIR/lib/the-bench.jar" "$@"
@@ -0,0 +1,41 @@
+#!/bin/bash
+# Exécution d'entraînement AppCDS : lance l'application depuis l'image jlink jusqu'à l'affichage du journal
+# (-Dthebench.exitWhenInteractive=true), puis la JVM écrit à sa sortie l'archive des classes chargées.
+# Usage : scripts/train-cds.sh target/image
+# JavaFX a besoin d'un affichage : sans DISPLAY, xvfb-run est utilisé s'il est installé.
+set -u
+
+IMAGE_DIR="$(cd "${1:?usage: train-cds.sh <image-dir>}" && pwd)"
+JAVA="$IMAGE_DIR/runtime/bin/java"
+JAR="$IMAGE_DIR/lib/the-bench.jar"
+ARCHIVE="$IMAGE_DIR/lib/the-bench.jsa"
+TIMEOUT_SECONDS="${TRAINING_TIMEOUT_SECONDS:-120}"
+
+DISPLAY_WRAPPER=()
+if [ -z "${DISPLAY:-}" ] && [ -z "${WAYLAND_DISPLAY:-}" ]; then
+    if command -v xvfb-run > /dev/null; then
+        DISPLAY_WRAPPER=(xvfb-run -a)
+    else
+        echo "[train-cds] Pas d'affichage ni de xvfb-run : archive AppCDS non générée" >&2
+        exit 1
+    fi
+fi
+
+# Base et dossier de travail jetables : l'entraînement ne touche pas aux données de l'utilisateur
+WORK_DIR="$(mktemp -d)"
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+rm -f "$ARCHIVE"
+echo "[train-cds] Exécution d'entraînement..."
+(cd "$WORK_DIR" && timeout "$TIMEOUT_SECONDS" "${DISPLAY_WRAPPER[@]}" "$JAVA" \
+    -XX:ArchiveClassesAtExit="$ARCHIVE" \
+    -Dthebench.exitWhenInteractive=true \
+    -Dthebench.db.path="$WORK_DIR/training.db" \
+    -jar "$JAR")
+STATUS=$?
+
+if [ $STATUS -ne 0 ] || [ ! -f "$ARCHIVE" ]; then
+    echo "[train-cds] Échec de l'exécution d'entraînement (code $STATUS) : archive AppCDS non générée" >&2
+    exit 1
+fi
+echo "[train-cds] Archive AppCDS : $ARCHIVE ($(du -h "$ARCHIVE" | cut -f1))"
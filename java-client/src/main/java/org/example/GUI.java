@@ -1,15 +1,25 @@
 package org.example;
+import org.example.controller.JournalController;
 import org.example.controller.MainController;
-import org.example.scraping.Scraper;
-import org.example.db.DatabaseManager;
+import org.example.dao.ArticlesDAO;
+import org.example.dao.DayArticlesDAO;
+import org.example.dao.FilmsDAO;
+import org.example.dao.FilmsSearchDAO;
+import org.example.dao.ScrapeStateDAO;
+import org.example.metrics.StartupMetrics;
+import org.example.plugin.Plugin;
+import org.example.plugin.PluginLoader;
+import org.example.repository.JournalRepository;
+import org.example.scraping.WebClientPool;
+import org.example.scraping.engine.RefreshScheduler;
+import org.example.task.TaskService;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -18,15 +28,22 @@ import org.example.version.UpdateChecker;
 import org.example.version.VersionUtil;
 
 public class GUI extends Application {
+    // Quitte dès que le journal est affiché : exécution d'entraînement AppCDS et benchmark (scripts/)
+    public static final String EXIT_WHEN_INTERACTIVE_PROPERTY = "thebench.exitWhenInteractive";
+
     @Override
     public void start(Stage stage) throws Exception {
-        // Créer le dossier /plugins s'il n'existe pas
-        File pluginDir = new File("plugins");
-        if (!pluginDir.exists()) {
-            pluginDir.mkdirs();
-        }
+        // Les étapes lentes partent avant la construction de la fenêtre et ne la bloquent pas
+        StartupOrchestrator startup = new StartupOrchestrator(TaskService.getInstance());
+        CompletableFuture<Void> schema = startup.step("startup.schema", GUI::createSchema);
+        CompletableFuture<?> journal = startup.step(JournalController.JOURNAL_WARM_UP_TASK, JournalRepository.getInstance()::warmUp);
+        // Pas de vérification de mise à jour pendant les mesures : ni appel réseau, ni fenêtre de confirmation
+        boolean exitWhenInteractive = Boolean.getBoolean(EXIT_WHEN_INTERACTIVE_PROPERTY);
+        CompletableFuture<UpdateChecker.Update> update = exitWhenInteractive
+                ? CompletableFuture.completedFuture(null) : startup.step("startup.update", UpdateChecker::findUpdate);
+        CompletableFuture<List<Plugin>> plugins = startup.step("startup.plugins", GUI::discoverPlugins);
+
         String localVersion = VersionUtil.getLocalVersion();
-        UpdateChecker.checkForUpdate();
         System.out.println("Local version: " + localVersion);
         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/ui/main.fxml"));
         Scene scene = new Scene(fxmlLoader.load());
@@ -35,8 +52,51 @@ public class GUI extends Application {
         stage.setScene(scene);
         stage.setMinWidth(1000);
         stage.setMinHeight(700);
+        startup.watchFirstFrame(scene);
         stage.show();
+
+        if (exitWhenInteractive) {
+            StartupMetrics.interactive().thenRun(() -> Platform.runLater(Platform::exit));
+        }
+
         MainController controller = fxmlLoader.getController();
-        controller.loadPlugins();
+        startup.onFxThread(plugins, controller::startPlugins);
+        startup.onFxThread(update, found -> {
+            if (found != null) {
+                UpdateChecker.promptUpdate(found);
+            }
+        });
+        // Vues secondaires et scraping de fond une fois la base prête, pour ne pas concurrencer le premier affichage
+        // (la vérification de mise à jour, qui peut attendre le réseau, n'est pas attendue)
+        CompletableFuture.allOf(schema, journal).handle((ignored, error) -> null).thenRun(() -> Platform.runLater(() -> {
+            controller.preloadViews();
+            RefreshScheduler.getInstance().start();
+        }));
+    }
+
+    @Override
+    public void stop() {
+        RefreshScheduler.getInstance().shutdown();
+        TaskService.getInstance().shutdown();
+        WebClientPool.getInstance().shutdown();
+    }
+
+    // Tables de toutes les sources, créées une fois au lancement plutôt qu'au premier accès de chaque DAO
+    private static Void createSchema() throws Exception {
+        new DayArticlesDAO();
+        new ArticlesDAO();
+        new ScrapeStateDAO();
+        new FilmsDAO();
+        new FilmsSearchDAO();
+        return null;
+    }
+
+    // Créer le dossier /plugins s'il n'existe pas, puis découvrir les plugins sans les démarrer
+    private static List<Plugin> discoverPlugins() {
+        File pluginDir = new File("plugins");
+        if (!pluginDir.exists()) {
+            pluginDir.mkdirs();
+        }
+        return PluginLoader.discoverPlugins(pluginDir);
     }
 }
@@ -0,0 +1,67 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import org.example.metrics.StartupEvent;
+import org.example.metrics.StartupMetrics;
+import org.example.task.TaskService;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Démarrage de l'application : les étapes lourdes (schéma SQLite, préchargement du journal, vérification de mise
+// à jour, découverte des plugins) sont lancées en parallèle sur le TaskService pendant que la fenêtre se construit
+// et s'affiche ; leurs résultats sont appliqués sur le thread FX. Une étape en échec n'empêche pas les autres.
+// Chaque étape est mesurée (StartupMetrics, événement JFR StartupEvent), ainsi que la première image.
+public class StartupOrchestrator {
+    private final TaskService tasks;
+
+    public StartupOrchestrator(TaskService tasks) {
+        this.tasks = tasks;
+    }
+
+    // Lance une étape en arrière-plan ; key sert aussi de clé TaskService, une vue qui demande la même étape la rejoint
+    public <T> CompletableFuture<T> step(String key, Callable<T> work) {
+        CompletableFuture<T> result = tasks.submit(key, () -> {
+            StartupEvent event = new StartupEvent();
+            event.step = key;
+            event.begin();
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                T value = work.call();
+                success = true;
+                return value;
+            } finally {
+                long durationMs = (System.nanoTime() - start) / 1_000_000;
+                StartupMetrics.recordStep(key, durationMs, success);
+                event.sinceLaunchMs = StartupMetrics.sinceLaunchMs();
+                event.success = success;
+                event.commit();
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                System.err.println("Erreur lors de l'étape de démarrage " + key + " : " + error.getMessage());
+            }
+        });
+        return result;
+    }
+
+    // Applique le résultat d'une étape sur le thread FX une fois qu'elle a réussi
+    public <T> void onFxThread(CompletableFuture<T> step, Consumer<T> action) {
+        step.thenAccept(value -> Platform.runLater(() -> action.accept(value)));
+    }
+
+    // Première image : la mise en page du premier pulse qui suit l'affichage de la fenêtre
+    public void watchFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            StartupMetrics.markFirstFrame();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+        Platform.requestNextPulse();
+    }
+}
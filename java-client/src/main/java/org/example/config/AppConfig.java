@@ -0,0 +1,40 @@
+package org.example.config;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+// Réglages de l'application lus dans config.properties (même fichier que le thème),
+// surchargeables au lancement par une propriété système de même nom (-Djournal.cache.maxDays=...)
+public class AppConfig {
+    public static final String CONFIG_PATH = "config.properties";
+
+    private static final Properties props = load();
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(CONFIG_PATH)) {
+            properties.load(in);
+        } catch (IOException ignored) {
+        }
+        return properties;
+    }
+
+    public static String getString(String key, String defaultValue) {
+        return System.getProperty(key, props.getProperty(key, defaultValue));
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Valeur invalide pour " + key + " : " + value);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.controller;
+
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.VBox;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+
+import java.util.Set;
+
+// Carte de film réutilisée par la ListView des films : les nœuds sont créés une fois par cellule visible.
+// Les séances sont repliées par défaut ; une fois dépliées elles s'affichent dans une petite liste
+// virtualisée à hauteur fixe, ce qui garde le coût d'une carte constant quel que soit le nombre de séances.
+public class FilmCell extends ListCell<FilmPresentation> {
+    private static final double SEANCE_ROW_HEIGHT = 28;
+    private static final int MAX_VISIBLE_SEANCES = 8;
+
+    // Films dépliés, partagés entre les cellules pour survivre au recyclage
+    private final Set<FilmPresentation> expandedFilms;
+
+    private final Label titleLabel = new Label();
+    private final Label genresLabel = new Label();
+    private final Label releaseLabel = new Label();
+    private final Label durationLabel = new Label();
+    private final Label directorLabel = new Label();
+    private final Label actorsLabel = new Label();
+    private final Label synopsisLabel = new Label();
+    private final Button seancesButton = new Button();
+    private final ListView<Seance> seanceList = new ListView<>();
+    private final VBox card = new VBox(5, titleLabel, genresLabel, releaseLabel, durationLabel, directorLabel,
+            actorsLabel, synopsisLabel, seancesButton, seanceList);
+
+    public FilmCell(Set<FilmPresentation> expandedFilms) {
+        this.expandedFilms = expandedFilms;
+        titleLabel.getStyleClass().addAll("film-title", "textfill-accent");
+        for (Label label : new Label[]{genresLabel, releaseLabel, durationLabel, directorLabel, actorsLabel, synopsisLabel}) {
+            label.getStyleClass().addAll("film-field", "textfill-accent");
+            label.setWrapText(true);
+        }
+        seancesButton.getStyleClass().addAll("film-seances-button", "bordered-button", "light-background");
+        seancesButton.setOnAction(e -> toggleSeances());
+        seanceList.getStyleClass().add("film-seance-list");
+        seanceList.setFixedCellSize(SEANCE_ROW_HEIGHT);
+        seanceList.setCellFactory(list -> new SeanceCell());
+        seanceList.setFocusTraversable(false);
+        card.getStyleClass().addAll("film-card", "cinema-background", "border-dark");
+        getStyleClass().add("film-cell");
+        // La largeur suit celle de la liste pour que les textes longs passent à la ligne
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(FilmPresentation film, boolean empty) {
+        super.updateItem(film, empty);
+        setText(null);
+        if (empty || film == null) {
+            seanceList.getItems().clear();
+            setGraphic(null);
+            return;
+        }
+        titleLabel.setText("🎬 " + film.titre);
+        genresLabel.setText("Genres : " + film.genres);
+        releaseLabel.setText("Sortie : " + film.dateSortie);
+        durationLabel.setText("Durée : " + film.duree);
+        directorLabel.setText("Réalisateur : " + film.realisateur);
+        actorsLabel.setText("Acteurs : " + film.acteurs);
+        synopsisLabel.setText("Synopsis : " + film.synopsis);
+        showSeances(film, expandedFilms.contains(film));
+        setGraphic(card);
+    }
+
+    // Les séances ne sont données à la liste interne que lorsque la carte est dépliée
+    private void showSeances(FilmPresentation film, boolean expanded) {
+        int count = film.seances.size();
+        seancesButton.setText((expanded ? "▾ " : "▸ ") + "Séances (" + count + ")");
+        seancesButton.setDisable(count == 0);
+        if (expanded && count > 0) {
+            seanceList.getItems().setAll(film.seances);
+            seanceList.setPrefHeight(Math.min(count, MAX_VISIBLE_SEANCES) * SEANCE_ROW_HEIGHT + 2);
+            seanceList.scrollTo(0);
+        } else {
+            seanceList.getItems().clear();
+        }
+        seanceList.setVisible(expanded && count > 0);
+        seanceList.setManaged(expanded && count > 0);
+    }
+
+    private void toggleSeances() {
+        FilmPresentation film = getItem();
+        if (film == null) {
+            return;
+        }
+        if (!expandedFilms.remove(film)) {
+            expandedFilms.add(film);
+        }
+        // Remplacer l'élément par lui-même fait recalculer la hauteur de cette seule cellule par la liste
+        ListView<FilmPresentation> listView = getListView();
+        int index = getIndex();
+        if (listView != null && index >= 0 && index < listView.getItems().size()) {
+            listView.getItems().set(index, film);
+        } else {
+            showSeances(film, expandedFilms.contains(film));
+        }
+    }
+}
@@ -1,41 +1,62 @@
 package org.example.controller;
 
-import javafx.concurrent.Task;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.layout.*;
-import org.example.scraping.Article;
+import org.example.scraping.ArticleSearch;
+import org.example.scraping.CachedShowtimes;
 import org.example.scraping.DayArticles;
-import org.example.scraping.DayArticlesUtils;
+import org.example.dao.FilmsSearchDAO;
+import org.example.metrics.ScrapeMetrics;
+import org.example.metrics.StartupMetrics;
+import org.example.repository.JournalRepository;
 import org.example.scraping.Scraper;
+import org.example.scraping.ShowtimeIndex;
+import org.example.scraping.ShowtimeUpdate;
+import org.example.scraping.engine.RefreshScheduler;
+import org.example.scraping.engine.ScrapeResult;
+import org.example.task.TaskScope;
+import org.example.task.TaskService;
 import org.example.theme.ThemeManager;
 import org.example.scraping.Model.Cinema.*;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class JournalController {
 
-    @FXML
-    private VBox articleContainer;
     @FXML private Button updateButton;
+    @FXML private Button statsButton;
     @FXML private ProgressIndicator spinner;
     @FXML private BorderPane journalPane;
     @FXML private MenuItem ResentButton;
     @FXML private MenuItem OldButton;
     @FXML private TextField searchField;
     @FXML private Button searchButton;
+    @FXML private Label searchInfo;
     @FXML private Button cinemaButton;
     @FXML private Button newsButton;
     @FXML private SplitMenuButton itemsButton;
+    @FXML private ListView<FilmPresentation> filmList;
+    @FXML private ListView<JournalRow> articleList;
+    @FXML private Label stickyHeader;
+    @FXML private DatePicker fromDatePicker;
+    @FXML private DatePicker toDatePicker;
 
     private Node originalNode;
     private Spinner<Integer> pagesSpinner;
@@ -48,6 +69,33 @@ public class JournalController {
     public DataDisplayed dataDisplayed = DataDisplayed.ARTICLES;
     public List<FilmPresentation> films = new ArrayList<>();
     public static final int filmsPerPage = 5;
+    // Films dont les séances sont dépliées (identité : deux scrapings ne partagent pas d'objets)
+    private final Set<FilmPresentation> expandedFilms = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Pagination du journal : tri courant, dernier jour affiché (curseur) et reste-t-il des pages
+    private boolean recentFirst = true;
+    private LocalDate lastDisplayedDay;
+    private boolean hasMorePages = false;
+    // Nombre de lignes restantes sous la dernière ligne visible en deçà duquel la page suivante est chargée
+    private static final int PREFETCH_ROWS = 20;
+    private VirtualFlow<?> articleFlow;
+
+    // Résultats publiés par le RefreshScheduler ; manualRefresh : rafraîchissement demandé par le bouton en cours
+    private final Consumer<ScrapeResult<List<DayArticles>>> newsListener = this::onNewsRefreshed;
+    private final Consumer<ScrapeResult<ShowtimeUpdate>> filmsListener = this::onFilmsRefreshed;
+    private boolean manualRefresh = false;
+
+    // Travaux de fond de la vue, abandonnés quand elle quitte la scène
+    public static final String JOURNAL_WARM_UP_TASK = "journal.warmUp";
+    private static final String FILMS_TASK = "journal.films";
+    // Pages du journal (première page ou suivante) : une seule à la fois, une nouvelle première page remplace l'ancienne
+    private static final String JOURNAL_PAGE_TASK = "journal.page";
+    private static final String SEARCH_TASK = "journal.search";
+    private final TaskScope tasks = TaskService.getInstance().newScope();
+    // Films reçus pendant le scraping, avant le résultat complet
+    private final PulseBatcher<FilmPresentation> filmBatcher = new PulseBatcher<>(this::onFilmsStreamed);
+    private final Consumer<FilmPresentation> filmStreamListener = film -> filmBatcher.add(film);
+    private ShowtimeIndex streamedFilms;
 
     @FXML
     private void initialize() {
@@ -55,120 +103,165 @@ public class JournalController {
         System.out.println("Vue JournalController chargée !");
         originalNode = itemsButton;
         dataDisplayed = DataDisplayed.ARTICLES;
-        List<DayArticles> dayArticlesList = DayArticlesUtils.getAllDayArticles();
-        dayArticlesList = dayArticlesList.stream().sorted(
-                (a, b) -> b.day.compareTo(a.day)
-        ).toList();
-        displayDayArticles(dayArticlesList);
-        updateButton.setOnAction(e -> {
-            if (dataDisplayed == DataDisplayed.ARTICLES) {
-                updateDayArticles();
+        articleList.setCellFactory(list -> new JournalRowCell());
+        filmList.setCellFactory(list -> new FilmCell(expandedFilms));
+        articleList.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            articleFlow = (VirtualFlow<?>) articleList.lookup(".virtual-flow");
+            if (articleFlow != null) {
+                articleFlow.positionProperty().addListener((o, oldPos, newPos) -> onArticleListScrolled());
+                checkAfterNextLayout();
             }
-            else if (dataDisplayed == DataDisplayed.MOVIES) {
-                spinner.setVisible(true);
-                articleContainer.getChildren().clear();
-                films.clear();
+        });
+        loadFirstJournalPage();
+        updateButton.setOnAction(e -> refreshAllSources());
+        statsButton.setOnAction(e -> showRefreshStats());
+        subscribeToRefreshes();
+        tasks.bindTo(journalPane);
+        // La vue est gardée entre deux navigations (ViewRegistry) : masquée, elle abandonne ses chargements en cours,
+        // qui reprennent (en rejoignant le travail déjà lancé) quand elle revient
+        journalPane.visibleProperty().addListener((obs, wasVisible, visible) -> {
+            if (!visible) {
+                stopFilmStream();
+            } else if (dataDisplayed == DataDisplayed.MOVIES && films.isEmpty()) {
                 getAndDisplayMovies();
+            } else if (dataDisplayed == DataDisplayed.ARTICLES && articleList.getItems().isEmpty()) {
+                loadFirstJournalPage();
             }
         });
-        ResentButton.setOnAction(e -> displayDayArticles(sortRecentDayArticles()));
-        newsButton.setOnAction(e -> displayDayArticles(sortRecentDayArticles()));
+        ResentButton.setOnAction(e -> showJournal(true));
         newsButton.setOnAction(e->{
             dataDisplayed = DataDisplayed.ARTICLES;
-            displayDayArticles(sortRecentDayArticles());
+            setArticleListVisible(true);
+            showJournal(recentFirst);
             restoreSplitMenuButton();
         });
-        OldButton.setOnAction(e -> displayDayArticles(sortOldDayArticles()));
-        searchButton.setOnAction(e->{
-            String searchText = searchField.getText();
-            if (dataDisplayed == DataDisplayed.ARTICLES) {
-                displayDayArticles(filterByTitle(searchText));
-            }
-            else if (dataDisplayed == DataDisplayed.MOVIES) {
-                List<FilmPresentation> filteredFilms = filtrerFilmsAvecSeances(films, searchText);
-                articleContainer.getChildren().clear();
-                displayMovies(filteredFilms, 1);
-            }
-        });
+        OldButton.setOnAction(e -> showJournal(false));
+        fromDatePicker.setOnAction(e -> showJournal(recentFirst));
+        toDatePicker.setOnAction(e -> showJournal(recentFirst));
+        searchButton.setOnAction(e -> search(searchField.getText()));
         cinemaButton.setOnAction(e->{
             if( dataDisplayed != DataDisplayed.MOVIES) {
                 spinner.setVisible(true);
-                articleContainer.getChildren().clear();
+                hasMorePages = false;
+                filmList.getItems().clear();
+                setArticleListVisible(false);
                 replaceSplitMenuButtonWithSpinner(1, filmsPerPage, 1);
             }
             getAndDisplayMovies();
         });
     }
 
-    public void getAndDisplayMovies(){
-        new Thread(() -> {
-            try {
-                dataDisplayed = DataDisplayed.MOVIES;
-                if (films.isEmpty()) {
-                    films = Scraper.getSeancesChatelet();
-                }
-                System.out.println("count" + films.stream().count());
-                javafx.application.Platform.runLater(() -> {
-                    displayMovies(films, 1);
-                    spinner.setVisible(false);
-                    System.out.println("END");
-                });
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                javafx.application.Platform.runLater(() -> spinner.setVisible(false));
+    // Recherche plein texte (articles ou films selon la liste affichée), hors du thread FX ;
+    // une nouvelle recherche remplace celle encore en cours
+    private void search(String searchText) {
+        tasks.cancel(SEARCH_TASK);
+        if (dataDisplayed == DataDisplayed.ARTICLES) {
+            if (searchText == null || searchText.isBlank()) {
+                showJournal(recentFirst);
+                return;
             }
-        }).start();
+            hasMorePages = false;
+            tasks.cancel(JOURNAL_PAGE_TASK); // une page encore en lecture ne s'ajoute pas aux résultats
+            tasks.run(SEARCH_TASK, () -> filterByTitle(searchText), result -> {
+                if (dataDisplayed != DataDisplayed.ARTICLES) {
+                    return;
+                }
+                displayDayArticles(result.days());
+                setSearchInfo(result.isTruncated() ? result.limit() + " premiers résultats" : null);
+            }, error -> System.err.println("Erreur lors de la recherche des articles : " + error.getMessage()));
+        }
+        else if (dataDisplayed == DataDisplayed.MOVIES) {
+            setSearchInfo(null);
+            List<FilmPresentation> searched = films;
+            tasks.run(SEARCH_TASK, () -> filtrerFilmsAvecSeances(searched, searchText), filteredFilms -> {
+                if (dataDisplayed == DataDisplayed.MOVIES) {
+                    displayMovies(filteredFilms, 1);
+                }
+            }, error -> System.err.println("Erreur lors de la recherche des films : " + error.getMessage()));
+        }
     }
-    public void displayMovies(List<FilmPresentation> films, int pageNumber){
-        int totalPages = (int) Math.ceil((double) films.size() / filmsPerPage);
-        int fromIndex = (pageNumber - 1) * filmsPerPage;
-        int toIndex = Math.min(fromIndex + filmsPerPage, films.size());
-        List<FilmPresentation> sublist = films.subList(fromIndex, toIndex);
-        int i = 0;
-        for (FilmPresentation film : sublist) {
-            VBox filmBox = new VBox(5);
-            filmBox.setStyle("-fx-padding: 10; -fx-border-width: 1;");
-            filmBox.getStyleClass().addAll("cinema-background", "border-dark");
-            filmBox.getChildren().add(styledLabel("🎬 " + film.titre));
-            filmBox.getChildren().add(styledLabel("Genres : " + film.genres));
-            filmBox.getChildren().add(styledLabel("Sortie : " + film.dateSortie));
-            filmBox.getChildren().add(styledLabel("Durée : " + film.duree));
-            filmBox.getChildren().add(styledLabel("Réalisateur : " + film.realisateur));
-            filmBox.getChildren().add(styledLabel("Acteurs : " + film.acteurs));
-            filmBox.getChildren().add(styledLabel("Synopsis : " + film.synopsis));
-
-            for (Seance seance : film.seances) {
-                HBox seanceBox = new HBox(10);
-                seanceBox.getChildren().add(styledLabel("🕒 " + seance.heureDebut + " - " + seance.heureFin));
-                seanceBox.getChildren().add(styledLabel("📍 Salle : " + seance.salle));
-                seanceBox.getChildren().add(styledLabel("🎞️ Version : " + seance.version));
-                filmBox.getChildren().add(seanceBox);
+
+    // Les films sont chargés en arrière-plan (TaskService) et publiés sur le thread FX ; des clics répétés
+    // rejoignent le chargement en cours, abandonné si la vue est quittée
+    public void getAndDisplayMovies(){
+        dataDisplayed = DataDisplayed.MOVIES;
+        if (!films.isEmpty()) {
+            displayMovies(films, 1);
+            spinner.setVisible(false);
+            return;
+        }
+        startFilmStream();
+        tasks.run(FILMS_TASK, JournalController::loadFilms, loaded -> {
+            stopFilmStream();
+            if (films.isEmpty()) {
+                films = loaded; // sinon déjà publiés entre-temps par onFilmsRefreshed
             }
-            for (Node node : filmBox.getChildren()) {
-                if (node instanceof Label label) {
-                    label.getStyleClass().addAll("textfill-accent");
-                } else if (node instanceof HBox hbox) {
-                    for (Node inner : hbox.getChildren()) {
-                        if (inner instanceof Label innerLabel) {
-                            innerLabel.getStyleClass().addAll("textfill-accent");
-                            //innerLabel.setStyle("-fx-text-fill: #D4A373;");
-                        }
-                    }
-                }
+            if (dataDisplayed == DataDisplayed.MOVIES) {
+                displayMovies(films, 1);
             }
-            articleContainer.getChildren().add(filmBox);
-            filmBox.applyCss();
-            filmBox.layout();
+            spinner.setVisible(false);
+        }, error -> {
+            stopFilmStream();
+            System.err.println("Erreur lors du chargement des films : " + error.getMessage());
+            spinner.setVisible(false);
+        });
+    }
+
+    // Sans cache, les films s'affichent au fil du scraping : regroupés par salle de la même façon que le résultat
+    // final, et ajoutés à la liste au plus une fois par image (PulseBatcher)
+    private void startFilmStream() {
+        streamedFilms = new ShowtimeIndex();
+        filmBatcher.start();
+        Scraper.UGC_SOURCE.addFilmListener(filmStreamListener);
+    }
+
+    private void stopFilmStream() {
+        Scraper.UGC_SOURCE.removeFilmListener(filmStreamListener);
+        filmBatcher.stop();
+        streamedFilms = null;
+    }
+
+    private void onFilmsStreamed(List<FilmPresentation> batch) {
+        if (streamedFilms == null || !films.isEmpty()) {
+            return;
         }
+        for (FilmPresentation film : batch) {
+            streamedFilms.addFilm(film);
+        }
+        if (dataDisplayed == DataDisplayed.MOVIES) {
+            displayMovies(streamedFilms.films(), pagesSpinner != null ? pagesSpinner.getValue() : 1);
+            spinner.setVisible(false);
+        }
+    }
 
-        ThemeManager.applyThemeToRoot(journalPane);
+    // Programmation en cache renvoyée tout de suite ; périmée, elle est revalidée en arrière-plan
+    // et le résultat arrive par onFilmsRefreshed. Sans cache, il faut attendre le scraping (interruptible)
+    private static List<FilmPresentation> loadFilms() throws Exception {
+        CachedShowtimes cached = Scraper.UGC_SOURCE.loadCached();
+        if (!cached.isEmpty()) {
+            if (cached.isStale()) {
+                RefreshScheduler.getInstance().refreshNow(Scraper.UGC_SOURCE);
+            }
+            return cached.films();
+        }
+        ScrapeResult<ShowtimeUpdate> result = RefreshScheduler.getInstance().refreshNow(Scraper.UGC_SOURCE).get();
+        if (!result.isSuccess()) {
+            throw result.getError();
+        }
+        return result.getValue().films();
+    }
+    public void displayMovies(List<FilmPresentation> films, int pageNumber){
+        int fromIndex = Math.min((pageNumber - 1) * filmsPerPage, films.size());
+        int toIndex = Math.min(fromIndex + filmsPerPage, films.size());
+        filmList.getItems().setAll(films.subList(fromIndex, toIndex));
+        filmList.scrollTo(0);
     }
     public void replaceSplitMenuButtonWithSpinner(int min, int max, int initialValue) {
         if (originalNode == null) {
             originalNode = itemsButton;
         }
 
-        VBox parent = (VBox) itemsButton.getParent();
+        Pane parent = (Pane) itemsButton.getParent();
         int index = parent.getChildren().indexOf(itemsButton);
         if (index != -1) {
             parent.getChildren().remove(index);
@@ -185,12 +278,12 @@ public class JournalController {
         spinnerWithLabel = new HBox(10);
         spinnerWithLabel.getChildren().addAll(label, pagesSpinner);
 
-        VBox.setMargin(spinnerWithLabel, new Insets(0, 0, 5, 20));
+        HBox.setMargin(spinnerWithLabel, new Insets(0, 0, 5, 20));
+        setDateRangeVisible(false);
 
         parent.getChildren().add(index, spinnerWithLabel);
         ThemeManager.applyThemeToRoot(journalPane);
         pagesSpinner.valueProperty().addListener((obs, oldVal, newVal) -> {
-            articleContainer.getChildren().clear();
             displayMovies(films, newVal);
         });
     }
@@ -199,161 +292,221 @@ public class JournalController {
     public void restoreSplitMenuButton() {
         if (spinnerWithLabel == null || originalNode == null) return;
 
-        VBox parent = (VBox) spinnerWithLabel.getParent();
+        Pane parent = (Pane) spinnerWithLabel.getParent();
+        if (parent == null) return;
         int index = parent.getChildren().indexOf(spinnerWithLabel);
         parent.getChildren().remove(spinnerWithLabel);
         parent.getChildren().add(index, originalNode);
+        setDateRangeVisible(true);
     }
 
-    private Label styledLabel(String text) {
-        Label label = new Label(text);
-        label.setStyle("-fx-font-size: 17px;");
-        label.getStyleClass().add("textfill-accent");
-        return label;
+    private void setDateRangeVisible(boolean visible) {
+        fromDatePicker.setVisible(visible);
+        fromDatePicker.setManaged(visible);
+        toDatePicker.setVisible(visible);
+        toDatePicker.setManaged(visible);
     }
 
-    public void addArticle(String title, String content) {
-        VBox articleBox = new VBox();
-        articleBox.setSpacing(5);
-        articleBox.setStyle("-fx-background-color: #4A5568; -fx-padding: 10; -fx-background-radius: 5;");
-
-        Label titleLabel = new Label(title);
-        titleLabel.setStyle("-fx-text-fill: #ffffff; -fx-font-size: 16; -fx-font-weight: bold;");
-
-        Label contentLabel = new Label(content);
-        contentLabel.setStyle("-fx-text-fill: #d1d5db; -fx-font-size: 12;");
-
-        articleBox.getChildren().addAll(titleLabel, contentLabel);
-        articleContainer.getChildren().add(articleBox);
+    public static ArticleSearch filterByTitle(String filter) {
+        return JournalRepository.getInstance().search(filter);
     }
 
-    public static List<DayArticles> filterByTitle(String filter) {
-        List<DayArticles> allDays = DayArticlesUtils.getAllDayArticles();
-        String lowerFilter = filter.toLowerCase();
-
-        return allDays.stream()
-                .map(dayArticle -> {
-                    List<Article> filteredArticles = dayArticle.articles.stream()
-                            .filter(article -> article.title.toLowerCase().contains(lowerFilter))
-                            .collect(Collectors.toList());
-                    filteredArticles.addAll(dayArticle.articles.stream()
-                            .filter(article -> article.time.toLowerCase().contains(lowerFilter)
-                            && !filteredArticles.contains(article))
-                    .toList());
-
-                    if (!filteredArticles.isEmpty()) {
-                        DayArticles filteredDay = new DayArticles(dayArticle.day, filteredArticles);
-                        filteredDay.id = dayArticle.id;
-                        return filteredDay;
-                    } else {
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    // Indication à côté du champ de recherche (résultats tronqués), masquée si text est null
+    private void setSearchInfo(String text) {
+        searchInfo.setText(text);
+        searchInfo.setVisible(text != null);
+        searchInfo.setManaged(text != null);
     }
 
     public List<FilmPresentation> filtrerFilmsAvecSeances(List<FilmPresentation> films, String recherche) {
-        if (recherche == null || recherche.isBlank()) {
-            return films;
-        }
+        return new FilmsSearchDAO().filterFilms(films, recherche);
+    }
 
-        String lowerRecherche = recherche.toLowerCase();
+    // Au démarrage, la première page est lue hors du thread FX (rejoint le préchargement lancé par le
+    // StartupOrchestrator) ; l'affichage qui suit ne relit pas la base. Marque l'application interactive
+    private void loadFirstJournalPage() {
+        spinner.setVisible(true);
+        tasks.run(JOURNAL_WARM_UP_TASK, JournalRepository.getInstance()::warmUp, page -> {
+            spinner.setVisible(false);
+            if (dataDisplayed == DataDisplayed.ARTICLES && articleList.getItems().isEmpty()) {
+                showJournal(true, StartupMetrics::markInteractive);
+            } else {
+                StartupMetrics.markInteractive();
+            }
+        }, error -> {
+            spinner.setVisible(false);
+            System.err.println("Erreur lors du chargement du journal : " + error.getMessage());
+        });
+    }
 
-        return films.stream()
-                .filter(film -> filmCorrespond(film, lowerRecherche))
-                .toList();
+    // Affiche la première page du journal dans le tri demandé, bornée par les dates choisies.
+    // Les pages sont lues hors du thread FX : hors de la fenêtre de JournalRepository, elles viennent de la base
+    public void showJournal(boolean recentFirst) {
+        showJournal(recentFirst, () -> { });
     }
 
-    private boolean filmCorrespond(FilmPresentation film, String recherche) {
-        if ((film.titre != null && film.titre.toLowerCase().contains(recherche)) ||
-                (film.genres != null && film.genres.toLowerCase().contains(recherche)) ||
-                (film.dateSortie != null && film.dateSortie.toLowerCase().contains(recherche)) ||
-                (film.duree != null && film.duree.toLowerCase().contains(recherche)) ||
-                (film.realisateur != null && film.realisateur.toLowerCase().contains(recherche)) ||
-                (film.acteurs != null && film.acteurs.toLowerCase().contains(recherche)) ||
-                (film.synopsis != null && film.synopsis.toLowerCase().contains(recherche))) {
-            return true;
-        }
+    private void showJournal(boolean recentFirst, Runnable onShown) {
+        this.recentFirst = recentFirst;
+        setSearchInfo(null);
+        hasMorePages = false;
+        tasks.cancel(SEARCH_TASK);
+        LocalDate from = fromDatePicker.getValue();
+        LocalDate to = toDatePicker.getValue();
+        int pageSize = JournalRepository.getPageSize();
+        tasks.cancel(JOURNAL_PAGE_TASK);
+        tasks.run(JOURNAL_PAGE_TASK, () -> JournalRepository.getInstance().firstPage(recentFirst, from, to, pageSize), page -> {
+            hasMorePages = page.size() == pageSize;
+            displayDayArticles(page);
+            onShown.run();
+        }, error -> System.err.println("Erreur lors du chargement du journal : " + error.getMessage()));
+    }
 
-        for (Seance seance : film.seances) {
-            if ((seance.salle != null && seance.salle.toLowerCase().contains(recherche)) ||
-                    (seance.version != null && seance.version.toLowerCase().contains(recherche)) ||
-                    (seance.heureDebut != null && seance.heureDebut.toLowerCase().contains(recherche)) ||
-                    (seance.heureFin != null && seance.heureFin.toLowerCase().contains(recherche))) {
-                return true;
-            }
+    // Appelée à chaque défilement : les appels suivants rejoignent la page en cours de lecture
+    private void loadNextPage() {
+        if (dataDisplayed != DataDisplayed.ARTICLES || !hasMorePages || lastDisplayedDay == null) {
+            return;
         }
-
-        return false;
+        boolean recentFirst = this.recentFirst;
+        LocalDate from = fromDatePicker.getValue();
+        LocalDate to = toDatePicker.getValue();
+        LocalDate cursor = lastDisplayedDay;
+        int pageSize = JournalRepository.getPageSize();
+        tasks.run(JOURNAL_PAGE_TASK, () -> JournalRepository.getInstance().page(recentFirst, from, to, cursor, pageSize), page -> {
+            if (dataDisplayed != DataDisplayed.ARTICLES) {
+                return;
+            }
+            hasMorePages = page.size() == pageSize;
+            appendDayArticles(page);
+        }, error -> System.err.println("Erreur lors du chargement du journal : " + error.getMessage()));
     }
 
+    // En-tête du jour figé en haut de la liste et défilement infini : la page suivante est chargée
+    // quand il reste moins de PREFETCH_ROWS lignes sous la dernière ligne visible (ou si la liste ne remplit pas l'écran)
+    private void onArticleListScrolled() {
+        if (articleFlow == null || articleList.getItems().isEmpty()) {
+            stickyHeader.setVisible(false);
+            return;
+        }
+        IndexedCell<?> first = articleFlow.getFirstVisibleCell();
+        if (first != null && first.getItem() instanceof JournalRow row) {
+            stickyHeader.setText(row.day.toString());
+            stickyHeader.setVisible(articleList.isVisible());
+        }
+        IndexedCell<?> last = articleFlow.getLastVisibleCell();
+        if (last != null && last.getIndex() >= articleList.getItems().size() - PREFETCH_ROWS) {
+            loadNextPage();
+        }
+    }
 
-
-    public List<DayArticles> sortOldDayArticles() {
-        List<DayArticles> dayArticlesList = DayArticlesUtils.getAllDayArticles();
-        dayArticlesList = dayArticlesList.stream().sorted(
-                (a, b) -> a.day.compareTo(b.day)
-        ).toList();
-        return dayArticlesList;
+    // Les cellules visibles ne sont connues qu'après la mise en page : vérification au prochain pulse
+    private void checkAfterNextLayout() {
+        Scene scene = articleList.getScene();
+        if (scene == null) {
+            return; // vérifié à la création du skin
+        }
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            onArticleListScrolled();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+        Platform.requestNextPulse();
     }
 
-    public List<DayArticles> sortRecentDayArticles() {
-        List<DayArticles> dayArticlesList = DayArticlesUtils.getAllDayArticles();
-        dayArticlesList = dayArticlesList.stream().sorted(
-                (a, b) -> b.day.compareTo(a.day)
-        ).toList();
-        return dayArticlesList;
+    private void setArticleListVisible(boolean visible) {
+        articleList.setVisible(visible);
+        stickyHeader.setVisible(visible && !articleList.getItems().isEmpty());
+        filmList.setVisible(!visible);
     }
 
     public void displayDayArticles(List<DayArticles> dayArticlesList) {
-        articleContainer.getChildren().clear();
+        lastDisplayedDay = dayArticlesList.isEmpty() ? null : dayArticlesList.get(dayArticlesList.size() - 1).day;
+        articleList.getItems().setAll(JournalRow.fromDays(dayArticlesList));
+        articleList.scrollTo(0);
+        checkAfterNextLayout();
+    }
 
-        for (DayArticles day : dayArticlesList) {
-            Label dateLabel = new Label(day.day.toString());
-            dateLabel.setStyle("-fx-font-size: 18; -fx-font-weight: bold;");
-            dateLabel.getStyleClass().addAll("textfill-medium");
-            articleContainer.getChildren().add(dateLabel);
+    private void appendDayArticles(List<DayArticles> dayArticlesList) {
+        if (dayArticlesList.isEmpty()) {
+            return;
+        }
+        lastDisplayedDay = dayArticlesList.get(dayArticlesList.size() - 1).day;
+        articleList.getItems().addAll(JournalRow.fromDays(dayArticlesList));
+        checkAfterNextLayout();
+    }
 
-            for (Article article : day.articles) {
-                HBox articleRow = new HBox(10);
-                Label timeLabel = new Label(article.time);
-                Label titleLabel = new Label(article.title);
+    // Rafraîchit toutes les sources en parallèle (actualités et cinéma) ; les résultats arrivent par les abonnements
+    private void refreshAllSources() {
+        spinner.setVisible(true);
+        manualRefresh = true;
+        RefreshScheduler.getInstance().refreshAllNow().whenComplete((ignored, e) -> Platform.runLater(() -> {
+            manualRefresh = false;
+            spinner.setVisible(false);
+        }));
+    }
 
-                timeLabel.setStyle("-fx-text-fill: #59747b;");
-                titleLabel.getStyleClass().addAll("textfill-accent");
-                articleRow.getChildren().addAll(timeLabel, titleLabel);
+    // Temps par phase des derniers rafraîchissements (ScrapeMetrics), le plus récent en haut
+    private void showRefreshStats() {
+        TextArea report = new TextArea(StartupMetrics.report() + "\n\n" + ScrapeMetrics.report());
+        report.setEditable(false);
+        report.setWrapText(false);
+        report.setPrefSize(640, 420);
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Statistiques de scraping");
+        alert.setHeaderText("Derniers rafraîchissements");
+        alert.getDialogPane().setContent(report);
+        alert.setResizable(true);
+        alert.initOwner(journalPane.getScene().getWindow());
+        alert.show();
+    }
 
-                articleContainer.getChildren().add(articleRow);
+    // Abonnement aux rafraîchissements (automatiques ou demandés), sur le thread FX, retiré quand la vue quitte la scène
+    private void subscribeToRefreshes() {
+        RefreshScheduler scheduler = RefreshScheduler.getInstance();
+        scheduler.subscribe(Scraper.NEWS_SOURCE, Platform::runLater, newsListener);
+        scheduler.subscribe(Scraper.UGC_SOURCE, Platform::runLater, filmsListener);
+        journalPane.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                scheduler.unsubscribe(newsListener);
+                scheduler.unsubscribe(filmsListener);
+                stopFilmStream();
             }
+        });
+    }
+
+    // Seuls les deltas non vides provoquent un nouvel affichage. En arrière-plan, le journal n'est rechargé
+    // que si l'utilisateur est en haut de la liste, pour ne pas le faire sauter pendant sa lecture
+    private void onNewsRefreshed(ScrapeResult<List<DayArticles>> news) {
+        if (!news.isSuccess() || dataDisplayed != DataDisplayed.ARTICLES) {
+            return;
+        }
+        if (news.getValue().isEmpty() && !articleList.getItems().isEmpty()) {
+            return;
+        }
+        if (manualRefresh || isArticleListAtTop()) {
+            showJournal(recentFirst);
         }
     }
-    private void updateDayArticles() {
-        spinner.setVisible(true);
 
-        Task<Void> scrapingTask = new Task<>(){
-            @Override
-            protected Void call() throws Exception {
-                Scraper.getNewsParis();
-                return null;
+    private void onFilmsRefreshed(ScrapeResult<ShowtimeUpdate> cinema) {
+        if (!cinema.isSuccess() || (!cinema.getValue().isChanged() && !films.isEmpty())) {
+            return;
+        }
+        films = cinema.getValue().films();
+        expandedFilms.clear();
+        if (dataDisplayed == DataDisplayed.MOVIES) {
+            if (manualRefresh && pagesSpinner != null) {
+                pagesSpinner.getValueFactory().setValue(1);
             }
-        };
-        scrapingTask.setOnSucceeded(event -> {
-            List<DayArticles> dayArticlesList = DayArticlesUtils.getAllDayArticles();
-            dayArticlesList = dayArticlesList.stream().sorted(
-                    (a, b) -> b.day.compareTo(a.day)
-            ).toList();
-            displayDayArticles(dayArticlesList);
-            spinner.setVisible(false);
-        } );
-        scrapingTask.setOnFailed(event -> {
-            spinner.setVisible(false);
-            Throwable e = scrapingTask.getException();
-            e.printStackTrace();
-        });
+            displayMovies(films, pagesSpinner != null ? pagesSpinner.getValue() : 1);
+        }
+    }
 
-        Thread scrapingThread = new Thread(scrapingTask);
-        scrapingThread.setDaemon(true);
-        scrapingThread.start();
+    private boolean isArticleListAtTop() {
+        if (articleFlow == null || articleList.getItems().isEmpty()) {
+            return true;
+        }
+        IndexedCell<?> first = articleFlow.getFirstVisibleCell();
+        return first == null || first.getIndex() == 0;
     }
 }
@@ -0,0 +1,35 @@
+package org.example.controller;
+
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ligne de la liste virtualisée du journal : soit l'en-tête d'un jour, soit un article de ce jour
+public class JournalRow {
+    public final LocalDate day;
+    public final Article article;
+
+    private JournalRow(LocalDate day, Article article) {
+        this.day = day;
+        this.article = article;
+    }
+
+    public boolean isHeader() {
+        return article == null;
+    }
+
+    // Aplatit les jours en lignes : un en-tête puis les articles du jour
+    public static List<JournalRow> fromDays(List<DayArticles> days) {
+        List<JournalRow> rows = new ArrayList<>();
+        for (DayArticles day : days) {
+            rows.add(new JournalRow(day.day, null));
+            for (Article article : day.articles) {
+                rows.add(new JournalRow(day.day, article));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.controller;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.layout.HBox;
+
+// Cellule réutilisée par la ListView du journal : les nœuds sont créés une fois par cellule visible,
+// seuls les textes et les classes CSS changent quand la cellule est recyclée pour une autre ligne
+public class JournalRowCell extends ListCell<JournalRow> {
+    private final Label headerLabel = new Label();
+    private final Label timeLabel = new Label();
+    private final Label titleLabel = new Label();
+    private final HBox articleRow = new HBox(10, timeLabel, titleLabel);
+
+    public JournalRowCell() {
+        headerLabel.getStyleClass().addAll("journal-day-header", "textfill-medium");
+        timeLabel.getStyleClass().add("journal-time");
+        titleLabel.getStyleClass().addAll("journal-title", "textfill-accent");
+        articleRow.getStyleClass().add("journal-article-row");
+        getStyleClass().add("journal-cell");
+    }
+
+    @Override
+    protected void updateItem(JournalRow row, boolean empty) {
+        super.updateItem(row, empty);
+        setText(null);
+        if (empty || row == null) {
+            setGraphic(null);
+        } else if (row.isHeader()) {
+            headerLabel.setText(row.day.toString());
+            setGraphic(headerLabel);
+        } else {
+            timeLabel.setText(row.article.time);
+            titleLabel.setText(row.article.title);
+            setGraphic(articleRow);
+        }
+    }
+}
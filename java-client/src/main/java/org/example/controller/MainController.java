@@ -1,29 +1,26 @@
 package org.example.controller;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Group;
-import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.layout.*;
 import org.example.plugin.Plugin;
-import org.example.plugin.PluginLoader;
 import org.example.theme.ThemeManager;
 
-import java.io.File;
 import java.util.List;
 
 public class MainController {
     @FXML private StackPane contentStack;
-    @FXML private BorderPane journalPane;
-    @FXML private BorderPane pluginsPane;
-    @FXML private BorderPane themesPane;
     @FXML private Button journalButton;
     @FXML private Button pluginsButton;
     @FXML private Button themesButton;
-    @FXML private BorderPane contentPane;
     @FXML private BorderPane mainPane;
 
+    public static final String JOURNAL_VIEW = "/ui/journal.fxml";
+    public static final String PLUGINS_VIEW = "/ui/plugins.fxml";
+    public static final String THEMES_VIEW = "/ui/themes.fxml";
+
+    private ViewRegistry views;
+
     @FXML
     private void initialize() {
         ThemeManager.applyThemeToRoot(mainPane);
@@ -32,56 +29,35 @@ public class MainController {
                 ThemeManager.applyTheme(newScene);
             }
         });
-        loadView("/ui/journal.fxml");
-        journalButton.setOnAction(e -> loadView("/ui/journal.fxml"));
-        pluginsButton.setOnAction(e -> loadView("/ui/plugins.fxml"));
-        themesButton.setOnAction(e -> loadView("/ui/themes.fxml"));
+        views = new ViewRegistry(contentStack);
+        loadView(JOURNAL_VIEW);
+        journalButton.setOnAction(e -> loadView(JOURNAL_VIEW));
+        pluginsButton.setOnAction(e -> loadView(PLUGINS_VIEW));
+        themesButton.setOnAction(e -> loadView(THEMES_VIEW));
+    }
+
+    // Vues pas encore ouvertes, chargées après l'affichage de la fenêtre pour que leur premier clic soit immédiat
+    public void preloadViews() {
+        views.preload(PLUGINS_VIEW, THEMES_VIEW);
     }
 
-    private void showSection(String section) {
-        journalPane.setVisible("journal".equals(section));
-        pluginsPane.setVisible("plugins".equals(section));
-        themesPane.setVisible("themes".equals(section));
+    public ViewRegistry getViews() {
+        return views;
     }
+
     private void loadView(String fxmlPath) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Pane view = loader.load();
-            view.sceneProperty().addListener((obs, oldScene, newScene) -> {
-                if (newScene != null) {
-                    ThemeManager.applyTheme(newScene);
-                }
-            });
-            /*contentPane.getChildren().setAll(view);*/
-            Parent parent = contentPane.getParent();
-            if (parent instanceof Pane paneParent) {
-                int index = paneParent.getChildren().indexOf(contentPane);
-                if (index != -1) {
-                    paneParent.getChildren().set(index, view);
-                }
-            }
-            contentPane = (BorderPane) view;
-            contentPane.setVisible(true);
-            System.out.println("Vue chargée : " + fxmlPath);
+            views.show(fxmlPath);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    // Charger les plugins existants dans /plugins
-    public void loadPlugins() {
-        File pluginFolder = new File("plugins");
-        if (pluginFolder.exists()) {
-            File[] jars = pluginFolder.listFiles((dir, name) -> name.endsWith(".jar"));
-            if (jars != null) {
-                for (File jar : jars) {
-                    List<Plugin> plugins = PluginLoader.loadPlugins(jar);
-                    for (Plugin plugin : plugins) {
-                        plugin.start();
-                    }
-                }
-                System.out.println("Plugins charges");
-            }
+    // Démarre des plugins déjà découverts (thread FX)
+    public void startPlugins(List<Plugin> plugins) {
+        for (Plugin plugin : plugins) {
+            plugin.start();
         }
+        System.out.println("Plugins charges");
     }
 }
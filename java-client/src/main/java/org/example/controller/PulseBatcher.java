@@ -0,0 +1,51 @@
+package org.example.controller;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Éléments produits par des threads de fond (films au fil du scraping), livrés sur le thread FX par lots :
+// au plus un lot par pulse d'animation, quel que soit le débit des producteurs, donc une seule mise à jour
+// de la liste par image. start() et stop() s'appellent sur le thread FX ; add() depuis n'importe quel thread.
+public class PulseBatcher<T> {
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onBatch;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            drain();
+        }
+    };
+
+    public PulseBatcher(Consumer<List<T>> onBatch) {
+        this.onBatch = onBatch;
+    }
+
+    public void add(T item) {
+        queue.add(item);
+    }
+
+    public void start() {
+        queue.clear();
+        timer.start();
+    }
+
+    // Les éléments pas encore livrés sont abandonnés (le résultat complet les remplace)
+    public void stop() {
+        timer.stop();
+        queue.clear();
+    }
+
+    private void drain() {
+        List<T> batch = new ArrayList<>();
+        for (T item = queue.poll(); item != null; item = queue.poll()) {
+            batch.add(item);
+        }
+        if (!batch.isEmpty()) {
+            onBatch.accept(batch);
+        }
+    }
+}
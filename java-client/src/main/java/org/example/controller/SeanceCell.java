@@ -0,0 +1,41 @@
+package org.example.controller;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.layout.HBox;
+import org.example.scraping.Model.Cinema.Seance;
+
+// Ligne de séance réutilisée par la liste interne d'une carte de film
+public class SeanceCell extends ListCell<Seance> {
+    private final Label cinemaLabel = new Label();
+    private final Label hoursLabel = new Label();
+    private final Label roomLabel = new Label();
+    private final Label versionLabel = new Label();
+    private final HBox row = new HBox(10, cinemaLabel, hoursLabel, roomLabel, versionLabel);
+
+    public SeanceCell() {
+        cinemaLabel.getStyleClass().addAll("film-seance-cinema", "textfill-medium");
+        hoursLabel.getStyleClass().addAll("film-seance-hours", "textfill-accent");
+        roomLabel.getStyleClass().add("textfill-accent");
+        versionLabel.getStyleClass().add("textfill-accent");
+        row.getStyleClass().add("film-seance-row");
+        getStyleClass().add("film-seance-cell");
+    }
+
+    @Override
+    protected void updateItem(Seance seance, boolean empty) {
+        super.updateItem(seance, empty);
+        setText(null);
+        if (empty || seance == null) {
+            setGraphic(null);
+        } else {
+            cinemaLabel.setText(seance.cinema != null ? seance.cinema : "");
+            cinemaLabel.setVisible(seance.cinema != null);
+            cinemaLabel.setManaged(seance.cinema != null);
+            hoursLabel.setText("🕒 " + seance.heureDebut + " - " + seance.heureFin);
+            roomLabel.setText("📍 Salle : " + seance.salle);
+            versionLabel.setText("🎞️ Version : " + seance.version);
+            setGraphic(row);
+        }
+    }
+}
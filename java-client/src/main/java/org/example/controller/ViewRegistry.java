@@ -0,0 +1,120 @@
+package org.example.controller;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import org.example.metrics.StartupMetrics;
+import org.example.theme.ThemeManager;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Vues de la fenêtre principale : chaque FXML est chargé une seule fois, et sa vue et son contrôleur sont gardés.
+// Les vues chargées restent dans le StackPane et seule la vue affichée est visible : changer de vue ne
+// recrée rien et ne relit pas la base. Les vues pas encore ouvertes peuvent être préchargées, une par pulse.
+// La durée de chargement de chaque vue figure dans le rapport de démarrage (StartupMetrics)
+public class ViewRegistry {
+    private final StackPane host;
+    private final Map<String, View> views = new LinkedHashMap<>();
+    private final Deque<String> toPreload = new ArrayDeque<>();
+    private View current;
+
+    public ViewRegistry(StackPane host) {
+        this.host = host;
+    }
+
+    // Affiche la vue, chargée au premier appel ; les autres sont masquées (thread FX)
+    public Pane show(String fxmlPath) throws IOException {
+        View view = load(fxmlPath, true);
+        if (view != current) {
+            if (current != null) {
+                setShown(current, false);
+            }
+            setShown(view, true);
+            current = view;
+        }
+        return view.root;
+    }
+
+    // Charge les vues en arrière-plan du thread FX, une à la fois pour ne pas bloquer les interactions
+    public void preload(String... fxmlPaths) {
+        boolean idle = toPreload.isEmpty();
+        for (String fxmlPath : fxmlPaths) {
+            if (!views.containsKey(fxmlPath)) {
+                toPreload.add(fxmlPath);
+            }
+        }
+        if (idle && !toPreload.isEmpty()) {
+            Platform.runLater(this::preloadNext);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <C> C getController(String fxmlPath) {
+        View view = views.get(fxmlPath);
+        return view == null ? null : (C) view.controller;
+    }
+
+    public boolean isLoaded(String fxmlPath) {
+        return views.containsKey(fxmlPath);
+    }
+
+    private void preloadNext() {
+        String fxmlPath = toPreload.poll();
+        if (fxmlPath == null) {
+            return;
+        }
+        try {
+            load(fxmlPath, false);
+        } catch (IOException e) {
+            System.err.println("Erreur lors du préchargement de la vue " + fxmlPath + " : " + e.getMessage());
+        }
+        if (!toPreload.isEmpty()) {
+            Platform.runLater(this::preloadNext);
+        }
+    }
+
+    // Une vue préchargée est masquée avant d'entrer dans la scène ; une vue chargée pour être affichée ne l'est
+    // jamais, ses travaux de fond (TaskScope) lancés dans initialize ne sont donc pas annulés
+    private View load(String fxmlPath, boolean shown) throws IOException {
+        View view = views.get(fxmlPath);
+        if (view != null) {
+            return view;
+        }
+        long start = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
+        Pane root = loader.load();
+        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                ThemeManager.applyTheme(newScene);
+            }
+        });
+        view = new View(root, loader.getController());
+        if (!shown) {
+            setShown(view, false);
+        }
+        host.getChildren().add(root);
+        views.put(fxmlPath, view);
+        StartupMetrics.recordStep("vue " + fxmlPath, (System.nanoTime() - start) / 1_000_000, true);
+        return view;
+    }
+
+    private static void setShown(View view, boolean shown) {
+        view.root.setVisible(shown);
+        view.root.setManaged(shown);
+    }
+
+    private static final class View {
+        final Pane root;
+        final Object controller;
+
+        View(Pane root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+}
@@ -1,30 +1,85 @@
 package org.example.dao;
 
 import org.example.db.DatabaseManager;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.PreparedStatement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.sql.ResultSet;
 
 import org.example.scraping.Article;
+import org.example.scraping.ArticleSearch;
+import org.example.scraping.DayArticles;
 
 public class ArticlesDAO {
+    // Un article est unique par jour, heure et titre : le même titre peut revenir à une autre heure
+    private static final String TABLE_DEFINITION = "( id INTEGER PRIMARY KEY AUTOINCREMENT, day_id INTEGER NOT NULL, time TEXT NOT NULL, "
+            + "title TEXT NOT NULL, FOREIGN KEY(day_id) REFERENCES day_articles(id), UNIQUE(day_id, time, title) );";
+
     public ArticlesDAO() {
-        try(Connection conn  = DatabaseManager.getConnection(); Statement stmt = conn.createStatement();){
-            stmt.execute("CREATE TABLE IF NOT EXISTS articles ( id INTEGER PRIMARY KEY AUTOINCREMENT, day_id INTEGER NOT NULL, time TEXT NOT NULL, title TEXT NOT NULL, FOREIGN KEY(day_id) REFERENCES day_articles(id), UNIQUE(day_id, title) );");
+        try {
+            DatabaseManager.ensureSchema("articles", stmt -> {
+                stmt.execute("CREATE TABLE IF NOT EXISTS articles " + TABLE_DEFINITION);
+                migrateUniqueKey(stmt);
+                // Parcours des articles d'un jour dans l'ordre d'insertion (jointure et getArticlesByDayId)
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_articles_day_id ON articles(day_id, id)");
+                createSearchIndex(stmt);
+            });
         }
         catch (SQLException e) {
             System.err.println("Erreur lors de la création de la table : " + e.getMessage());
         }
     }
 
+    // Bases créées avec UNIQUE(day_id, title) : la contrainte ne peut pas être modifiée en place, la table est recopiée
+    // (mêmes id, l'index plein texte reste valable ; index et triggers sont recréés ensuite)
+    private static void migrateUniqueKey(Statement stmt) throws SQLException {
+        String sql;
+        try (ResultSet rs = stmt.executeQuery("SELECT sql FROM sqlite_master WHERE type = 'table' AND name = 'articles'")) {
+            sql = rs.next() ? rs.getString("sql") : null;
+        }
+        if (sql == null || !sql.contains("UNIQUE(day_id, title)")) {
+            return;
+        }
+        DatabaseManager.inTransaction(conn -> {
+            stmt.execute("CREATE TABLE articles_migration " + TABLE_DEFINITION);
+            stmt.execute("INSERT INTO articles_migration (id, day_id, time, title) SELECT id, day_id, time, title FROM articles");
+            stmt.execute("DROP TABLE articles");
+            stmt.execute("ALTER TABLE articles_migration RENAME TO articles");
+            return null;
+        });
+    }
+
+    // Index FTS5 adossé à la table articles, tenu à jour par des triggers
+    private static void createSearchIndex(Statement stmt) throws SQLException {
+        boolean exists;
+        try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'articles_fts'")) {
+            exists = rs.next();
+        }
+        stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS articles_fts USING fts5(title, time, content='articles', content_rowid='id', "
+                + FtsQueries.FTS_OPTIONS + ")");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS articles_fts_ai AFTER INSERT ON articles BEGIN "
+                + "INSERT INTO articles_fts(rowid, title, time) VALUES (new.id, new.title, new.time); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS articles_fts_ad AFTER DELETE ON articles BEGIN "
+                + "INSERT INTO articles_fts(articles_fts, rowid, title, time) VALUES ('delete', old.id, old.title, old.time); END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS articles_fts_au AFTER UPDATE ON articles BEGIN "
+                + "INSERT INTO articles_fts(articles_fts, rowid, title, time) VALUES ('delete', old.id, old.title, old.time); "
+                + "INSERT INTO articles_fts(rowid, title, time) VALUES (new.id, new.title, new.time); END");
+        if (!exists) {
+            // Base existante : on indexe les articles déjà présents
+            stmt.execute("INSERT INTO articles_fts(articles_fts) VALUES ('rebuild')");
+        }
+    }
+
     public void insertArticle(Article article, int dayId) {
-        String sql = "INSERT OR IGNORE INTO articles (day_id, time, title) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            PreparedStatement pstmt = DatabaseManager.prepare("INSERT OR IGNORE INTO articles (day_id, time, title) VALUES (?, ?, ?)");
             pstmt.setInt(1, dayId);
             pstmt.setString(2, article.time);
             pstmt.setString(3, article.title);
@@ -34,16 +89,79 @@ public class ArticlesDAO {
         }
     }
 
+    // Insertion groupée (batch JDBC, à appeler dans DatabaseManager.inTransaction), renvoie les articles réellement ajoutés
+    public List<Article> insertArticles(List<Article> articles, int dayId) throws SQLException {
+        try (Phase phase = ScrapeMetrics.phase("db.articles.insert")) {
+            PreparedStatement pstmt = DatabaseManager.prepare("INSERT OR IGNORE INTO articles (day_id, time, title) VALUES (?, ?, ?)");
+            for (Article article : articles) {
+                pstmt.setInt(1, dayId);
+                pstmt.setString(2, article.time);
+                pstmt.setString(3, article.title);
+                pstmt.addBatch();
+            }
+            // Un compteur à 0 : article déjà présent, ignoré par la contrainte UNIQUE(day_id, time, title)
+            int[] counts = pstmt.executeBatch();
+            List<Article> inserted = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    inserted.add(articles.get(i));
+                }
+            }
+            phase.items(inserted.size()).ok();
+            return inserted;
+        }
+    }
+
+    // Recherche plein texte (titre et heure), au plus limit articles par ordre de pertinence, regroupés par jour :
+    // les jours suivent leur article le plus pertinent. Une ligne de plus est lue pour savoir si la liste est tronquée
+    public ArticleSearch searchArticles(String input, int limit) {
+        Map<Integer, DayArticles> byDay = new LinkedHashMap<>();
+        String query = FtsQueries.prefixQuery(input);
+        if (query == null) {
+            return new ArticleSearch(new ArrayList<>(), false, limit);
+        }
+        String sql = "SELECT d.id AS day_id, d.day, a.time, a.title FROM articles_fts f "
+                + "JOIN articles a ON a.id = f.rowid JOIN day_articles d ON d.id = a.day_id "
+                + "WHERE articles_fts MATCH ? ORDER BY f.rank LIMIT ?";
+        boolean truncated = false;
+        try {
+            PreparedStatement pstmt = DatabaseManager.prepare(sql);
+            pstmt.setString(1, query);
+            pstmt.setInt(2, limit + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int count = 0;
+                while (rs.next()) {
+                    if (++count > limit) {
+                        truncated = true;
+                        break;
+                    }
+                    int dayId = rs.getInt("day_id");
+                    DayArticles day = byDay.get(dayId);
+                    if (day == null) {
+                        day = new DayArticles(rs.getDate("day").toLocalDate(), new ArrayList<Article>());
+                        day.id = dayId;
+                        byDay.put(dayId, day);
+                    }
+                    day.articles.add(new Article(rs.getString("time"), rs.getString("title")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la recherche des articles : " + e.getMessage());
+        }
+        return new ArticleSearch(new ArrayList<>(byDay.values()), truncated, limit);
+    }
+
     public List<Article> getArticlesByDayId(int dayId) {
         List<Article> articles = new ArrayList<Article>();
-        String sql = "SELECT * FROM articles WHERE day_id = ?";
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try {
+            PreparedStatement pstmt = DatabaseManager.prepare("SELECT * FROM articles WHERE day_id = ?");
             pstmt.setInt(1, dayId);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                String time = rs.getString("time");
-                String title = rs.getString("title");
-                articles.add(new Article(time, title));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String time = rs.getString("time");
+                    String title = rs.getString("title");
+                    articles.add(new Article(time, title));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Erreur lors de la récupération des articles : " + e.getMessage());
@@ -1,6 +1,8 @@
 package org.example.dao;
 
 import org.example.db.DatabaseManager;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
 import org.example.scraping.Article;
 import org.example.scraping.DayArticles;
 
@@ -11,21 +13,26 @@ import java.time.LocalDate;
 
 
 public class DayArticlesDAO {
+    private static final LocalDate MIN_DAY = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DAY = LocalDate.of(9999, 12, 31);
+
     public DayArticlesDAO() throws SQLException {
-        try(Connection conn  = DatabaseManager.getConnection(); Statement stmt = conn.createStatement();){
-            stmt.execute("CREATE TABLE IF NOT EXISTS day_articles (id INTEGER PRIMARY KEY AUTOINCREMENT, day DATE NOT NULL UNIQUE)");
+        try {
+            DatabaseManager.ensureSchema("day_articles", stmt -> {
+                stmt.execute("CREATE TABLE IF NOT EXISTS day_articles (id INTEGER PRIMARY KEY AUTOINCREMENT, day DATE NOT NULL UNIQUE)");
+            });
         }
         catch (SQLException e) {
             System.err.println("Erreur lors de la création de la table : " + e.getMessage());
         }
     }
 
+    // Insertion ligne par ligne en autocommit : renvoie -1 si le jour existe déjà
     public int insertDayArticles(DayArticles dayArticles) throws SQLException {
         String sql = "INSERT OR IGNORE INTO day_articles (day) VALUES (?)";
         int generatedId = -1;
 
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement pstmt = DatabaseManager.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setDate(1, Date.valueOf(dayArticles.day));
             pstmt.executeUpdate();
@@ -43,11 +50,26 @@ public class DayArticlesDAO {
         return generatedId;
     }
 
+    // Upsert (à appeler dans DatabaseManager.inTransaction) : renvoie toujours l'id réel du jour, qu'il soit nouveau ou non
+    public int upsertDayArticles(DayArticles dayArticles) throws SQLException {
+        try (Phase phase = ScrapeMetrics.phase("db.days.upsert")) {
+            PreparedStatement pstmt = DatabaseManager.prepare(
+                    "INSERT INTO day_articles (day) VALUES (?) ON CONFLICT(day) DO UPDATE SET day = excluded.day RETURNING id");
+            pstmt.setDate(1, Date.valueOf(dayArticles.day));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    phase.items(1).ok();
+                    return rs.getInt(1);
+                }
+            }
+            throw new SQLException("Aucun id renvoyé pour le jour " + dayArticles.day);
+        }
+    }
+
 
     public List<DayArticles> getAllDayArticles() throws SQLException {
         List<DayArticles> dayArticlesList = new ArrayList<>();
-        String sql = "SELECT * FROM day_articles";
-        try (Connection conn = DatabaseManager.getConnection(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+        try (ResultSet rs = DatabaseManager.prepare("SELECT * FROM day_articles").executeQuery()) {
             while (rs.next()) {
                 Date date = rs.getDate("day");
                 LocalDate localDate = date.toLocalDate();
@@ -61,12 +83,63 @@ public class DayArticlesDAO {
         return dayArticlesList;
     }
 
+    // Charge les jours et leurs articles en une seule requête triée, regroupés au fil de la lecture
+    public List<DayArticles> getAllDayArticlesWithArticles() throws SQLException {
+        String sql = "SELECT d.id AS day_id, d.day, a.time, a.title FROM day_articles d "
+                + "LEFT JOIN articles a ON a.day_id = d.id ORDER BY d.day, d.id, a.id";
+        try (ResultSet rs = DatabaseManager.prepare(sql).executeQuery()) {
+            return readGroupedDays(rs);
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la récupération des articles : " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    // Page de jours (avec leurs articles) strictement entre after et before (null = pas de borne), dans l'ordre demandé.
+    // Pagination par clé : la page suivante repart du dernier jour reçu, sans OFFSET, quel que soit l'historique.
+    public List<DayArticles> getDayArticlesPage(LocalDate after, LocalDate before, boolean recentFirst, int limit) throws SQLException {
+        String order = recentFirst ? "DESC" : "ASC";
+        String sql = "SELECT d.id AS day_id, d.day, a.time, a.title "
+                + "FROM (SELECT id, day FROM day_articles WHERE day > ? AND day < ? ORDER BY day " + order + " LIMIT ?) d "
+                + "LEFT JOIN articles a ON a.day_id = d.id ORDER BY d.day " + order + ", d.id, a.id";
+        PreparedStatement pstmt = DatabaseManager.prepare(sql);
+        pstmt.setDate(1, Date.valueOf(after != null ? after : MIN_DAY));
+        pstmt.setDate(2, Date.valueOf(before != null ? before : MAX_DAY));
+        pstmt.setInt(3, limit);
+        try (Phase phase = ScrapeMetrics.phase("db.days.page"); ResultSet rs = pstmt.executeQuery()) {
+            List<DayArticles> page = readGroupedDays(rs);
+            phase.items(page.size()).ok();
+            return page;
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la récupération des articles : " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    // Regroupe les lignes (jour, article) consécutives d'un même jour dans un DayArticles
+    private static List<DayArticles> readGroupedDays(ResultSet rs) throws SQLException {
+        List<DayArticles> dayArticlesList = new ArrayList<>();
+        DayArticles current = null;
+        while (rs.next()) {
+            int dayId = rs.getInt("day_id");
+            if (current == null || current.id != dayId) {
+                current = new DayArticles(rs.getDate("day").toLocalDate(), new ArrayList<Article>());
+                current.id = dayId;
+                dayArticlesList.add(current);
+            }
+            String title = rs.getString("title");
+            if (title != null) {
+                current.articles.add(new Article(rs.getString("time"), title));
+            }
+        }
+        return dayArticlesList;
+    }
+
     public DayArticles getDayArticles(LocalDate day) throws SQLException {
         DayArticles dayArticles = null;
-        String sql = "SELECT * FROM day_articles WHERE day = ?";
-        try (Connection conn = DatabaseManager.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setDate(1, Date.valueOf(day));
-            ResultSet rs = pstmt.executeQuery();
+        PreparedStatement pstmt = DatabaseManager.prepare("SELECT * FROM day_articles WHERE day = ?");
+        pstmt.setDate(1, Date.valueOf(day));
+        try (ResultSet rs = pstmt.executeQuery()) {
             if (rs.next()) {
                 Date date = rs.getDate("day");
                 LocalDate localDate = date.toLocalDate();
@@ -0,0 +1,155 @@
+package org.example.dao;
+
+import org.example.db.DatabaseManager;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Programmation en cache par salle et par jour : les films (fiche) et leurs séances (SeancesDAO),
+// avec dans film_cache l'heure du dernier scraping qui a confirmé ce contenu (pour le TTL)
+public class FilmsDAO {
+    private final SeancesDAO seancesDAO = new SeancesDAO();
+
+    public FilmsDAO() {
+        try {
+            DatabaseManager.ensureSchema("films", stmt -> {
+                stmt.execute("CREATE TABLE IF NOT EXISTS films (id INTEGER PRIMARY KEY AUTOINCREMENT, cinema_id TEXT NOT NULL, show_date DATE NOT NULL, "
+                        + "position INTEGER NOT NULL, titre TEXT, lien TEXT, image_url TEXT, genres TEXT, date_sortie TEXT, duree TEXT, "
+                        + "realisateur TEXT, acteurs TEXT, synopsis TEXT)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_films_cinema_date ON films (cinema_id, show_date)");
+                stmt.execute("CREATE TABLE IF NOT EXISTS film_cache (cinema_id TEXT NOT NULL, show_date DATE NOT NULL, fetched_at INTEGER NOT NULL, "
+                        + "PRIMARY KEY (cinema_id, show_date))");
+            });
+        }
+        catch (SQLException e) {
+            System.err.println("Erreur lors de la création de la table : " + e.getMessage());
+        }
+    }
+
+    // Remplace la programmation d'une salle pour ce jour et purge les jours précédents, en une transaction
+    public void replaceFilms(String cinemaId, LocalDate day, List<FilmPresentation> films, long fetchedAt) throws SQLException {
+        try (Phase phase = ScrapeMetrics.phase("db.films.replace")) {
+            DatabaseManager.inTransaction(conn -> {
+                seancesDAO.deleteSeancesBefore(day);
+                seancesDAO.deleteSeances(cinemaId, day);
+                PreparedStatement purge = DatabaseManager.prepare("DELETE FROM films WHERE show_date < ? OR (cinema_id = ? AND show_date = ?)");
+                purge.setDate(1, Date.valueOf(day));
+                purge.setString(2, cinemaId);
+                purge.setDate(3, Date.valueOf(day));
+                purge.executeUpdate();
+                PreparedStatement purgeCache = DatabaseManager.prepare("DELETE FROM film_cache WHERE show_date < ?");
+                purgeCache.setDate(1, Date.valueOf(day));
+                purgeCache.executeUpdate();
+
+                PreparedStatement pstmt = DatabaseManager.prepare(
+                        "INSERT INTO films (cinema_id, show_date, position, titre, lien, image_url, genres, date_sortie, duree, realisateur, acteurs, synopsis) "
+                                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) RETURNING id");
+                for (int i = 0; i < films.size(); i++) {
+                    FilmPresentation film = films.get(i);
+                    pstmt.setString(1, cinemaId);
+                    pstmt.setDate(2, Date.valueOf(day));
+                    pstmt.setInt(3, i);
+                    pstmt.setString(4, film.titre);
+                    pstmt.setString(5, film.lien);
+                    pstmt.setString(6, film.imageUrl);
+                    pstmt.setString(7, film.genres);
+                    pstmt.setString(8, film.dateSortie);
+                    pstmt.setString(9, film.duree);
+                    pstmt.setString(10, film.realisateur);
+                    pstmt.setString(11, film.acteurs);
+                    pstmt.setString(12, film.synopsis);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Aucun id renvoyé pour le film " + film.titre);
+                        }
+                        seancesDAO.insertSeances(rs.getLong(1), film.seances);
+                    }
+                }
+
+                PreparedStatement cache = DatabaseManager.prepare(
+                        "INSERT INTO film_cache (cinema_id, show_date, fetched_at) VALUES (?, ?, ?) "
+                                + "ON CONFLICT(cinema_id, show_date) DO UPDATE SET fetched_at = excluded.fetched_at");
+                cache.setString(1, cinemaId);
+                cache.setDate(2, Date.valueOf(day));
+                cache.setLong(3, fetchedAt);
+                cache.executeUpdate();
+                return null;
+            });
+            phase.items(films.size()).ok();
+        }
+    }
+
+    // Le contenu en cache vient d'être confirmé (page inchangée) ; renvoie false s'il n'y a rien en cache pour ce jour
+    public boolean touch(String cinemaId, LocalDate day, long fetchedAt) throws SQLException {
+        PreparedStatement pstmt = DatabaseManager.prepare("UPDATE film_cache SET fetched_at = ? WHERE cinema_id = ? AND show_date = ?");
+        pstmt.setLong(1, fetchedAt);
+        pstmt.setString(2, cinemaId);
+        pstmt.setDate(3, Date.valueOf(day));
+        return pstmt.executeUpdate() > 0;
+    }
+
+    // Heure du dernier scraping de la salle pour ce jour, ou null si elle n'est pas en cache
+    public Long getFetchedAt(String cinemaId, LocalDate day) {
+        try {
+            PreparedStatement pstmt = DatabaseManager.prepare("SELECT fetched_at FROM film_cache WHERE cinema_id = ? AND show_date = ?");
+            pstmt.setString(1, cinemaId);
+            pstmt.setDate(2, Date.valueOf(day));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la lecture du cache des films : " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Films de la salle pour ce jour avec leurs séances, dans l'ordre de la page ; null si rien n'est en cache
+    public List<FilmPresentation> getFilms(String cinemaId, LocalDate day) {
+        if (getFetchedAt(cinemaId, day) == null) {
+            return null;
+        }
+        try (Phase phase = ScrapeMetrics.phase("db.films.load")) {
+            Map<Long, List<Seance>> seances = seancesDAO.getSeancesByFilm(cinemaId, day);
+            List<FilmPresentation> films = new ArrayList<>();
+            PreparedStatement pstmt = DatabaseManager.prepare(
+                    "SELECT id, titre, lien, image_url, genres, date_sortie, duree, realisateur, acteurs, synopsis FROM films "
+                            + "WHERE cinema_id = ? AND show_date = ? ORDER BY position");
+            pstmt.setString(1, cinemaId);
+            pstmt.setDate(2, Date.valueOf(day));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    FilmPresentation film = new FilmPresentation();
+                    film.titre = rs.getString("titre");
+                    film.lien = rs.getString("lien");
+                    film.imageUrl = rs.getString("image_url");
+                    film.genres = rs.getString("genres");
+                    film.dateSortie = rs.getString("date_sortie");
+                    film.duree = rs.getString("duree");
+                    film.realisateur = rs.getString("realisateur");
+                    film.acteurs = rs.getString("acteurs");
+                    film.synopsis = rs.getString("synopsis");
+                    List<Seance> filmSeances = seances.get(rs.getLong("id"));
+                    if (filmSeances != null) {
+                        film.seances.addAll(filmSeances);
+                    }
+                    films.add(film);
+                }
+            }
+            phase.items(films.size()).ok();
+            return films;
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la lecture du cache des films : " + e.getMessage());
+            return null;
+        }
+    }
+}
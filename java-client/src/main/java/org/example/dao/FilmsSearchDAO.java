@@ -0,0 +1,115 @@
+package org.example.dao;
+
+import org.example.db.DatabaseManager;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Index plein texte FTS5 des films scrapés (fiche + séances), remplacé à chaque nouveau scraping.
+// Chaque film y est identifié par sa page UGC (deux films de même titre restent distincts), clé que ShowtimeIndex
+// utilise aussi pour fusionner les salles : un résultat désigne toujours une entrée de la programmation affichée
+public class FilmsSearchDAO {
+    public FilmsSearchDAO() {
+        try {
+            DatabaseManager.ensureSchema("films_fts", stmt -> {
+                stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS films_fts USING fts5(film_key UNINDEXED, titre, genres, realisateur, acteurs, "
+                        + "synopsis, details, " + FtsQueries.FTS_OPTIONS + ")");
+            });
+        }
+        catch (SQLException e) {
+            System.err.println("Erreur lors de la création de la table : " + e.getMessage());
+        }
+    }
+
+    public void indexFilms(List<FilmPresentation> films) {
+        try (Phase phase = ScrapeMetrics.phase("db.films.index")) {
+            DatabaseManager.inTransaction(conn -> {
+                DatabaseManager.prepare("DELETE FROM films_fts").executeUpdate();
+                PreparedStatement pstmt = DatabaseManager.prepare(
+                        "INSERT INTO films_fts (film_key, titre, genres, realisateur, acteurs, synopsis, details) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                for (FilmPresentation film : films) {
+                    pstmt.setString(1, key(film));
+                    pstmt.setString(2, film.titre);
+                    pstmt.setString(3, film.genres);
+                    pstmt.setString(4, film.realisateur);
+                    pstmt.setString(5, film.acteurs);
+                    pstmt.setString(6, film.synopsis);
+                    pstmt.setString(7, details(film));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                return null;
+            });
+            phase.items(films.size()).ok();
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de l'indexation des films : " + e.getMessage());
+        }
+    }
+
+    // Clés (voir key) des films correspondant à la saisie, du plus pertinent au moins pertinent
+    public List<String> searchFilms(String input, int limit) {
+        List<String> keys = new ArrayList<>();
+        String query = FtsQueries.prefixQuery(input);
+        if (query == null) {
+            return keys;
+        }
+        try {
+            PreparedStatement pstmt = DatabaseManager.prepare("SELECT film_key FROM films_fts WHERE films_fts MATCH ? ORDER BY rank LIMIT ?");
+            pstmt.setString(1, query);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    keys.add(rs.getString("film_key"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la recherche des films : " + e.getMessage());
+        }
+        return keys;
+    }
+
+    // Films de la liste (les entrées fusionnées d'un ShowtimeIndex, indexées par indexFilms avec la même clé)
+    // correspondant à la saisie, du plus pertinent au moins pertinent ; toute la liste si la saisie est vide
+    public List<FilmPresentation> filterFilms(List<FilmPresentation> films, String input) {
+        if (input == null || input.isBlank()) {
+            return films;
+        }
+        Map<String, FilmPresentation> byKey = new HashMap<>();
+        for (FilmPresentation film : films) {
+            byKey.put(key(film), film);
+        }
+        List<FilmPresentation> matches = new ArrayList<>();
+        for (String key : searchFilms(input, films.size())) {
+            FilmPresentation film = byKey.get(key);
+            if (film != null) {
+                matches.add(film);
+            }
+        }
+        return matches;
+    }
+
+    // Lien de la fiche du film, ou son titre s'il n'en a pas
+    public static String key(FilmPresentation film) {
+        return film.lien != null && !film.lien.isBlank() ? film.lien : film.titre;
+    }
+
+    // Date de sortie, durée et séances (cinéma, salle, version, horaires) dans une seule colonne
+    private static String details(FilmPresentation film) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(film.dateSortie).append(' ').append(film.duree);
+        for (Seance seance : film.seances) {
+            sb.append(' ').append(seance.cinema).append(' ').append(seance.salle).append(' ').append(seance.version)
+                    .append(' ').append(seance.heureDebut).append(' ').append(seance.heureFin);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outils communs aux index plein texte FTS5 (articles et films)
+public class FtsQueries {
+    // Tokenizer sans accents ni casse (é = e) et index de préfixes pour les recherches « au fil de la frappe »
+    public static final String FTS_OPTIONS = "tokenize='unicode61 remove_diacritics 2', prefix='2 3'";
+
+    // Transforme la saisie utilisateur en requête FTS5 : chaque mot devient un préfixe ("conc"*), tous requis.
+    // Renvoie null si la saisie ne contient aucun mot.
+    public static String prefixQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : input.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add("\"" + token + "\"*");
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.dao;
+
+import org.example.db.DatabaseManager;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
+import org.example.scraping.ScrapeState;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// État du dernier scraping de chaque page (ETag, Last-Modified, empreinte du contenu extrait)
+public class ScrapeStateDAO {
+    public ScrapeStateDAO() {
+        try {
+            DatabaseManager.ensureSchema("scrape_state", stmt -> {
+                stmt.execute("CREATE TABLE IF NOT EXISTS scrape_state (source_key TEXT PRIMARY KEY, etag TEXT, last_modified TEXT, "
+                        + "content_hash TEXT, checked_at INTEGER NOT NULL, changed_at INTEGER NOT NULL)");
+            });
+        }
+        catch (SQLException e) {
+            System.err.println("Erreur lors de la création de la table : " + e.getMessage());
+        }
+    }
+
+    // État enregistré, ou un état vide si la page n'a jamais été scrapée
+    public ScrapeState get(String key) {
+        ScrapeState state = new ScrapeState(key);
+        try (Phase phase = ScrapeMetrics.phase("db.scrapeState.get")) {
+            PreparedStatement pstmt = DatabaseManager.prepare(
+                    "SELECT etag, last_modified, content_hash, checked_at, changed_at FROM scrape_state WHERE source_key = ?");
+            pstmt.setString(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    state.etag = rs.getString("etag");
+                    state.lastModified = rs.getString("last_modified");
+                    state.contentHash = rs.getString("content_hash");
+                    state.checkedAt = rs.getLong("checked_at");
+                    state.changedAt = rs.getLong("changed_at");
+                }
+            }
+            phase.ok();
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la lecture de l'état de scraping : " + e.getMessage());
+        }
+        return state;
+    }
+
+    public void save(ScrapeState state) throws SQLException {
+        try (Phase phase = ScrapeMetrics.phase("db.scrapeState.save")) {
+            PreparedStatement pstmt = DatabaseManager.prepare(
+                    "INSERT INTO scrape_state (source_key, etag, last_modified, content_hash, checked_at, changed_at) VALUES (?, ?, ?, ?, ?, ?) "
+                            + "ON CONFLICT(source_key) DO UPDATE SET etag = excluded.etag, last_modified = excluded.last_modified, "
+                            + "content_hash = excluded.content_hash, checked_at = excluded.checked_at, changed_at = excluded.changed_at");
+            pstmt.setString(1, state.key);
+            pstmt.setString(2, state.etag);
+            pstmt.setString(3, state.lastModified);
+            pstmt.setString(4, state.contentHash);
+            pstmt.setLong(5, state.checkedAt);
+            pstmt.setLong(6, state.changedAt);
+            pstmt.executeUpdate();
+            phase.ok();
+        }
+    }
+}
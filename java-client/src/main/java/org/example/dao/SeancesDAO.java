@@ -0,0 +1,87 @@
+package org.example.dao;
+
+import org.example.db.DatabaseManager;
+import org.example.scraping.Model.Cinema.Seance;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Séances des films en cache (table films), dans l'ordre de la page ; supprimées avec leur film
+public class SeancesDAO {
+    public SeancesDAO() {
+        try {
+            DatabaseManager.ensureSchema("seances", stmt -> {
+                stmt.execute("CREATE TABLE IF NOT EXISTS seances (id INTEGER PRIMARY KEY AUTOINCREMENT, film_id INTEGER NOT NULL, "
+                        + "position INTEGER NOT NULL, heure_debut TEXT, heure_fin TEXT, salle TEXT, version TEXT, lien_reservation TEXT, cinema TEXT)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_seances_film ON seances (film_id)");
+            });
+        }
+        catch (SQLException e) {
+            System.err.println("Erreur lors de la création de la table : " + e.getMessage());
+        }
+    }
+
+    // À appeler dans DatabaseManager.inTransaction
+    public void insertSeances(long filmId, List<Seance> seances) throws SQLException {
+        PreparedStatement pstmt = DatabaseManager.prepare(
+                "INSERT INTO seances (film_id, position, heure_debut, heure_fin, salle, version, lien_reservation, cinema) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < seances.size(); i++) {
+            Seance seance = seances.get(i);
+            pstmt.setLong(1, filmId);
+            pstmt.setInt(2, i);
+            pstmt.setString(3, seance.heureDebut);
+            pstmt.setString(4, seance.heureFin);
+            pstmt.setString(5, seance.salle);
+            pstmt.setString(6, seance.version);
+            pstmt.setString(7, seance.lienReservation);
+            pstmt.setString(8, seance.cinema);
+            pstmt.addBatch();
+        }
+        pstmt.executeBatch();
+    }
+
+    // Séances des films d'une salle pour un jour, regroupées par film, en une seule requête
+    public Map<Long, List<Seance>> getSeancesByFilm(String cinemaId, LocalDate day) throws SQLException {
+        Map<Long, List<Seance>> byFilm = new HashMap<>();
+        PreparedStatement pstmt = DatabaseManager.prepare(
+                "SELECT s.film_id, s.heure_debut, s.heure_fin, s.salle, s.version, s.lien_reservation, s.cinema FROM seances s "
+                        + "JOIN films f ON f.id = s.film_id WHERE f.cinema_id = ? AND f.show_date = ? ORDER BY s.film_id, s.position");
+        pstmt.setString(1, cinemaId);
+        pstmt.setDate(2, Date.valueOf(day));
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                Seance seance = new Seance();
+                seance.heureDebut = rs.getString("heure_debut");
+                seance.heureFin = rs.getString("heure_fin");
+                seance.salle = rs.getString("salle");
+                seance.version = rs.getString("version");
+                seance.lienReservation = rs.getString("lien_reservation");
+                seance.cinema = rs.getString("cinema");
+                byFilm.computeIfAbsent(rs.getLong("film_id"), id -> new ArrayList<>()).add(seance);
+            }
+        }
+        return byFilm;
+    }
+
+    // À appeler avant de supprimer les films correspondants (même transaction)
+    public void deleteSeances(String cinemaId, LocalDate day) throws SQLException {
+        PreparedStatement pstmt = DatabaseManager.prepare(
+                "DELETE FROM seances WHERE film_id IN (SELECT id FROM films WHERE cinema_id = ? AND show_date = ?)");
+        pstmt.setString(1, cinemaId);
+        pstmt.setDate(2, Date.valueOf(day));
+        pstmt.executeUpdate();
+    }
+
+    public void deleteSeancesBefore(LocalDate day) throws SQLException {
+        PreparedStatement pstmt = DatabaseManager.prepare("DELETE FROM seances WHERE film_id IN (SELECT id FROM films WHERE show_date < ?)");
+        pstmt.setDate(1, Date.valueOf(day));
+        pstmt.executeUpdate();
+    }
+}
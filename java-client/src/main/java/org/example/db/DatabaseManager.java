@@ -1,27 +1,216 @@
 package org.example.db;
 
+import org.example.repository.JournalRepository;
+
+import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Une connexion SQLite par thread (FX, scraping, ...), ouverte une seule fois en mode WAL pour que le scraping
+// puisse écrire pendant que l'interface lit. Chaque connexion garde un cache de PreparedStatement :
+// les DAO ne ferment ni la connexion ni les statements obtenus via prepare().
 public class DatabaseManager {
-    private static final String DB_PATH = "data/TheBench.db";
-    public static Connection connection;
+    private static final String DEFAULT_DB_PATH = "data/TheBench.db";
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static volatile String dbPath = System.getProperty("thebench.db.path", DEFAULT_DB_PATH);
+
+    private static final ThreadLocal<ManagedConnection> threadConnection = new ThreadLocal<>();
+    private static final Set<ManagedConnection> openConnections = ConcurrentHashMap.newKeySet();
+    // Schémas déjà créés dans la base courante (voir ensureSchema)
+    private static final Set<String> createdSchemas = ConcurrentHashMap.newKeySet();
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface SchemaWork {
+        void create(Statement stmt) throws SQLException;
+    }
 
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            new java.io.File("data").mkdirs();
-            connection = DriverManager.getConnection("jdbc:sqlite:" + DB_PATH);
+        return current().connection;
+    }
+
+    // PreparedStatement mis en cache pour la connexion du thread courant (à ne pas fermer)
+    public static PreparedStatement prepare(String sql) throws SQLException {
+        return current().prepare(sql);
+    }
+
+    // Exécute work dans une transaction sur la connexion du thread courant ; les appels DAO faits dans work y participent
+    public static <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        Connection conn = getConnection();
+        if (!conn.getAutoCommit()) {
+            return work.run(conn); // transaction déjà ouverte par l'appelant
+        }
+        conn.setAutoCommit(false);
+        try {
+            T result = work.run(conn);
+            conn.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
         }
-        return connection;
     }
+
+    // Tables d'un DAO, créées une seule fois par base (au lancement, par GUI.createSchema) : les DAO instanciés
+    // ensuite ne relancent pas leurs CREATE ... IF NOT EXISTS. Une création qui échoue, ou faite dans une
+    // transaction de l'appelant (qui peut encore l'annuler), sera refaite à la prochaine instanciation
+    public static void ensureSchema(String name, SchemaWork work) throws SQLException {
+        if (createdSchemas.contains(name)) {
+            return;
+        }
+        synchronized (createdSchemas) {
+            if (createdSchemas.contains(name)) {
+                return;
+            }
+            Connection conn = getConnection();
+            try (Statement stmt = conn.createStatement()) {
+                work.create(stmt);
+            }
+            if (conn.getAutoCommit()) {
+                createdSchemas.add(name);
+            }
+        }
+    }
+
+    // Permet de pointer vers une autre base (tests, benchmarks)
+    public static void setDatabasePath(String path) throws SQLException {
+        closeAllConnections();
+        createdSchemas.clear();
+        dbPath = path;
+        // Le cache du journal décrit l'ancienne base
+        JournalRepository.getInstance().invalidate();
+    }
+
+    public static String getDatabasePath() {
+        return dbPath;
+    }
+
+    // Ferme la connexion du thread courant
     public static void closeConnection() throws SQLException {
-        try{
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+        ManagedConnection managed = threadConnection.get();
+        threadConnection.remove();
+        if (managed != null) {
+            managed.close();
+        }
+    }
+
+    // Ferme les connexions de tous les threads (arrêt de l'application, changement de base)
+    public static void closeAllConnections() {
+        threadConnection.remove();
+        for (ManagedConnection managed : openConnections) {
+            managed.close();
+        }
+    }
+
+    private static ManagedConnection current() throws SQLException {
+        ManagedConnection managed = threadConnection.get();
+        if (managed == null || managed.isClosed() || !managed.path.equals(dbPath)) {
+            if (managed != null) {
+                managed.close();
+            }
+            pruneDeadThreads();
+            managed = open(dbPath);
+            threadConnection.set(managed);
+        }
+        return managed;
+    }
+
+    private static ManagedConnection open(String path) throws SQLException {
+        File parent = new File(path).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + path);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = 5000");
+            stmt.execute("PRAGMA cache_size = -16000");
+            stmt.execute("PRAGMA mmap_size = 268435456");
+            stmt.execute("PRAGMA temp_store = MEMORY");
+        }
+        ManagedConnection managed = new ManagedConnection(path, conn, Thread.currentThread());
+        openConnections.add(managed);
+        return managed;
+    }
+
+    // Les threads de pools terminés ne rendent pas leur connexion : on la ferme à la prochaine ouverture
+    private static void pruneDeadThreads() {
+        for (ManagedConnection managed : openConnections) {
+            if (!managed.owner.isAlive()) {
+                managed.close();
+            }
+        }
+    }
+
+    private static final class ManagedConnection {
+        final String path;
+        final Connection connection;
+        final Thread owner;
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > STATEMENT_CACHE_SIZE) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        ManagedConnection(String path, Connection connection, Thread owner) {
+            this.path = path;
+            this.connection = connection;
+            this.owner = owner;
+        }
+
+        synchronized PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement pstmt = statements.get(sql);
+            if (pstmt == null || pstmt.isClosed()) {
+                pstmt = connection.prepareStatement(sql);
+                statements.put(sql, pstmt);
+            }
+            return pstmt;
+        }
+
+        boolean isClosed() throws SQLException {
+            return connection.isClosed();
+        }
+
+        // Peut être appelé depuis un autre thread (closeAllConnections) : le cache est vidé sous verrou
+        synchronized void close() {
+            openConnections.remove(this);
+            for (PreparedStatement pstmt : statements.values()) {
+                closeQuietly(pstmt);
+            }
+            statements.clear();
+            try {
+                if (!connection.isClosed()) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                System.err.println("Erreur lors de la fermeture de la connexion : " + e.getMessage());
+            }
+        }
+
+        private static void closeQuietly(Statement stmt) {
+            try {
+                stmt.close();
+            } catch (SQLException ignored) {
             }
-        } catch (SQLException e) {
-            System.err.println("Erreur lors de la fermeture de la connexion : " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,64 @@
+package org.example.metrics;
+
+// Chronomètre d'une phase, ouvert par ScrapeMetrics.phase() : try (Phase phase = ScrapeMetrics.phase("fetch")) { ... }
+// À la fermeture, la durée et les compteurs partent dans un événement JFR et dans le résumé du rafraîchissement en cours.
+// Une phase quittée par une exception (sans ok()) est comptée en échec.
+public class Phase implements AutoCloseable {
+    private final ScrapePhaseEvent event = new ScrapePhaseEvent();
+    private final RefreshSummary refresh;
+    private final String name;
+    private final long start = System.nanoTime();
+    private long items;
+    private long bytes;
+    private String detail;
+    private boolean success = false;
+    private boolean closed = false;
+
+    Phase(RefreshSummary refresh, String name) {
+        this.refresh = refresh;
+        this.name = name;
+        event.begin();
+    }
+
+    public Phase items(long items) {
+        this.items += items;
+        return this;
+    }
+
+    public Phase bytes(long bytes) {
+        this.bytes += bytes;
+        return this;
+    }
+
+    public Phase detail(String detail) {
+        this.detail = detail;
+        return this;
+    }
+
+    public Phase ok() {
+        success = true;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        long nanos = System.nanoTime() - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = refresh != null ? refresh.getSourceId() : null;
+            event.phase = name;
+            event.detail = detail;
+            event.items = items;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
+        }
+        if (refresh != null) {
+            refresh.record(name, nanos, items, bytes, success);
+        }
+    }
+}
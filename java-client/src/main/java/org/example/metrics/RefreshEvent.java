@@ -0,0 +1,17 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Rafraîchissement complet d'une source, parent des ScrapePhaseEvent du même intervalle
+@Name("org.example.Refresh")
+@Label("Rafraîchissement d'une source")
+@Category({"The Bench", "Scraping"})
+public class RefreshEvent extends jdk.jfr.Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Réussi")
+    public boolean success;
+}
@@ -0,0 +1,121 @@
+package org.example.metrics;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Temps cumulés par phase d'un rafraîchissement d'une source (les phases peuvent venir de plusieurs threads)
+public class RefreshSummary {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final String sourceId;
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+    private final RefreshEvent event = new RefreshEvent();
+    private long durationMs;
+    private boolean success;
+
+    RefreshSummary(String sourceId) {
+        this.sourceId = sourceId;
+        event.begin();
+    }
+
+    synchronized void record(String phase, long nanos, long items, long bytes, boolean ok) {
+        PhaseStats stats = phases.computeIfAbsent(phase, p -> new PhaseStats());
+        stats.count++;
+        stats.failures += ok ? 0 : 1;
+        stats.nanos += nanos;
+        stats.maxNanos = Math.max(stats.maxNanos, nanos);
+        stats.items += items;
+        stats.bytes += bytes;
+    }
+
+    synchronized void finish(boolean success) {
+        this.success = success;
+        this.durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = sourceId;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized long getDurationMs() {
+        return durationMs;
+    }
+
+    public synchronized boolean isSuccess() {
+        return success;
+    }
+
+    // Copie des compteurs par phase, dans l'ordre de première apparition
+    public synchronized Map<String, PhaseStats> getPhases() {
+        Map<String, PhaseStats> copy = new LinkedHashMap<>();
+        phases.forEach((name, stats) -> copy.put(name, stats.copy()));
+        return copy;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(TIME.format(Instant.ofEpochMilli(startedAt))).append("  ").append(sourceId).append(" : ")
+                .append(success ? "OK" : "ÉCHEC").append(" en ").append(durationMs).append(" ms");
+        phases.forEach((name, stats) -> sb.append("\n    ").append(name).append(" : ").append(stats));
+        return sb.toString();
+    }
+
+    public static final class PhaseStats {
+        public long count;
+        public long failures;
+        public long nanos;
+        public long maxNanos;
+        public long items;
+        public long bytes;
+
+        PhaseStats copy() {
+            PhaseStats copy = new PhaseStats();
+            copy.count = count;
+            copy.failures = failures;
+            copy.nanos = nanos;
+            copy.maxNanos = maxNanos;
+            copy.items = items;
+            copy.bytes = bytes;
+            return copy;
+        }
+
+        public long getTotalMs() {
+            return nanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(getTotalMs()).append(" ms");
+            if (count > 1) {
+                sb.append(" (").append(count).append(" appels, max ").append(maxNanos / 1_000_000).append(" ms)");
+            }
+            if (items > 0) {
+                sb.append(", ").append(items).append(" éléments");
+            }
+            if (bytes > 0) {
+                sb.append(", ").append(bytes / 1024).append(" Ko");
+            }
+            if (failures > 0) {
+                sb.append(", ").append(failures).append(" échecs");
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.metrics;
+
+import org.example.config.AppConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+// Mesures des rafraîchissements : chaque phase (Phase) est rattachée au rafraîchissement du thread courant,
+// démarré par le moteur (beginRefresh). Les threads de travail d'un rafraîchissement (pipeline, salles UGC)
+// reprennent ce contexte via inCurrentRefresh(). Les metrics.history.size derniers rafraîchissements sont gardés
+// pour être consultés depuis l'application ; une phase hors rafraîchissement ne produit que l'événement JFR.
+public class ScrapeMetrics {
+    public static final String HISTORY_SIZE_KEY = "metrics.history.size";
+
+    private static final ThreadLocal<RefreshSummary> current = new ThreadLocal<>();
+    private static final Deque<RefreshSummary> history = new ArrayDeque<>();
+    private static final int historySize = Math.max(1, AppConfig.getInt(HISTORY_SIZE_KEY, 20));
+
+    public static RefreshSummary beginRefresh(String sourceId) {
+        RefreshSummary summary = new RefreshSummary(sourceId);
+        current.set(summary);
+        return summary;
+    }
+
+    public static void endRefresh(RefreshSummary summary, boolean success) {
+        current.remove();
+        summary.finish(success);
+        synchronized (history) {
+            history.addFirst(summary);
+            while (history.size() > historySize) {
+                history.removeLast();
+            }
+        }
+    }
+
+    public static Phase phase(String name) {
+        return new Phase(current.get(), name);
+    }
+
+    // La tâche s'exécutera dans le rafraîchissement du thread appelant, quel que soit le thread qui la lance
+    public static <T> Callable<T> inCurrentRefresh(Callable<T> task) {
+        RefreshSummary refresh = current.get();
+        return () -> {
+            RefreshSummary previous = current.get();
+            current.set(refresh);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static Runnable inCurrentRefresh(Runnable task) {
+        RefreshSummary refresh = current.get();
+        return () -> {
+            RefreshSummary previous = current.get();
+            current.set(refresh);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    // Derniers rafraîchissements, le plus récent en tête
+    public static List<RefreshSummary> history() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public static String report() {
+        List<RefreshSummary> summaries = history();
+        if (summaries.isEmpty()) {
+            return "Aucun rafraîchissement depuis le lancement.";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (RefreshSummary summary : summaries) {
+            sb.append(summary).append("\n\n");
+        }
+        return sb.toString().trim();
+    }
+
+    private static void restore(RefreshSummary previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+}
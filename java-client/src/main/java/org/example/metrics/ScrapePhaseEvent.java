@@ -0,0 +1,34 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Une phase d'un scraping (téléchargement, attente JavaScript, extraction, requête SQLite...), visible dans
+// JDK Mission Control : java -XX:StartFlightRecording=filename=thebench.jfr ...
+@Name("org.example.ScrapePhase")
+@Label("Phase de scraping")
+@Category({"The Bench", "Scraping"})
+@Description("Durée, nombre d'éléments et octets d'une phase de scraping ou d'un appel DAO")
+public class ScrapePhaseEvent extends jdk.jfr.Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Détail")
+    public String detail;
+
+    @Label("Éléments")
+    public long items;
+
+    @Label("Octets")
+    @DataAmount
+    public long bytes;
+
+    @Label("Réussie")
+    public boolean success;
+}
@@ -0,0 +1,22 @@
+package org.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Étape du démarrage (schéma, préchargement du journal, mise à jour, plugins) ou jalon (première image, interactif)
+@Name("org.example.Startup")
+@Label("Étape de démarrage")
+@Category({"The Bench", "Démarrage"})
+public class StartupEvent extends jdk.jfr.Event {
+    @Label("Étape")
+    public String step;
+
+    @Label("Depuis le lancement")
+    @Timespan(Timespan.MILLISECONDS)
+    public long sinceLaunchMs;
+
+    @Label("Réussie")
+    public boolean success;
+}
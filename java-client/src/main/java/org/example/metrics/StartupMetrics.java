@@ -0,0 +1,75 @@
+package org.example.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Mesures du démarrage, en millisecondes depuis le lancement du processus : première image de la fenêtre
+// (time to first frame), journal affiché et utilisable (time to interactive) et durée de chaque étape de fond.
+// Chaque jalon n'est retenu que la première fois.
+public class StartupMetrics {
+    private static final long launchMillis = ProcessHandle.current().info().startInstant()
+            .map(instant -> instant.toEpochMilli()).orElse(System.currentTimeMillis());
+
+    private static final List<String> steps = new ArrayList<>();
+    private static long firstFrameMs = -1;
+    private static long interactiveMs = -1;
+    private static final CompletableFuture<Long> interactive = new CompletableFuture<>();
+
+    public static long sinceLaunchMs() {
+        return System.currentTimeMillis() - launchMillis;
+    }
+
+    public static synchronized void markFirstFrame() {
+        if (firstFrameMs < 0) {
+            firstFrameMs = milestone("first-frame");
+            System.out.println("Démarrage : première image à " + firstFrameMs + " ms");
+        }
+    }
+
+    public static synchronized void markInteractive() {
+        if (interactiveMs < 0) {
+            interactiveMs = milestone("interactive");
+            System.out.println("Démarrage : interactif à " + interactiveMs + " ms");
+            interactive.complete(interactiveMs);
+        }
+    }
+
+    public static synchronized void recordStep(String step, long durationMs, boolean success) {
+        steps.add(step + " : " + durationMs + " ms" + (success ? "" : " (échec)"));
+    }
+
+    // Terminé avec le temps jusqu'à l'état interactif (exécution d'entraînement AppCDS, benchmark de démarrage)
+    public static CompletableFuture<Long> interactive() {
+        return interactive;
+    }
+
+    // -1 tant que le jalon n'est pas atteint
+    public static synchronized long getTimeToFirstFrameMs() {
+        return firstFrameMs;
+    }
+
+    public static synchronized long getTimeToInteractiveMs() {
+        return interactiveMs;
+    }
+
+    public static synchronized String report() {
+        StringBuilder sb = new StringBuilder("Démarrage : première image ");
+        sb.append(firstFrameMs < 0 ? "-" : firstFrameMs + " ms");
+        sb.append(", interactif ").append(interactiveMs < 0 ? "-" : interactiveMs + " ms");
+        for (String step : steps) {
+            sb.append("\n  ").append(step);
+        }
+        return sb.toString();
+    }
+
+    private static long milestone(String name) {
+        long sinceLaunch = sinceLaunchMs();
+        StartupEvent event = new StartupEvent();
+        event.step = name;
+        event.sinceLaunchMs = sinceLaunch;
+        event.success = true;
+        event.commit();
+        return sinceLaunch;
+    }
+}
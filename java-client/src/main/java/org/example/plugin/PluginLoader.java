@@ -9,6 +9,18 @@ import java.util.ServiceLoader;
 
 public class PluginLoader {
 
+    // Plugins de tous les jars du dossier, sans les démarrer (découverte hors thread FX au lancement)
+    public static List<Plugin> discoverPlugins(File pluginFolder) {
+        List<Plugin> plugins = new ArrayList<>();
+        File[] jars = pluginFolder.listFiles((dir, name) -> name.endsWith(".jar"));
+        if (jars != null) {
+            for (File jar : jars) {
+                plugins.addAll(loadPlugins(jar));
+            }
+        }
+        return plugins;
+    }
+
     public static List<Plugin> loadPlugins(File jarFile) {
         List<Plugin> plugins = new ArrayList<>();
 
@@ -0,0 +1,221 @@
+package org.example.repository;
+
+import org.example.config.AppConfig;
+import org.example.dao.ArticlesDAO;
+import org.example.dao.DayArticlesDAO;
+import org.example.scraping.Article;
+import org.example.scraping.ArticleSearch;
+import org.example.scraping.DayArticles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Cache mémoire du journal, rempli page par page (pagination par date) au fil du défilement.
+// Il contient une fenêtre continue des jours les plus récents : tous les jours de la base postérieurs ou égaux
+// au plus ancien jour chargé. Les pages qui tombent dans cette fenêtre, dans un sens comme dans l'autre,
+// ne relisent pas la base ; les insertions y sont fusionnées. La fenêtre est bornée à journal.cache.maxDays jours
+// et à journal.cache.maxArticles articles (un jour chargé peut en compter beaucoup) : les jours les plus anciens
+// en sortent d'abord, au-delà les pages sont lues directement en base. La recherche passe par l'index FTS5.
+public class JournalRepository {
+    public static final String MAX_DAYS_KEY = "journal.cache.maxDays";
+    public static final String MAX_ARTICLES_KEY = "journal.cache.maxArticles";
+    public static final String PAGE_SIZE_KEY = "journal.pageSize";
+    private static final int DEFAULT_MAX_DAYS = 3650;
+    private static final int DEFAULT_MAX_ARTICLES = 50000;
+    private static final int DEFAULT_PAGE_SIZE = 30;
+    private static final int SEARCH_LIMIT = 500;
+
+    private static final JournalRepository instance = new JournalRepository(
+            AppConfig.getInt(MAX_DAYS_KEY, DEFAULT_MAX_DAYS), AppConfig.getInt(MAX_ARTICLES_KEY, DEFAULT_MAX_ARTICLES));
+
+    private final int maxDays;
+    private final int maxArticles;
+    private final TreeMap<LocalDate, DayArticles> days = new TreeMap<>();
+    // nombre d'articles de la fenêtre
+    private int articleCount = 0;
+    private boolean schemaReady = false;
+    // true quand la fenêtre contient tout l'historique
+    private boolean complete = false;
+    // true quand la fenêtre a atteint une de ses bornes : elle n'est plus étendue jusqu'à la prochaine invalidation
+    private boolean full = false;
+
+    public JournalRepository(int maxDays) {
+        this(maxDays, DEFAULT_MAX_ARTICLES);
+    }
+
+    public JournalRepository(int maxDays, int maxArticles) {
+        this.maxDays = Math.max(1, maxDays);
+        this.maxArticles = Math.max(1, maxArticles);
+    }
+
+    public static JournalRepository getInstance() {
+        return instance;
+    }
+
+    public static int getPageSize() {
+        return AppConfig.getInt(PAGE_SIZE_KEY, DEFAULT_PAGE_SIZE);
+    }
+
+    // Première page : jours compris entre from et to (inclus, null = pas de borne)
+    public List<DayArticles> firstPage(boolean recentFirst, LocalDate from, LocalDate to, int limit) {
+        return page(recentFirst, from, to, null, limit);
+    }
+
+    // Page suivante : jours après cursor (le dernier jour reçu) dans l'ordre demandé, toujours bornés par from et to
+    public synchronized List<DayArticles> page(boolean recentFirst, LocalDate from, LocalDate to, LocalDate cursor, int limit) {
+        ensureSchema();
+        LocalDate after = from != null ? from.minusDays(1) : null;
+        LocalDate before = to != null ? to.plusDays(1) : null;
+        if (cursor != null) {
+            if (recentFirst) {
+                before = before == null || cursor.isBefore(before) ? cursor : before;
+            } else {
+                after = after == null || cursor.isAfter(after) ? cursor : after;
+            }
+        }
+        if (recentFirst) {
+            // Les jours récents entrent dans la fenêtre tant qu'elle n'est pas pleine
+            while (!covers(after) && !full && days.size() < maxDays && fromWindow(true, after, before).size() < limit) {
+                if (!extendWindow(limit)) {
+                    break;
+                }
+            }
+            List<DayArticles> result = fromWindow(true, after, before);
+            if (result.size() >= limit || covers(after)) {
+                return new ArrayList<>(result.subList(0, Math.min(limit, result.size())));
+            }
+        } else if (covers(after)) {
+            List<DayArticles> result = fromWindow(false, after, before);
+            return new ArrayList<>(result.subList(0, Math.min(limit, result.size())));
+        }
+        try {
+            return new DayArticlesDAO().getDayArticlesPage(after, before, recentFirst, limit);
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la récupération des articles : " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Préchargement au démarrage, hors thread FX : tables puis première page récente, ensuite servie depuis la fenêtre
+    public List<DayArticles> warmUp() {
+        return firstPage(true, null, null, getPageSize());
+    }
+
+    // Recherche plein texte (FTS5) sur le titre et l'heure, par pertinence ; au plus SEARCH_LIMIT articles
+    public ArticleSearch search(String filter) {
+        synchronized (this) {
+            ensureSchema();
+        }
+        return new ArticlesDAO().searchArticles(filter, SEARCH_LIMIT);
+    }
+
+    // Appelé après un commit : fusionne les articles insérés sans relire la base.
+    // Les DayArticles déjà publiés ne sont jamais modifiés (copie), l'interface peut les parcourir sans verrou.
+    public synchronized void onInserted(List<DayArticles> inserted) {
+        for (DayArticles day : inserted) {
+            if (!complete && (days.isEmpty() || day.day.isBefore(days.firstKey()))) {
+                continue; // hors de la fenêtre : sera lu en base si besoin
+            }
+            DayArticles existing = days.get(day.day);
+            List<Article> merged = existing != null ? new ArrayList<>(existing.articles) : new ArrayList<>();
+            // Un article déjà présent (même heure et même titre, comme en base) n'est pas ajouté deux fois
+            Set<String> keys = new HashSet<>();
+            for (Article article : merged) {
+                keys.add(article.time + '|' + article.title);
+            }
+            for (Article article : day.articles) {
+                if (keys.add(article.time + '|' + article.title)) {
+                    merged.add(article);
+                }
+            }
+            DayArticles copy = new DayArticles(day.day, merged);
+            copy.id = day.id;
+            put(copy);
+        }
+        trim();
+    }
+
+    // Vide la fenêtre : les pages suivantes relisent la base (appelé aussi au changement de base)
+    public synchronized void invalidate() {
+        days.clear();
+        articleCount = 0;
+        complete = false;
+        full = false;
+        schemaReady = false;
+    }
+
+    private void put(DayArticles day) {
+        DayArticles previous = days.put(day.day, day);
+        articleCount += day.articles.size() - (previous != null ? previous.articles.size() : 0);
+    }
+
+    // Retire les jours les plus anciens tant que la fenêtre dépasse ses bornes, renvoie true si elle a été réduite
+    private boolean trim() {
+        boolean trimmed = false;
+        while (!days.isEmpty() && (days.size() > maxDays || articleCount > maxArticles)) {
+            articleCount -= days.pollFirstEntry().getValue().articles.size();
+            complete = false;
+            full = true;
+            trimmed = true;
+        }
+        return trimmed;
+    }
+
+    // La fenêtre contient tous les jours de la base postérieurs à after
+    private boolean covers(LocalDate after) {
+        if (complete) {
+            return true;
+        }
+        return !days.isEmpty() && after != null && !after.isBefore(days.firstKey().minusDays(1));
+    }
+
+    private List<DayArticles> fromWindow(boolean recentFirst, LocalDate after, LocalDate before) {
+        NavigableMap<LocalDate, DayArticles> range = days;
+        if (after != null) {
+            range = range.tailMap(after, false);
+        }
+        if (before != null) {
+            range = range.headMap(before, false);
+        }
+        return new ArrayList<>(recentFirst ? range.descendingMap().values() : range.values());
+    }
+
+    // Charge les jours qui précèdent immédiatement la fenêtre, renvoie false en cas d'erreur
+    // ou si la fenêtre est pleine (les jours chargés en trop en ressortent aussitôt)
+    private boolean extendWindow(int limit) {
+        int toLoad = Math.min(Math.max(limit, getPageSize()), maxDays - days.size());
+        LocalDate before = days.isEmpty() ? null : days.firstKey();
+        List<DayArticles> loaded;
+        try {
+            loaded = new DayArticlesDAO().getDayArticlesPage(null, before, true, toLoad);
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la récupération des articles : " + e.getMessage());
+            return false;
+        }
+        for (DayArticles day : loaded) {
+            put(day);
+        }
+        if (loaded.size() < toLoad) {
+            complete = true;
+        }
+        return !trim();
+    }
+
+    private void ensureSchema() {
+        if (schemaReady) {
+            return;
+        }
+        try {
+            new DayArticlesDAO();
+            new ArticlesDAO(); // crée la table et ses index si besoin
+            schemaReady = true;
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la création des tables : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.scraping;
+
+import java.util.List;
+
+// Résultat d'une recherche d'articles : jours dans l'ordre de leur article le plus pertinent, articles par pertinence.
+// truncated est vrai quand d'autres articles correspondent au-delà des limit premiers
+public class ArticleSearch {
+    private final List<DayArticles> days;
+    private final boolean truncated;
+    private final int limit;
+
+    public ArticleSearch(List<DayArticles> days, boolean truncated, int limit) {
+        this.days = days;
+        this.truncated = truncated;
+        this.limit = limit;
+    }
+
+    public List<DayArticles> days() {
+        return days;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.scraping;
+
+import org.example.scraping.Model.Cinema.FilmPresentation;
+
+import java.util.List;
+
+// Programmation du jour lue en base (sans réseau) : à afficher tout de suite, puis à revalider si elle est périmée
+// (plus vieille que le TTL) ou incomplète (une salle configurée n'est pas en cache)
+public class CachedShowtimes {
+    private final List<FilmPresentation> films;
+    private final long fetchedAt;
+    private final boolean complete;
+    private final long ttlMs;
+
+    public CachedShowtimes(List<FilmPresentation> films, long fetchedAt, boolean complete, long ttlMs) {
+        this.films = films;
+        this.fetchedAt = fetchedAt;
+        this.complete = complete;
+        this.ttlMs = ttlMs;
+    }
+
+    public List<FilmPresentation> films() {
+        return films;
+    }
+
+    // Heure du scraping de la salle la moins récemment vérifiée (0 si rien en cache)
+    public long fetchedAt() {
+        return fetchedAt;
+    }
+
+    public boolean isEmpty() {
+        return films.isEmpty();
+    }
+
+    public boolean isStale() {
+        return !complete || System.currentTimeMillis() - fetchedAt > ttlMs;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.css.parser.CSSOMParser;
+import com.gargoylesoftware.css.parser.javacc.CSS3Parser;
+import com.gargoylesoftware.css.parser.selector.Selector;
+import com.gargoylesoftware.css.parser.selector.SelectorList;
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import com.gargoylesoftware.htmlunit.css.CssStyleSheet;
+import com.gargoylesoftware.htmlunit.html.DomElement;
+import com.gargoylesoftware.htmlunit.html.DomNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Sélecteur CSS analysé une seule fois puis réutilisé : querySelector/querySelectorAll d'HtmlUnit réanalysent
+// la chaîne à chaque appel. La correspondance est celle d'HtmlUnit (CssStyleSheet.selects, classes entières),
+// les résultats sont donc identiques à querySelectorAll, dans l'ordre du document
+public final class CssSelector {
+    private final String css;
+    private final SelectorList selectors;
+
+    private CssSelector(String css, SelectorList selectors) {
+        this.css = css;
+        this.selectors = selectors;
+    }
+
+    public static CssSelector compile(String css) {
+        try {
+            SelectorList selectors = new CSSOMParser(new CSS3Parser()).parseSelectors(css);
+            if (selectors == null || selectors.isEmpty()) {
+                throw new IllegalArgumentException("Sélecteur invalide : " + css);
+            }
+            return new CssSelector(css, selectors);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Éléments descendants de root sélectionnés, dans l'ordre du document
+    public List<DomElement> selectAll(DomNode root) {
+        BrowserVersion browser = root.getPage().getWebClient().getBrowserVersion();
+        List<DomElement> found = new ArrayList<>();
+        for (DomElement element : root.getDomElementDescendants()) {
+            if (matches(browser, element)) {
+                found.add(element);
+            }
+        }
+        return found;
+    }
+
+    // Premier élément sélectionné, null si aucun ; le parcours s'arrête dès qu'il est trouvé
+    @SuppressWarnings("unchecked")
+    public <E extends DomElement> E selectFirst(DomNode root) {
+        BrowserVersion browser = root.getPage().getWebClient().getBrowserVersion();
+        for (DomElement element : root.getDomElementDescendants()) {
+            if (matches(browser, element)) {
+                return (E) element;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(BrowserVersion browser, DomElement element) {
+        for (Selector selector : selectors) {
+            if (CssStyleSheet.selects(browser, selector, element, null, true, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return css;
+    }
+}
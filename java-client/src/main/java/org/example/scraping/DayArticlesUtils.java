@@ -2,13 +2,24 @@ package org.example.scraping;
 
 import org.example.dao.ArticlesDAO;
 import org.example.dao.DayArticlesDAO;
+import org.example.db.DatabaseManager;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
+import org.example.repository.JournalRepository;
 
 import java.lang.reflect.Array;
+import java.sql.SQLException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class DayArticlesUtils {
     public static LocalDate resolveDayNameToDate(String dayNameFr, LocalDate today) {
@@ -37,6 +48,58 @@ public class DayArticlesUtils {
         }
     }
 
+    private static final Pattern DAY_ROW = Pattern.compile("^(Lundi|Mardi|Mercredi|Jeudi|Vendredi|Samedi|Dimanche)$");
+    private static final Pattern ARTICLE_ROW = Pattern.compile("^(\\d{1,2}h\\d{2})\\s+(.+)$");
+
+    // Lignes du fil sortiraparis.com : un nom de jour ouvre un groupe, puis "12h30 Titre" par article
+    public static List<DayArticles> parseNewsRows(List<String> rows, LocalDate today) {
+        List<DayArticles> dayArticles = new ArrayList<>();
+        DayArticles currentArticles = null;
+        for (String row : rows) {
+            String elementText = row.trim();
+            if (DAY_ROW.matcher(elementText).matches()) {
+                currentArticles = new DayArticles(resolveDayNameToDate(elementText, today), new ArrayList<>());
+                dayArticles.add(currentArticles);
+            } else {
+                Matcher matcher = ARTICLE_ROW.matcher(elementText);
+                if (matcher.find()) {
+                    if (currentArticles != null) {
+                        currentArticles.articles.add(new Article(matcher.group(1), matcher.group(2)));
+                    }
+                } else {
+                    System.out.println("Pas de match : " + elementText);
+                }
+            }
+        }
+        return dayArticles;
+    }
+
+    // Espaces normalisés, titres vides et doublons (même heure et même titre) retirés, un seul groupe par jour,
+    // jours sans article ignorés
+    public static List<DayArticles> normalize(List<DayArticles> dayArticles) {
+        Map<LocalDate, DayArticles> byDay = new LinkedHashMap<>();
+        Map<LocalDate, Set<String>> seenKeys = new HashMap<>();
+        for (DayArticles day : dayArticles) {
+            DayArticles merged = byDay.computeIfAbsent(day.day, d -> new DayArticles(d, new ArrayList<>()));
+            Set<String> seen = seenKeys.computeIfAbsent(day.day, d -> new HashSet<>());
+            for (Article article : day.articles) {
+                String time = article.time.trim();
+                String title = article.title.replaceAll("\\s+", " ").trim();
+                // Même clé que la contrainte UNIQUE(day_id, time, title) de la table articles
+                if (!title.isEmpty() && seen.add(time + '|' + title)) {
+                    merged.articles.add(new Article(time, title));
+                }
+            }
+        }
+        List<DayArticles> normalized = new ArrayList<>();
+        for (DayArticles day : byDay.values()) {
+            if (!day.articles.isEmpty()) {
+                normalized.add(day);
+            }
+        }
+        return normalized;
+    }
+
     public static void printDayArticles(List<DayArticles> dayArticles) {
         for(DayArticles day : dayArticles) {
             System.out.println("Jour : " + day.day);
@@ -46,31 +109,48 @@ public class DayArticlesUtils {
         }
     }
 
+    // Une seule transaction par scraping : un seul fsync SQLite au lieu d'un par article
     public static void InsertDayArticles(List<DayArticles> dayArticles) {
         try {
-            DayArticlesDAO dayArticlesDAO = new DayArticlesDAO();
-            ArticlesDAO articlesDAO = new ArticlesDAO();
-            for (DayArticles dayArticle : dayArticles) {
-                int idDayArticles =  dayArticlesDAO.insertDayArticles(dayArticle);
-                for (Article article : dayArticle.articles) {
-                    articlesDAO.insertArticle(article, idDayArticles);
-                }
-            }
+            insertNewArticles(dayArticles);
         }
         catch (Exception e) {
             System.err.println("Erreur lors de l'insertion des articles : " + e.getMessage());
         }
     }
 
+    // Comme InsertDayArticles, mais renvoie seulement les articles qui n'étaient pas encore en base (par jour)
+    // et laisse passer les erreurs : l'appelant ne mémorise l'état du scraping que si tout a été enregistré
+    public static List<DayArticles> insertNewArticles(List<DayArticles> dayArticles) throws SQLException {
+        DayArticlesDAO dayArticlesDAO = new DayArticlesDAO();
+        ArticlesDAO articlesDAO = new ArticlesDAO();
+        List<DayArticles> delta;
+        try (Phase phase = ScrapeMetrics.phase("db.insertDayArticles")) {
+            delta = DatabaseManager.inTransaction(conn -> {
+                List<DayArticles> added = new ArrayList<>();
+                for (DayArticles dayArticle : dayArticles) {
+                    dayArticle.id = dayArticlesDAO.upsertDayArticles(dayArticle);
+                    List<Article> inserted = articlesDAO.insertArticles(dayArticle.articles, dayArticle.id);
+                    if (!inserted.isEmpty()) {
+                        DayArticles day = new DayArticles(dayArticle.day, inserted);
+                        day.id = dayArticle.id;
+                        added.add(day);
+                    }
+                }
+                return added;
+            });
+            phase.items(delta.stream().mapToInt(day -> day.articles.size()).sum()).detail(dayArticles.size() + " jours").ok();
+        }
+        JournalRepository.getInstance().onInserted(delta);
+        return delta;
+    }
+
     public static List<DayArticles> getAllDayArticles() {
         List<DayArticles> dayArticlesList = new ArrayList<>();
         try {
             DayArticlesDAO dayArticlesDAO = new DayArticlesDAO();
-            ArticlesDAO articlesDAO = new ArticlesDAO();
-            dayArticlesList = dayArticlesDAO.getAllDayArticles();
-            for (DayArticles dayArticle : dayArticlesList) {
-                dayArticle.articles = articlesDAO.getArticlesByDayId(dayArticle.id);
-            }
+            new ArticlesDAO(); // crée la table et ses index si besoin
+            dayArticlesList = dayArticlesDAO.getAllDayArticlesWithArticles();
         } catch (Exception e) {
             System.err.println("Erreur lors de la récupération des articles : " + e.getMessage());
         }
@@ -0,0 +1,94 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.WebResponseData;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+import com.gargoylesoftware.htmlunit.util.WebConnectionWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Connexion HtmlUnit qui applique un ResourceFilter : les ressources refusées reçoivent une réponse vide
+// sans passer par le réseau. Compte les requêtes, les octets téléchargés et le temps passé à les attendre.
+// Se branche à la création : new FilteringWebConnection(webClient, filter) remplace la connexion du client.
+// Un client réutilisé (WebClientPool) garde sa connexion : on change le filtre et on remet les compteurs à zéro.
+public class FilteringWebConnection extends WebConnectionWrapper {
+    private static final byte[] EMPTY = new byte[0];
+
+    private volatile ResourceFilter filter;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong networkNanos = new AtomicLong();
+
+    public FilteringWebConnection(WebClient webClient, ResourceFilter filter) {
+        super(webClient);
+        this.filter = filter;
+    }
+
+    public void setFilter(ResourceFilter filter) {
+        this.filter = filter;
+    }
+
+    public void resetCounters() {
+        requests.set(0);
+        blocked.set(0);
+        discarded.set(0);
+        bytes.set(0);
+        networkNanos.set(0);
+    }
+
+    @Override
+    public WebResponse getResponse(WebRequest request) throws IOException {
+        ResourceFilter filter = this.filter;
+        requests.incrementAndGet();
+        if (filter.isBlocked(request)) {
+            blocked.incrementAndGet();
+            return emptyResponse(request, ResourceFilter.expectedContentType(request));
+        }
+        long start = System.nanoTime();
+        WebResponse response = super.getResponse(request);
+        networkNanos.addAndGet(System.nanoTime() - start);
+        bytes.addAndGet(Math.max(0, response.getContentLength()));
+        if (filter.isDeniedContentType(response.getContentType())) {
+            // Déjà téléchargée mais inutile au scraping : HtmlUnit n'a pas à la traiter
+            discarded.incrementAndGet();
+            response.cleanUp();
+            return emptyResponse(request, response.getContentType());
+        }
+        return response;
+    }
+
+    private static WebResponse emptyResponse(WebRequest request, String contentType) {
+        List<NameValuePair> headers = List.of(
+                new NameValuePair("Content-Type", contentType != null ? contentType : "text/plain"),
+                new NameValuePair("Content-Length", "0"));
+        return new WebResponse(new WebResponseData(EMPTY, 200, "OK", headers), request, 0);
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    // Requêtes refusées avant l'envoi
+    public long getBlockedCount() {
+        return blocked.get();
+    }
+
+    // Réponses téléchargées puis remplacées par une réponse vide (type refusé)
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    public long getBytesDownloaded() {
+        return bytes.get();
+    }
+
+    public long getNetworkTimeMs() {
+        return networkNanos.get() / 1_000_000;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.scraping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Espace les requêtes vers un même hôte d'au moins minIntervalMs, quel que soit le nombre de threads qui scrapent.
+// Chaque appel réserve le prochain créneau libre puis attend son tour hors verrou.
+public class HostRateLimiter {
+    private final long minIntervalMs;
+    private final Map<String, Long> nextSlot = new HashMap<>();
+
+    public HostRateLimiter(long minIntervalMs) {
+        this.minIntervalMs = Math.max(0, minIntervalMs);
+    }
+
+    public void acquire(String host) throws InterruptedException {
+        long slot;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            slot = Math.max(now, nextSlot.getOrDefault(host, now));
+            nextSlot.put(host, slot + minIntervalMs);
+        }
+        long wait = slot - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
+}
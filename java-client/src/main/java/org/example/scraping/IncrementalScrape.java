@@ -0,0 +1,67 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.htmlunit.HttpMethod;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Détection des pages inchangées entre deux scrapings : la page est demandée par un GET conditionnel
+// (If-None-Match / If-Modified-Since) quand le serveur a fourni des validateurs, sinon empreinte SHA-256 de la partie extraite
+public class IncrementalScrape {
+
+    // Requête GET de la page ; conditionnelle si state (null : aucun scraping précédent utilisable) a des validateurs.
+    // Une seule requête dans tous les cas : le serveur renvoie la page, ou 304 sans contenu si elle n'a pas changé
+    public static WebRequest request(String url, ScrapeState state) throws MalformedURLException {
+        WebRequest request = new WebRequest(new URL(url), HttpMethod.GET);
+        if (state != null && state.etag != null) {
+            request.setAdditionalHeader("If-None-Match", state.etag);
+        }
+        if (state != null && state.lastModified != null) {
+            request.setAdditionalHeader("If-Modified-Since", state.lastModified);
+        }
+        return request;
+    }
+
+    // true si le serveur a répondu 304 : la page n'a été ni téléchargée ni rendue
+    public static boolean notModified(WebResponse response) {
+        return response.getStatusCode() == 304;
+    }
+
+    public static void captureValidators(ScrapeState state, WebResponse response) {
+        state.etag = response.getResponseHeaderValue("ETag");
+        state.lastModified = response.getResponseHeaderValue("Last-Modified");
+    }
+
+    // Met à jour l'empreinte et renvoie true si le contenu extrait a changé depuis le dernier scraping
+    public static boolean updateHash(ScrapeState state, List<String> parts) {
+        String hash = hash(parts);
+        long now = System.currentTimeMillis();
+        state.checkedAt = now;
+        if (hash.equals(state.contentHash)) {
+            return false;
+        }
+        state.contentHash = hash;
+        state.changedAt = now;
+        return true;
+    }
+
+    public static String hash(List<String> parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -6,4 +6,5 @@ public class Seance {
     public String salle;
     public String version;
     public String lienReservation;
+    public String cinema;
 }
@@ -0,0 +1,47 @@
+package org.example.scraping.Model.Cinema;
+
+import org.example.config.AppConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Salle UGC suivie, lue dans config.properties : ugc.cinemas=10=Les Halles,12=Montparnasse (le nom est facultatif)
+public class UgcCinema {
+    public static final String CINEMAS_KEY = "ugc.cinemas";
+    public static final String DEFAULT_CINEMAS = "10=Châtelet Les Halles";
+
+    public final String id;
+    public final String name;
+
+    public UgcCinema(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public String url() {
+        return "https://www.ugc.fr/cinema.html?id=" + id;
+    }
+
+    public static List<UgcCinema> fromConfig() {
+        return parse(AppConfig.getString(CINEMAS_KEY, DEFAULT_CINEMAS));
+    }
+
+    public static List<UgcCinema> parse(String value) {
+        List<UgcCinema> cinemas = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            String id = separator < 0 ? trimmed : trimmed.substring(0, separator).trim();
+            String name = separator < 0 ? "" : trimmed.substring(separator + 1).trim();
+            if (!id.matches("\\d+")) {
+                System.err.println("Identifiant de cinéma UGC invalide : " + id);
+                continue;
+            }
+            cinemas.add(new UgcCinema(id, name.isEmpty() ? "UGC " + id : name));
+        }
+        return cinemas;
+    }
+}
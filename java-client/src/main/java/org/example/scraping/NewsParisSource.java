@@ -0,0 +1,32 @@
+package org.example.scraping;
+
+import org.example.config.AppConfig;
+import org.example.scraping.engine.ScrapeSource;
+
+import java.util.List;
+
+// Actualités de sortiraparis.com, enregistrées dans le journal ; le résultat ne contient que les articles nouveaux
+public class NewsParisSource implements ScrapeSource<List<DayArticles>> {
+    public static final String ID = "sortiraparis";
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public String host() {
+        return "www.sortiraparis.com";
+    }
+
+    // Le fil d'actualités change plus souvent que la programmation des salles
+    @Override
+    public int refreshMinutes() {
+        return AppConfig.getInt("scraping." + ID + ".refreshMinutes", 15);
+    }
+
+    @Override
+    public List<DayArticles> scrape() throws Exception {
+        return Scraper.scrapeNewsParis();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+
+// Condition de fin de rendu d'une page : le scraping reprend dès qu'elle est vraie,
+// au lieu d'attendre systématiquement la durée maximale avec waitForBackgroundJavaScript.
+@FunctionalInterface
+public interface PageReadiness {
+    long POLL_INTERVAL_MS = 100;
+
+    boolean isReady(HtmlPage page);
+
+    // Un élément correspondant à l'expression XPath est présent dans la page
+    static PageReadiness elementPresent(String xpath) {
+        return page -> page.getFirstByXPath(xpath) != null;
+    }
+
+    // Plus aucune tâche JavaScript (timer, requête asynchrone) en attente dans la fenêtre
+    static PageReadiness noPendingJobs() {
+        return page -> page.getEnclosingWindow().getJobManager().getJobCount() == 0;
+    }
+
+    default PageReadiness or(PageReadiness other) {
+        return page -> isReady(page) || other.isReady(page);
+    }
+
+    // Attend que la page soit prête, au plus maxWaitMs ; renvoie false si la borne est atteinte
+    default boolean await(WebClient webClient, HtmlPage page, long maxWaitMs) {
+        return await(webClient, page, maxWaitMs, () -> { });
+    }
+
+    // Idem, en appelant onTick à chaque tour avant la vérification : l'appelant peut lire la page
+    // déjà rendue (fiches complètes) sans attendre la fin du rendu
+    default boolean await(WebClient webClient, HtmlPage page, long maxWaitMs, Runnable onTick) {
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (true) {
+            onTick.run();
+            if (check(page)) {
+                return true;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            // Rend la main dès que les tâches en cours sont terminées, sinon au bout d'un intervalle
+            long interval = Math.min(POLL_INTERVAL_MS, remaining);
+            if (webClient.waitForBackgroundJavaScript(interval) == 0) {
+                try {
+                    Thread.sleep(interval); // rien en attente : évite de boucler à vide
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    // Le DOM peut être modifié par le JavaScript pendant la vérification : on retentera au tour suivant
+    private boolean check(HtmlPage page) {
+        try {
+            return isReady(page);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Règles de téléchargement d'une source : ce qui est refusé ne quitte pas la machine (réponse vide).
+// Une requête est refusée si son hôte ou son chemin est sur liste noire, si son type de contenu attendu
+// (extension, en-tête Accept) est refusé, ou si c'est un script servi par un hôte autre que ceux de la source.
+public class ResourceFilter {
+    private static final Map<String, String> TYPES_BY_EXTENSION = Map.ofEntries(
+            Map.entry("png", "image/png"), Map.entry("jpg", "image/jpeg"), Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"), Map.entry("webp", "image/webp"), Map.entry("avif", "image/avif"),
+            Map.entry("svg", "image/svg+xml"), Map.entry("ico", "image/x-icon"),
+            Map.entry("woff", "font/woff"), Map.entry("woff2", "font/woff2"), Map.entry("ttf", "font/ttf"),
+            Map.entry("otf", "font/otf"), Map.entry("eot", "application/vnd.ms-fontobject"),
+            Map.entry("css", "text/css"), Map.entry("js", "application/javascript"), Map.entry("mjs", "application/javascript"),
+            Map.entry("mp4", "video/mp4"), Map.entry("webm", "video/webm"));
+
+    // Régies et mesures d'audience les plus courantes, refusées par défaut
+    public static final String[] TRACKER_HOSTS = {
+            "google-analytics.com", "googletagmanager.com", "googlesyndication.com", "doubleclick.net",
+            "googletagservices.com", "facebook.net", "facebook.com", "hotjar.com", "criteo.com", "criteo.net",
+            "taboola.com", "outbrain.com", "scorecardresearch.com", "xiti.com", "adnxs.com", "amazon-adsystem.com",
+            "smartadserver.com", "didomi.io", "sddan.com", "teads.tv", "tiktok.com", "twitter.com", "pinterest.com"};
+
+    private final List<String> firstPartyHosts = new ArrayList<>();
+    private final List<String> deniedHosts = new ArrayList<>();
+    private final List<String> allowedHosts = new ArrayList<>();
+    private final List<Pattern> deniedPaths = new ArrayList<>();
+    private final List<String> deniedContentTypes = new ArrayList<>();
+    private boolean blockThirdPartyScripts = false;
+
+    // Filtre habituel d'une source : pas d'images, polices, feuilles de style, traqueurs ni scripts tiers
+    public static ResourceFilter forSite(String... firstPartyHosts) {
+        return new ResourceFilter()
+                .firstPartyHosts(firstPartyHosts)
+                .denyHosts(TRACKER_HOSTS)
+                .denyContentTypes("image/", "font/", "text/css", "video/", "application/vnd.ms-fontobject")
+                .blockThirdPartyScripts(true);
+    }
+
+    // Hôtes de la source (sous-domaines compris)
+    public ResourceFilter firstPartyHosts(String... hosts) {
+        firstPartyHosts.addAll(List.of(hosts));
+        return this;
+    }
+
+    public ResourceFilter denyHosts(String... hosts) {
+        deniedHosts.addAll(List.of(hosts));
+        return this;
+    }
+
+    // Hôtes tiers dont les scripts sont nécessaires au rendu : prioritaires sur toutes les autres règles
+    public ResourceFilter allowHosts(String... hosts) {
+        allowedHosts.addAll(List.of(hosts));
+        return this;
+    }
+
+    // Expressions régulières cherchées dans le chemin de l'URL
+    public ResourceFilter denyPaths(String... regexes) {
+        for (String regex : regexes) {
+            deniedPaths.add(Pattern.compile(regex));
+        }
+        return this;
+    }
+
+    // Préfixes de type MIME (image/, font/, text/css...)
+    public ResourceFilter denyContentTypes(String... prefixes) {
+        deniedContentTypes.addAll(List.of(prefixes));
+        return this;
+    }
+
+    public ResourceFilter blockThirdPartyScripts(boolean block) {
+        blockThirdPartyScripts = block;
+        return this;
+    }
+
+    // Décision prise avant l'envoi de la requête
+    public boolean isBlocked(WebRequest request) {
+        URL url = request.getUrl();
+        String host = url.getHost() == null ? "" : url.getHost().toLowerCase(Locale.ROOT);
+        if (matchesHost(host, allowedHosts)) {
+            return false;
+        }
+        if (matchesHost(host, deniedHosts)) {
+            return true;
+        }
+        String path = url.getPath() == null ? "" : url.getPath();
+        for (Pattern pattern : deniedPaths) {
+            if (pattern.matcher(path).find()) {
+                return true;
+            }
+        }
+        String expectedType = expectedContentType(request);
+        if (expectedType != null && isDeniedContentType(expectedType)) {
+            return true;
+        }
+        return blockThirdPartyScripts && !firstPartyHosts.isEmpty() && !matchesHost(host, firstPartyHosts)
+                && expectedType != null && expectedType.contains("javascript");
+    }
+
+    // Décision prise sur le type réellement renvoyé (ressource sans extension parlante)
+    public boolean isDeniedContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        for (String prefix : deniedContentTypes) {
+            if (type.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Type déduit de l'extension, à défaut de l'en-tête Accept posé par HtmlUnit selon l'élément demandeur
+    public static String expectedContentType(WebRequest request) {
+        String path = request.getUrl().getPath();
+        if (path != null) {
+            int dot = path.lastIndexOf('.');
+            if (dot >= 0 && dot > path.lastIndexOf('/')) {
+                String type = TYPES_BY_EXTENSION.get(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+                if (type != null) {
+                    return type;
+                }
+            }
+        }
+        String accept = request.getAdditionalHeaders().get("Accept");
+        if (accept != null && (accept.startsWith("image/") || accept.startsWith("text/css"))) {
+            return accept.split("[,;]")[0].trim();
+        }
+        return null;
+    }
+
+    private static boolean matchesHost(String host, List<String> hosts) {
+        for (String candidate : hosts) {
+            if (host.equals(candidate) || host.endsWith("." + candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
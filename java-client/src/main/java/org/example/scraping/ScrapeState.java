@@ -0,0 +1,20 @@
+package org.example.scraping;
+
+// Dernier état connu d'une page scrapée (clé "source:page") : validateurs HTTP renvoyés par le serveur
+// et empreinte de la partie extraite, pour ne rien analyser ni enregistrer quand elle n'a pas changé
+public class ScrapeState {
+    public String key;
+    public String etag;
+    public String lastModified;
+    public String contentHash;
+    public long checkedAt;
+    public long changedAt;
+
+    public ScrapeState(String key) {
+        this.key = key;
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+}
@@ -1,151 +1,295 @@
 package org.example.scraping;
 
-import com.gargoylesoftware.htmlunit.WebClient;
-import com.gargoylesoftware.htmlunit.html.HtmlAnchor;
-import com.gargoylesoftware.htmlunit.html.HtmlImage;
+import com.gargoylesoftware.htmlunit.Page;
 import com.gargoylesoftware.htmlunit.html.HtmlPage;
 import com.gargoylesoftware.htmlunit.html.HtmlElement;
+import org.example.config.AppConfig;
 import org.example.dao.DayArticlesDAO;
+import org.example.dao.ScrapeStateDAO;
+import org.example.metrics.Phase;
+import org.example.metrics.ScrapeMetrics;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 import org.example.scraping.Model.Cinema.*;
+import org.example.scraping.engine.RefreshScheduler;
+import org.example.scraping.engine.ScrapeResult;
+import org.example.scraping.engine.SourceRegistry;
+import org.example.scraping.pipeline.PipelineResult;
+import org.example.scraping.pipeline.ScrapePipeline;
+import org.example.scraping.pipeline.StageMetrics;
 
 public class Scraper {
-    public static void getNewsParis() {
-        // à réactiver pour debug
-        Logger.getLogger("com.gargoylesoftware").setLevel(Level.OFF);
-        Logger.getLogger("org.apache.http").setLevel(Level.OFF);
-        try (WebClient webClient = new WebClient()) {
-            webClient.getOptions().setJavaScriptEnabled(true);
-            webClient.getOptions().setCssEnabled(false);
-            webClient.getOptions().setThrowExceptionOnScriptError(false);
-            webClient.addRequestHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-
-            HtmlPage page = webClient.getPage("https://www.sortiraparis.com/");
-            webClient.waitForBackgroundJavaScript(5000);
-
-            HtmlElement body = page.getBody();
-            HtmlElement news = body.getFirstByXPath("//div[@class='live']");
-            List<HtmlElement> newsList = news.getByXPath(".//div[@class='row ' or @class='row hidden']");
-            /*int counter = 0;
-            for (HtmlElement element : newsList) {
-                System.out.println(counter+ " : " +element.asNormalizedText());
-                counter++;
-            }*/
-
-            List<DayArticles> dayArticles = new ArrayList<>();
-            DayArticles currentArticles = null;
-
-            for (HtmlElement element : newsList) {
-                String elementText = element.asNormalizedText().trim();
-                if (elementText.matches("^(Lundi|Mardi|Mercredi|Jeudi|Vendredi|Samedi|Dimanche)$")) {
-                    if (currentArticles != null) {
-                        dayArticles.add(currentArticles);
-                    }
-                    currentArticles = new DayArticles(
-                            DayArticlesUtils.resolveDayNameToDate(elementText, LocalDate.now()),
-                            new ArrayList<>()
-                    );
-                } else {
-                    Pattern pattern = Pattern.compile("^(\\d{1,2}h\\d{2})\\s+(.+)$");
-                    Matcher matcher = pattern.matcher(elementText);
-                    if (matcher.find()) {
-                        String time = matcher.group(1);
-                        String title = matcher.group(2);
-                        Article article = new Article(time, title);
-                        if (currentArticles != null) {
-                            currentArticles.articles.add(article);
-                        }
-                    } else {
-                        System.out.println("Pas de match : " + elementText);
-                    }
+    // Borne d'attente du rendu JavaScript par source, surchargeable dans config.properties
+    public static final String NEWS_MAX_WAIT_KEY = "scraping.sortiraparis.maxWaitMs";
+    public static final String UGC_MAX_WAIT_KEY = "scraping.ugc.maxWaitMs";
+    private static final PageReadiness NEWS_READY = PageReadiness
+            .elementPresent("//div[@class='live']//div[@class='row ' or @class='row hidden']")
+            .or(PageReadiness.noPendingJobs());
+    private static final PageReadiness UGC_READY = PageReadiness
+            .elementPresent("//ul[contains(@class,'component--screening-cards')]//li")
+            .or(PageReadiness.noPendingJobs());
+    // Ressources téléchargées par source ; scraping.<source>.allowHosts ajoute des hôtes tiers autorisés (CDN)
+    private static final ResourceFilter NEWS_FILTER = resourceFilter("sortiraparis", "sortiraparis.com");
+    private static final ResourceFilter UGC_FILTER = resourceFilter("ugc", "ugc.fr");
+    // Intervalle minimal entre deux pages de salles demandées à ugc.fr
+    public static final String UGC_MIN_INTERVAL_KEY = "scraping.ugc.minIntervalMs";
+    private static final HostRateLimiter UGC_RATE_LIMITER = new HostRateLimiter(AppConfig.getInt(UGC_MIN_INTERVAL_KEY, 250));
+    // Pages du fil d'actualités (séparées par des virgules) et threads par étage du pipeline,
+    // ex. scraping.sortiraparis.workers.fetch=2 ; l'enregistrement reste sur un seul thread (un écrivain SQLite)
+    public static final String NEWS_URLS_KEY = "scraping.sortiraparis.urls";
+    public static final String NEWS_WORKERS_KEY = "scraping.sortiraparis.workers.";
+    public static final String PIPELINE_QUEUE_KEY = "scraping.pipeline.queueCapacity";
+    // Une page inchangée (304 ou même empreinte) s'arrête à l'étage fetch ; persist ne garde que les nouveaux articles
+    private static final ScrapePipeline<String, NewsBatch> NEWS_PIPELINE = ScrapePipeline
+            .<String>builder(AppConfig.getInt(PIPELINE_QUEUE_KEY, 4))
+            .stage("fetch", AppConfig.getInt(NEWS_WORKERS_KEY + "fetch", 2), Scraper::fetchNewsRows)
+            .stage("parse", AppConfig.getInt(NEWS_WORKERS_KEY + "parse", 1), (NewsBatch batch) -> {
+                try (Phase phase = ScrapeMetrics.phase("parse")) {
+                    batch.days = DayArticlesUtils.parseNewsRows(batch.rows, LocalDate.now());
+                    phase.items(countArticles(batch.days)).ok();
                 }
-            }
-            if (currentArticles != null) {
-                dayArticles.add(currentArticles);
-            }
+                return batch;
+            })
+            .stage("normalize", AppConfig.getInt(NEWS_WORKERS_KEY + "normalize", 1), (NewsBatch batch) -> {
+                try (Phase phase = ScrapeMetrics.phase("normalize")) {
+                    batch.days = DayArticlesUtils.normalize(batch.days);
+                    phase.items(countArticles(batch.days)).ok();
+                }
+                return batch;
+            })
+            .stage("persist", 1, (NewsBatch batch) -> {
+                try (Phase phase = ScrapeMetrics.phase("persist")) {
+                    batch.days = DayArticlesUtils.insertNewArticles(batch.days);
+                    new ScrapeStateDAO().save(batch.state);
+                    phase.items(countArticles(batch.days)).ok();
+                }
+                return batch;
+            })
+            .build();
+
+    // Sources enregistrées par défaut dans le moteur de scraping
+    public static final NewsParisSource NEWS_SOURCE = new NewsParisSource();
+    public static final UgcSource UGC_SOURCE = new UgcSource();
+
+    public static SourceRegistry defaultSources() {
+        return new SourceRegistry().register(NEWS_SOURCE).register(UGC_SOURCE);
+    }
 
-            System.out.println(dayArticles.size());
-            DayArticlesUtils.printDayArticles(dayArticles);
-            DayArticlesUtils.InsertDayArticles(dayArticles);
-        } catch (Exception e) {
-            e.printStackTrace();
+    // Passent par le planificateur : un appel pendant un rafraîchissement de fond rejoint celui-ci
+    public static void getNewsParis() {
+        ScrapeResult<List<DayArticles>> result = RefreshScheduler.getInstance().refreshNow(NEWS_SOURCE).join();
+        if (!result.isSuccess()) {
+            System.err.println("Erreur lors du scraping de sortiraparis.com : " + result.getError().getMessage());
         }
     }
-    public static List<FilmPresentation> getSeancesChatelet(){
-        Logger.getLogger("com.gargoylesoftware").setLevel(Level.OFF);
-        Logger.getLogger("org.apache.http").setLevel(Level.OFF);
-        try (WebClient webClient = new WebClient()) {
 
-            webClient.getOptions().setJavaScriptEnabled(true);
-            webClient.getOptions().setCssEnabled(false);
-            webClient.getOptions().setThrowExceptionOnScriptError(false);
-            webClient.addRequestHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+    public static List<FilmPresentation> getSeancesUgc() {
+        ScrapeResult<ShowtimeUpdate> result = RefreshScheduler.getInstance().refreshNow(UGC_SOURCE).join();
+        if (!result.isSuccess()) {
+            System.err.println("Erreur lors du scraping des séances UGC : " + result.getError().getMessage());
+            return new ArrayList<>();
+        }
+        return result.getValue().films();
+    }
 
-            HtmlPage page = webClient.getPage("https://www.ugc.fr/cinema.html?id=10");
+    // Récupère, analyse et enregistre les articles du jour ; renvoie seulement les articles nouveaux (vide si rien
+    // n'a changé) et lève une exception si aucune page n'a pu être lue
+    static List<DayArticles> scrapeNewsParis() throws Exception {
+        List<String> urls = List.of(AppConfig.getString(NEWS_URLS_KEY, "https://www.sortiraparis.com/").trim().split("\\s*,\\s*"));
+        PipelineResult<NewsBatch> result = NEWS_PIPELINE.run(urls);
+        if (result.getOutputs().isEmpty() && !result.getErrors().isEmpty()) {
+            throw result.getErrors().get(0);
+        }
+        List<DayArticles> delta = new ArrayList<>();
+        for (NewsBatch batch : result.getOutputs()) {
+            delta.addAll(batch.days);
+        }
+        return delta;
+    }
 
-            webClient.waitForBackgroundJavaScript(10000);
+    // Compteurs par étage du pipeline des actualités (exécution en cours ou dernière)
+    public static List<StageMetrics> getNewsPipelineMetrics() {
+        return NEWS_PIPELINE.getMetrics();
+    }
 
-            HtmlElement body = page.getBody();
-            //List<HtmlElement> seance = body.getByXPath("//div[@class='slider-item']");
+    // Étage réseau : texte des lignes du fil d'actualités, le client est rendu au pool dès la page lue.
+    // Renvoie null (page abandonnée sans erreur) si elle n'a pas changé depuis le dernier scraping
+    private static NewsBatch fetchNewsRows(String url) throws Exception {
+        ScrapeStateDAO stateDAO = new ScrapeStateDAO();
+        ScrapeState state = stateDAO.get(NewsParisSource.ID + ":" + url);
+        try (WebClientPool.Lease lease = borrow(NEWS_FILTER)) {
+            HtmlPage page = loadPage(lease, url, state);
+            if (page == null) {
+                state.checkedAt = System.currentTimeMillis();
+                stateDAO.save(state);
+                return null;
+            }
+            awaitReady(lease, page, NEWS_READY, AppConfig.getInt(NEWS_MAX_WAIT_KEY, 5000));
 
-            List<HtmlElement> filmBlocks = body.getByXPath("//div[contains(@class,'component--film-presentation')]");
-            List<FilmPresentation> films = new ArrayList<>();
-            for(HtmlElement filmBlock : filmBlocks) {
-                FilmPresentation film = new FilmPresentation();
-
-                HtmlAnchor titleAnchor = filmBlock.getFirstByXPath(".//div[contains(@class,'block--title')]//a");
-                film.titre = titleAnchor.asNormalizedText();
-                film.lien = titleAnchor.getHrefAttribute();
-
-                HtmlImage img = filmBlock.getFirstByXPath(".//div[contains(@class,'img-wrapper')]//img");
-                film.imageUrl = img.getSrcAttribute();
-
-                HtmlElement genreDurée = filmBlock.getFirstByXPath(".//p[contains(@class,'color--dark-blue')]");
-                String[] parts = genreDurée.asNormalizedText().split("\\(");
-                film.genres = parts[0].trim();
-                film.duree = parts.length > 1 ? parts[1].replace(")", "").trim() : "";
-
-                HtmlElement dateSortie = filmBlock.getFirstByXPath(".//p[contains(.,'Sortie le')]//span");
-                film.dateSortie = (dateSortie != null)? dateSortie.asNormalizedText() : "";
-
-                HtmlElement realisateur = filmBlock.getFirstByXPath(".//p[contains(.,'De')]//span");
-                film.realisateur =  (realisateur != null) ? realisateur.asNormalizedText() : "";
-
-                HtmlElement acteurs = filmBlock.getFirstByXPath(".//p[contains(.,'Avec')]//span");
-                film.acteurs = (acteurs != null) ? acteurs.asNormalizedText(): "";
-
-                HtmlElement synopsis = filmBlock.getFirstByXPath(".//p[contains(.,'Synopsis')]//span");
-                film.synopsis = (synopsis != null) ? synopsis.asNormalizedText().replace("voir plus", "") : "";
-
-                List<HtmlElement> seancesHtml = body.getByXPath("//ul[contains(@class,'component--screening-cards')]//li");
-                for (HtmlElement seanceHtml : seancesHtml) {
-                    Seance seance = new Seance();
-                    HtmlElement version = (HtmlElement) seanceHtml.getFirstByXPath(".//span[contains(@class,'screening-lang')]");
-                    seance.version = (version != null)? version.asNormalizedText():  "";
-                    HtmlElement heureDebut = (HtmlElement) seanceHtml.getFirstByXPath(".//div[contains(@class,'screening-start')]");
-                    seance.heureDebut = (heureDebut != null)? heureDebut.asNormalizedText(): "";
-                    HtmlElement heureFin = (HtmlElement) seanceHtml.getFirstByXPath(".//div[contains(@class,'screening-end')]");
-                    seance.heureFin = (heureFin != null)? heureFin.asNormalizedText(): "";
-                    HtmlElement salle = (HtmlElement) seanceHtml.getFirstByXPath(".//div[contains(@class,'screening-detail')]");
-                    seance.salle = (salle != null)? salle.asNormalizedText(): "";
-                    HtmlElement button = seanceHtml.getFirstByXPath(".//button");
-                    seance.lienReservation = (button != null)?button.getAttribute("onclick").replace("javascript:location.href='", "").replace("'", ""): "";
-                    film.seances.add(seance);
+            List<String> rows = new ArrayList<>();
+            try (Phase phase = ScrapeMetrics.phase("extract")) {
+                HtmlElement news = page.getBody().getFirstByXPath("//div[@class='live']");
+                if (news == null) {
+                    throw new IllegalStateException("Fil d'actualités introuvable : " + url);
+                }
+                for (Object row : news.getByXPath(".//div[@class='row ' or @class='row hidden']")) {
+                    rows.add(((HtmlElement) row).asNormalizedText());
                 }
+                phase.items(rows.size()).ok();
+            }
+
+            IncrementalScrape.captureValidators(state, page.getWebResponse());
+            if (!updateHash(state, rows)) {
+                stateDAO.save(state);
+                return null;
+            }
+            return new NewsBatch(state, rows);
+        }
+    }
+
+    // Films et séances d'une salle UGC ; les pages d'ugc.fr sont espacées par le limiteur de débit.
+    // Si la page n'a pas changé depuis le dernier scraping, renvoie previous (même instance) sans l'analyser.
+    // Sinon chaque film est aussi transmis à onFilm dès qu'il est extrait, ses séances rattachées à la salle
+    static List<FilmPresentation> scrapeUgcCinema(UgcCinema cinema, List<FilmPresentation> previous,
+                                                  Consumer<FilmPresentation> onFilm) throws Exception {
+        ScrapeStateDAO stateDAO = new ScrapeStateDAO();
+        ScrapeState state = stateDAO.get(UgcSource.ID + ":" + cinema.id);
+        // Le créneau est réservé avant d'emprunter un client : l'attente n'immobilise pas un client du pool
+        try (Phase phase = ScrapeMetrics.phase("rate-limit")) {
+            UGC_RATE_LIMITER.acquire(UGC_SOURCE.host());
+            phase.ok();
+        }
+        try (WebClientPool.Lease lease = borrow(UGC_FILTER)) {
+            // Sans films en mémoire (premier scraping depuis le lancement), la page est toujours demandée et analysée
+            HtmlPage page = loadPage(lease, cinema.url(), previous != null ? state : null);
+            if (page == null) {
+                state.checkedAt = System.currentTimeMillis();
+                stateDAO.save(state);
+                return previous;
+            }
+            List<FilmPresentation> films = new ArrayList<>();
+            int[] seances = {0};
+            Consumer<FilmPresentation> collect = film -> {
+                seances[0] += film.seances.size();
                 films.add(film);
+                onFilm.accept(film);
+            };
+            // Premier scraping : rien à comparer, les fiches sont transmises pendant le rendu dès qu'elles sont complètes.
+            // Sinon la page n'est analysée qu'une fois prête, et seulement si son contenu a changé
+            UgcFilmParser.FilmStream stream = previous == null ? UgcFilmParser.stream(cinema.name, collect) : null;
+            awaitReady(lease, page, UGC_READY, AppConfig.getInt(UGC_MAX_WAIT_KEY, 10000),
+                    stream != null ? () -> stream.poll(page) : () -> { });
+
+            IncrementalScrape.captureValidators(state, page.getWebResponse());
+            boolean changed;
+            try (Phase phase = ScrapeMetrics.phase("fingerprint")) {
+                List<String> sections = UgcFilmParser.extractSections(page);
+                changed = IncrementalScrape.updateHash(state, sections);
+                phase.items(sections.size()).detail(changed ? "modifié" : "inchangé").ok();
+            }
+            if (!changed && previous != null) {
+                stateDAO.save(state);
+                return previous;
             }
+
+            try (Phase phase = ScrapeMetrics.phase("parse")) {
+                if (stream != null) {
+                    stream.finish(page);
+                } else {
+                    UgcFilmParser.parseFilms(page, cinema.name, collect);
+                }
+                phase.items(seances[0]).detail(films.size() + " films").ok();
+            }
+            stateDAO.save(state);
             return films;
         }
-        catch (Exception e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+    }
+
+    private static ResourceFilter resourceFilter(String source, String... hosts) {
+        ResourceFilter filter = ResourceFilter.forSite(hosts);
+        String allowed = AppConfig.getString("scraping." + source + ".allowHosts", "");
+        if (!allowed.isBlank()) {
+            filter.allowHosts(allowed.trim().split("\\s*,\\s*"));
+        }
+        return filter;
+    }
+
+    // Page du fil d'actualités entre les étages du pipeline, avec l'état à enregistrer une fois les articles en base
+    static final class NewsBatch {
+        final ScrapeState state;
+        final List<String> rows;
+        List<DayArticles> days;
+
+        NewsBatch(ScrapeState state, List<String> rows) {
+            this.state = state;
+            this.rows = rows;
+        }
+    }
+
+    // Phases communes aux sources, mesurées (ScrapeMetrics) : attente d'un client du pool,
+    // téléchargement (GET conditionnel) et analyse HTML de la page, exécution JavaScript jusqu'à la page prête, empreinte du contenu
+    private static WebClientPool.Lease borrow(ResourceFilter filter) throws InterruptedException {
+        try (Phase phase = ScrapeMetrics.phase("pool")) {
+            WebClientPool.Lease lease = WebClientPool.getInstance().borrow(filter);
+            phase.ok();
+            return lease;
+        }
+    }
+
+    // GET de la page, conditionnel si state a des validateurs (voir IncrementalScrape.request) ;
+    // null si le serveur répond 304 : la page n'a pas changé, elle n'est ni téléchargée ni rendue
+    private static HtmlPage loadPage(WebClientPool.Lease lease, String url, ScrapeState state) throws Exception {
+        try (Phase phase = ScrapeMetrics.phase("fetch")) {
+            long bytesBefore = lease.connection().getBytesDownloaded();
+            long requestsBefore = lease.connection().getRequestCount();
+            Page page = lease.client().getPage(IncrementalScrape.request(url, state));
+            boolean notModified = IncrementalScrape.notModified(page.getWebResponse());
+            phase.bytes(lease.connection().getBytesDownloaded() - bytesBefore)
+                    .items(lease.connection().getRequestCount() - requestsBefore)
+                    .detail(notModified ? "304 " + url : url).ok();
+            if (notModified) {
+                return null;
+            }
+            if (!(page instanceof HtmlPage htmlPage)) {
+                throw new IOException("Réponse inattendue (" + page.getWebResponse().getContentType() + ") : " + url);
+            }
+            return htmlPage;
+        }
+    }
+
+    private static boolean updateHash(ScrapeState state, List<String> parts) {
+        try (Phase phase = ScrapeMetrics.phase("fingerprint")) {
+            boolean changed = IncrementalScrape.updateHash(state, parts);
+            phase.items(parts.size()).detail(changed ? "modifié" : "inchangé").ok();
+            return changed;
+        }
+    }
+
+    private static int countArticles(List<DayArticles> days) {
+        int count = 0;
+        for (DayArticles day : days) {
+            count += day.articles.size();
+        }
+        return count;
+    }
+
+    // Les requêtes lancées par le JavaScript pendant l'attente sont comptées dans la phase js-wait
+    private static void awaitReady(WebClientPool.Lease lease, HtmlPage page, PageReadiness readiness, int maxWaitMs) {
+        awaitReady(lease, page, readiness, maxWaitMs, () -> { });
+    }
+
+    private static void awaitReady(WebClientPool.Lease lease, HtmlPage page, PageReadiness readiness, int maxWaitMs, Runnable onTick) {
+        try (Phase phase = ScrapeMetrics.phase("js-wait")) {
+            long bytesBefore = lease.connection().getBytesDownloaded();
+            long requestsBefore = lease.connection().getRequestCount();
+            boolean ready = readiness.await(lease.client(), page, maxWaitMs, onTick);
+            phase.bytes(lease.connection().getBytesDownloaded() - bytesBefore)
+                    .items(lease.connection().getRequestCount() - requestsBefore)
+                    .detail((ready ? "prête " : "incomplète ") + page.getUrl()).ok();
         }
     }
 }
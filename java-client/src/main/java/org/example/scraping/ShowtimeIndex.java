@@ -0,0 +1,95 @@
+package org.example.scraping;
+
+import org.example.dao.FilmsSearchDAO;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Index des films toutes salles confondues : un film programmé dans plusieurs salles n'apparaît qu'une fois,
+// avec les séances de chaque salle (Seance.cinema), dans l'ordre où les salles ont été ajoutées.
+// Les films sont identifiés comme dans l'index plein texte (FilmsSearchDAO.key) : deux films de même titre restent distincts
+public class ShowtimeIndex {
+    private final Map<String, FilmPresentation> films = new LinkedHashMap<>();
+    private final Map<String, Map<String, List<Seance>>> seancesByCinema = new LinkedHashMap<>();
+
+    // Ajoute les films d'une salle ; les fiches déjà connues sont conservées, les séances s'ajoutent.
+    // Les séances portent déjà leur salle (Seance.cinema, renseignée à l'analyse de la page) ; rien n'est modifié
+    public synchronized void add(List<FilmPresentation> cinemaFilms) {
+        for (FilmPresentation film : cinemaFilms) {
+            addFilm(film);
+        }
+    }
+
+    // Ajoute un film (films diffusés au fil du scraping)
+    public synchronized void addFilm(FilmPresentation film) {
+        String key = FilmsSearchDAO.key(film);
+        FilmPresentation merged = films.computeIfAbsent(key, k -> copyWithoutSeances(film));
+        Map<String, List<Seance>> byCinema = seancesByCinema.computeIfAbsent(key, k -> new LinkedHashMap<>());
+        for (Seance seance : film.seances) {
+            byCinema.computeIfAbsent(seance.cinema, c -> new ArrayList<>()).add(seance);
+            merged.seances.add(seance);
+        }
+    }
+
+    // Films fusionnés, dans l'ordre de première apparition
+    public synchronized List<FilmPresentation> films() {
+        return new ArrayList<>(films.values());
+    }
+
+    // Séances d'un film regroupées par salle
+    public synchronized Map<String, List<Seance>> seancesByCinema(FilmPresentation film) {
+        Map<String, List<Seance>> byCinema = seancesByCinema.get(FilmsSearchDAO.key(film));
+        return byCinema == null ? Collections.emptyMap() : new LinkedHashMap<>(byCinema);
+    }
+
+    // Films réduits aux séances absentes de previous (même salle, film, horaire, salle et version)
+    public synchronized List<FilmPresentation> newSeancesSince(ShowtimeIndex previous) {
+        Set<String> known = new HashSet<>();
+        synchronized (previous) {
+            for (FilmPresentation film : previous.films.values()) {
+                for (Seance seance : film.seances) {
+                    known.add(seanceKey(film, seance));
+                }
+            }
+        }
+        List<FilmPresentation> added = new ArrayList<>();
+        for (FilmPresentation film : films.values()) {
+            FilmPresentation delta = null;
+            for (Seance seance : film.seances) {
+                if (!known.contains(seanceKey(film, seance))) {
+                    if (delta == null) {
+                        delta = copyWithoutSeances(film);
+                        added.add(delta);
+                    }
+                    delta.seances.add(seance);
+                }
+            }
+        }
+        return added;
+    }
+
+    private static String seanceKey(FilmPresentation film, Seance seance) {
+        return FilmsSearchDAO.key(film) + '|' + seance.cinema + '|' + seance.heureDebut + '|' + seance.salle + '|' + seance.version;
+    }
+
+    private static FilmPresentation copyWithoutSeances(FilmPresentation film) {
+        FilmPresentation copy = new FilmPresentation();
+        copy.titre = film.titre;
+        copy.lien = film.lien;
+        copy.imageUrl = film.imageUrl;
+        copy.genres = film.genres;
+        copy.dateSortie = film.dateSortie;
+        copy.duree = film.duree;
+        copy.realisateur = film.realisateur;
+        copy.acteurs = film.acteurs;
+        copy.synopsis = film.synopsis;
+        return copy;
+    }
+}
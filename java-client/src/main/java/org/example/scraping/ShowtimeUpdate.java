@@ -0,0 +1,31 @@
+package org.example.scraping;
+
+import org.example.scraping.Model.Cinema.FilmPresentation;
+
+import java.util.List;
+
+// Résultat d'un scraping des salles UGC : la programmation complète à afficher, et le delta depuis le scraping
+// précédent (films réduits à leurs nouvelles séances). changed est faux quand aucune salle n'a changé.
+public class ShowtimeUpdate {
+    private final List<FilmPresentation> films;
+    private final List<FilmPresentation> added;
+    private final boolean changed;
+
+    public ShowtimeUpdate(List<FilmPresentation> films, List<FilmPresentation> added, boolean changed) {
+        this.films = films;
+        this.added = added;
+        this.changed = changed;
+    }
+
+    public List<FilmPresentation> films() {
+        return films;
+    }
+
+    public List<FilmPresentation> added() {
+        return added;
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.htmlunit.html.DomNode;
+import com.gargoylesoftware.htmlunit.html.HtmlAnchor;
+import com.gargoylesoftware.htmlunit.html.HtmlElement;
+import com.gargoylesoftware.htmlunit.html.HtmlImage;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Extraction des films et séances d'une page cinéma UGC, séparée du téléchargement pour être testée sur une page enregistrée.
+// Les blocs de films et les listes de séances sont lus en un seul parcours (sélecteur CSS précompilé), dans l'ordre du document :
+// chaque liste de séances revient au bloc de film qui la contient (ou, à défaut, qui la précède),
+// un film ne reçoit que ses propres séances.
+public class UgcFilmParser {
+    // Sélecteurs analysés une seule fois (voir CssSelector), réutilisés pour chaque bloc et chaque séance
+    private static final CssSelector SECTIONS = CssSelector.compile("div.component--film-presentation, ul.component--screening-cards");
+    private static final CssSelector SEANCE = CssSelector.compile("li");
+    private static final CssSelector TITLE = CssSelector.compile("div.block--title a");
+    private static final CssSelector IMAGE = CssSelector.compile("div.img-wrapper img");
+    private static final CssSelector GENRE_DUREE = CssSelector.compile("p.color--dark-blue");
+    private static final CssSelector PARAGRAPH = CssSelector.compile("p");
+    private static final CssSelector VALUE = CssSelector.compile("span");
+    private static final CssSelector LANG = CssSelector.compile("span.screening-lang");
+    private static final CssSelector START = CssSelector.compile("div.screening-start");
+    private static final CssSelector END = CssSelector.compile("div.screening-end");
+    private static final CssSelector DETAIL = CssSelector.compile("div.screening-detail");
+    private static final CssSelector BUTTON = CssSelector.compile("button");
+
+    public static List<FilmPresentation> parseFilms(DomNode root) {
+        List<FilmPresentation> films = new ArrayList<>();
+        parseFilms(root, null, films::add);
+        return films;
+    }
+
+    // Version en flux : chaque fiche est transmise dès qu'elle est complète, c'est-à-dire au début du bloc
+    // de film suivant (ses séances le suivent dans le document) ou à la fin de la page.
+    // Les séances sont créées avec la salle de cinéma de la page (Seance.cinema, null si inconnue)
+    public static void parseFilms(DomNode root, String cinema, Consumer<FilmPresentation> onFilm) {
+        parseBlocks(root, cinema, 0, true, onFilm);
+    }
+
+    // Lecture d'une page encore en cours de rendu (voir FilmStream)
+    public static FilmStream stream(String cinema, Consumer<FilmPresentation> onFilm) {
+        return new FilmStream(cinema, onFilm);
+    }
+
+    // Lecture au fil du rendu JavaScript : poll() transmet les fiches des blocs déjà suivis d'un autre bloc de film,
+    // finish() celles qui restent une fois la page prête. Chaque bloc n'est transmis qu'une fois
+    public static class FilmStream {
+        private final String cinema;
+        private final Consumer<FilmPresentation> onFilm;
+        // Nombre de blocs de film déjà traités, dans l'ordre du document
+        private int blocksDone = 0;
+
+        private FilmStream(String cinema, Consumer<FilmPresentation> onFilm) {
+            this.cinema = cinema;
+            this.onFilm = onFilm;
+        }
+
+        public void poll(DomNode root) {
+            List<FilmPresentation> complete = new ArrayList<>();
+            int done;
+            try {
+                done = parseBlocks(root, cinema, blocksDone, false, complete::add);
+            } catch (RuntimeException e) {
+                return; // DOM modifié pendant la lecture : on retentera au tour suivant
+            }
+            blocksDone = done;
+            complete.forEach(onFilm);
+        }
+
+        public void finish(DomNode root) {
+            blocksDone = parseBlocks(root, cinema, blocksDone, true, onFilm);
+        }
+    }
+
+    // Transmet les fiches des blocs de film à partir de l'index firstBlock ; le dernier bloc n'est transmis
+    // que si last (ses séances peuvent encore arriver). Renvoie le nombre de blocs traités depuis le début de la page
+    private static int parseBlocks(DomNode root, String cinema, int firstBlock, boolean last, Consumer<FilmPresentation> onFilm) {
+        int blocks = 0;
+        FilmPresentation current = null;
+        for (DomNode section : SECTIONS.selectAll(root)) {
+            if (!isScreeningList(section)) {
+                if (current != null) {
+                    onFilm.accept(current);
+                }
+                current = blocks >= firstBlock ? parseFilm(section) : null;
+                blocks++;
+            } else if (current != null) {
+                for (DomNode seanceHtml : SEANCE.selectAll(section)) {
+                    current.seances.add(parseSeance(seanceHtml, cinema));
+                }
+            }
+        }
+        if (!last) {
+            return Math.max(firstBlock, blocks - 1);
+        }
+        if (current != null) {
+            onFilm.accept(current);
+        }
+        return Math.max(firstBlock, blocks);
+    }
+
+    // Texte des blocs de films et des listes de séances, dans l'ordre du document : sert d'empreinte
+    // pour savoir si la programmation a changé sans construire les fiches
+    public static List<String> extractSections(DomNode root) {
+        List<String> sections = new ArrayList<>();
+        for (DomNode section : SECTIONS.selectAll(root)) {
+            sections.add(section.getTextContent());
+        }
+        return sections;
+    }
+
+    private static boolean isScreeningList(DomNode section) {
+        return "ul".equals(section.getNodeName());
+    }
+
+    // Fiche du film, null si le bloc n'a pas de titre (gabarit vide, encart publicitaire)
+    private static FilmPresentation parseFilm(DomNode filmBlock) {
+        HtmlAnchor titleAnchor = TITLE.selectFirst(filmBlock);
+        if (titleAnchor == null) {
+            return null;
+        }
+        FilmPresentation film = new FilmPresentation();
+        film.titre = titleAnchor.asNormalizedText();
+        film.lien = titleAnchor.getHrefAttribute();
+
+        HtmlImage img = IMAGE.selectFirst(filmBlock);
+        film.imageUrl = (img != null) ? img.getSrcAttribute() : "";
+
+        DomNode genreDuree = GENRE_DUREE.selectFirst(filmBlock);
+        String[] parts = (genreDuree != null) ? genreDuree.asNormalizedText().split("\\(") : new String[]{""};
+        film.genres = parts[0].trim();
+        film.duree = parts.length > 1 ? parts[1].replace(")", "").trim() : "";
+
+        film.dateSortie = labelled(filmBlock, "Sortie le");
+        film.realisateur = labelled(filmBlock, "De");
+        film.acteurs = labelled(filmBlock, "Avec");
+        film.synopsis = labelled(filmBlock, "Synopsis").replace("voir plus", "");
+        return film;
+    }
+
+    private static Seance parseSeance(DomNode seanceHtml, String cinema) {
+        Seance seance = new Seance();
+        seance.cinema = cinema;
+        seance.version = text(LANG.selectFirst(seanceHtml));
+        seance.heureDebut = text(START.selectFirst(seanceHtml));
+        seance.heureFin = text(END.selectFirst(seanceHtml));
+        seance.salle = text(DETAIL.selectFirst(seanceHtml));
+        HtmlElement button = BUTTON.selectFirst(seanceHtml);
+        seance.lienReservation = (button != null) ? button.getAttribute("onclick").replace("javascript:location.href='", "").replace("'", "") : "";
+        return seance;
+    }
+
+    // Valeur d'une ligne "<p>Libellé <span>valeur</span></p>" : le paragraphe doit commencer par le libellé
+    private static String labelled(DomNode filmBlock, String label) {
+        for (DomNode paragraph : PARAGRAPH.selectAll(filmBlock)) {
+            String content = paragraph.getTextContent().trim();
+            if (content.equals(label) || content.startsWith(label + " ")) {
+                return text(VALUE.selectFirst(paragraph));
+            }
+        }
+        return "";
+    }
+
+    private static String text(DomNode node) {
+        return (node != null) ? node.asNormalizedText() : "";
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.scraping;
+
+import org.example.config.AppConfig;
+import org.example.dao.FilmsDAO;
+import org.example.dao.FilmsSearchDAO;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.UgcCinema;
+import org.example.scraping.engine.ScrapeEngine;
+import org.example.scraping.engine.ScrapeSource;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Films et séances des salles UGC configurées (ugc.cinemas), téléchargées en parallèle et fusionnées
+// dans un index films → séances toutes salles confondues, puis indexées pour la recherche plein texte.
+// Une salle en erreur n'empêche pas les autres d'être affichées ; la source n'échoue que si toutes échouent.
+// Une salle dont la page n'a pas changé reprend ses films du scraping précédent ; si aucune n'a changé,
+// la recherche n'est pas réindexée et la mise à jour est marquée inchangée.
+// La programmation de chaque salle est gardée en base pour la journée (FilmsDAO) : après un redémarrage,
+// loadCached() l'affiche sans réseau et elle sert de scraping précédent pour les requêtes conditionnelles.
+public class UgcSource implements ScrapeSource<ShowtimeUpdate> {
+    public static final String ID = "ugc";
+    public static final String CACHE_TTL_KEY = "scraping.ugc.cacheTtlMinutes";
+
+    private volatile ShowtimeIndex lastIndex = new ShowtimeIndex();
+    // Films du dernier scraping réussi de chaque salle (clé : id UGC)
+    private final Map<String, List<FilmPresentation>> filmsByCinema = new ConcurrentHashMap<>();
+    private volatile List<String> lastCinemaIds = List.of();
+    // Abonnés aux films extraits pendant un scraping (threads des salles), avant la fusion finale
+    private final List<Consumer<FilmPresentation>> filmListeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public String host() {
+        return "www.ugc.fr";
+    }
+
+    @Override
+    public ShowtimeUpdate scrape() throws Exception {
+        List<UgcCinema> cinemas = UgcCinema.fromConfig();
+        restore(cinemas);
+        // Une sous-tâche par salle, sur les threads du moteur et sous sa limite de scrapings simultanés vers ugc.fr
+        List<Callable<List<FilmPresentation>>> tasks = new ArrayList<>();
+        for (UgcCinema cinema : cinemas) {
+            List<FilmPresentation> previous = filmsByCinema.get(cinema.id);
+            tasks.add(() -> Scraper.scrapeUgcCinema(cinema, previous, this::emit));
+        }
+        List<Future<List<FilmPresentation>>> futures = ScrapeEngine.current().invokeAll(host(), tasks);
+        // Ajout dans l'ordre de la configuration, quel que soit l'ordre d'arrivée
+        ShowtimeIndex index = new ShowtimeIndex();
+        Exception lastError = null;
+        List<String> cinemaIds = new ArrayList<>();
+        boolean changed = false;
+        for (int i = 0; i < cinemas.size(); i++) {
+            UgcCinema cinema = cinemas.get(i);
+            try {
+                List<FilmPresentation> cinemaFilms = futures.get(i).get();
+                boolean cinemaChanged = cinemaFilms != filmsByCinema.get(cinema.id);
+                changed |= cinemaChanged;
+                filmsByCinema.put(cinema.id, cinemaFilms);
+                persist(cinema, cinemaFilms, cinemaChanged);
+                cinemaIds.add(cinema.id);
+                index.add(cinemaFilms);
+            } catch (ExecutionException e) {
+                lastError = e.getCause() instanceof Exception cause ? cause : e;
+                System.err.println("Erreur lors du scraping de " + cinema.name + " : " + lastError.getMessage());
+            }
+        }
+        if (lastError != null && index.films().isEmpty()) {
+            throw lastError;
+        }
+        List<FilmPresentation> added;
+        synchronized (this) {
+            if (!changed && cinemaIds.equals(lastCinemaIds)) {
+                return new ShowtimeUpdate(lastIndex.films(), List.of(), false);
+            }
+            added = index.newSeancesSince(lastIndex);
+            lastIndex = index;
+            lastCinemaIds = cinemaIds;
+        }
+        List<FilmPresentation> films = index.films();
+        new FilmsSearchDAO().indexFilms(films);
+        return new ShowtimeUpdate(films, added, true);
+    }
+
+    // Flux des films au fil du scraping : chaque fiche analysée, une salle à la fois et dans un ordre quelconque
+    // entre salles (un film programmé dans deux salles arrive deux fois). La programmation fusionnée reste
+    // le résultat de scrape() ; seules les pages modifiées produisent des films
+    public void addFilmListener(Consumer<FilmPresentation> listener) {
+        filmListeners.add(listener);
+    }
+
+    public void removeFilmListener(Consumer<FilmPresentation> listener) {
+        filmListeners.remove(listener);
+    }
+
+    private void emit(FilmPresentation film) {
+        for (Consumer<FilmPresentation> listener : filmListeners) {
+            try {
+                listener.accept(film);
+            } catch (RuntimeException e) {
+                System.err.println("Erreur lors de la diffusion d'un film : " + e.getMessage());
+            }
+        }
+    }
+
+    // Programmation du jour telle qu'enregistrée (ou déjà en mémoire), sans réseau, avec son âge pour le TTL
+    public CachedShowtimes loadCached() {
+        List<UgcCinema> cinemas = UgcCinema.fromConfig();
+        restore(cinemas);
+        FilmsDAO filmsDAO = new FilmsDAO();
+        LocalDate today = LocalDate.now();
+        long oldest = Long.MAX_VALUE;
+        boolean complete = true;
+        for (UgcCinema cinema : cinemas) {
+            Long fetchedAt = filmsDAO.getFetchedAt(cinema.id, today);
+            if (fetchedAt == null) {
+                complete = false;
+            } else {
+                oldest = Math.min(oldest, fetchedAt);
+            }
+        }
+        long ttlMs = AppConfig.getInt(CACHE_TTL_KEY, 60) * 60_000L;
+        return new CachedShowtimes(lastIndex.films(), oldest == Long.MAX_VALUE ? 0 : oldest, complete, ttlMs);
+    }
+
+    // Reprend en mémoire la programmation du jour des salles encore inconnues ; tant qu'aucun scraping n'a abouti,
+    // elle tient lieu de scraping précédent (une page inchangée ne réindexe rien et ne republie rien)
+    private synchronized void restore(List<UgcCinema> cinemas) {
+        FilmsDAO filmsDAO = null;
+        for (UgcCinema cinema : cinemas) {
+            if (!filmsByCinema.containsKey(cinema.id)) {
+                if (filmsDAO == null) {
+                    filmsDAO = new FilmsDAO();
+                }
+                List<FilmPresentation> cached = filmsDAO.getFilms(cinema.id, LocalDate.now());
+                if (cached != null) {
+                    filmsByCinema.put(cinema.id, cached);
+                }
+            }
+        }
+        if (lastCinemaIds.isEmpty() && !filmsByCinema.isEmpty()) {
+            ShowtimeIndex index = new ShowtimeIndex();
+            List<String> cinemaIds = new ArrayList<>();
+            for (UgcCinema cinema : cinemas) {
+                List<FilmPresentation> cinemaFilms = filmsByCinema.get(cinema.id);
+                if (cinemaFilms != null) {
+                    index.add(cinemaFilms);
+                    cinemaIds.add(cinema.id);
+                }
+            }
+            lastIndex = index;
+            lastCinemaIds = cinemaIds;
+            // L'index plein texte peut dater d'une autre programmation : il suit celle qui sera affichée
+            new FilmsSearchDAO().indexFilms(index.films());
+        }
+    }
+
+    // Une page inchangée prolonge seulement la validité du cache, sauf si celui-ci date d'un autre jour
+    private static void persist(UgcCinema cinema, List<FilmPresentation> films, boolean changed) {
+        try {
+            FilmsDAO filmsDAO = new FilmsDAO();
+            LocalDate today = LocalDate.now();
+            long now = System.currentTimeMillis();
+            if (changed || !filmsDAO.touch(cinema.id, today, now)) {
+                filmsDAO.replaceFilms(cinema.id, today, films, now);
+            }
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de l'enregistrement des films de " + cinema.name + " : " + e.getMessage());
+        }
+    }
+
+    // Index du dernier scraping réussi (séances d'un film par salle)
+    public ShowtimeIndex getLastIndex() {
+        return lastIndex;
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.scraping;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.WebWindow;
+import org.example.config.AppConfig;
+import org.example.scraping.fixture.FixtureMode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Pool borné de WebClient préconfigurés : le moteur JavaScript, le cache HTTP (scripts déjà compilés)
+// et les connexions restent chauds d'un scraping à l'autre. Un client est remis à zéro (page, cookies, tâches)
+// à son retour dans le pool, et fermé après scraping.pool.idleSeconds sans servir.
+// Usage : try (WebClientPool.Lease lease = WebClientPool.getInstance().borrow(filter)) { lease.client()... }
+public class WebClientPool {
+    public static final String MAX_CLIENTS_KEY = "scraping.pool.maxClients";
+    public static final String IDLE_SECONDS_KEY = "scraping.pool.idleSeconds";
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    private static final WebClientPool instance = new WebClientPool(
+            AppConfig.getInt(MAX_CLIENTS_KEY, 4), AppConfig.getInt(IDLE_SECONDS_KEY, 120) * 1000L);
+
+    private final long idleTimeoutMs;
+    private final Semaphore permits;
+    // Clients libres, le plus récemment rendu en tête (le plus chaud)
+    private final Deque<PooledClient> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private boolean shutdown = false;
+
+    static {
+        // à réactiver pour debug
+        Logger.getLogger("com.gargoylesoftware").setLevel(Level.OFF);
+        Logger.getLogger("org.apache.http").setLevel(Level.OFF);
+    }
+
+    public WebClientPool(int maxClients, long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.permits = new Semaphore(Math.max(1, maxClients), true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "webclient-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(50, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static WebClientPool getInstance() {
+        return instance;
+    }
+
+    // Attend qu'un client soit disponible ; le filtre de ressources est celui de la source qui l'emprunte
+    public Lease borrow(ResourceFilter filter) throws InterruptedException {
+        permits.acquire();
+        PooledClient pooled;
+        synchronized (this) {
+            if (shutdown) {
+                permits.release();
+                throw new IllegalStateException("Pool de WebClient arrêté");
+            }
+            pooled = idle.pollFirst();
+        }
+        try {
+            if (pooled == null) {
+                pooled = create();
+            }
+            pooled.connection.setFilter(filter);
+            pooled.connection.resetCounters();
+            return new Lease(pooled);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Nombre de clients libres gardés au chaud
+    public synchronized int idleCount() {
+        return idle.size();
+    }
+
+    // Ferme les clients libres, le pool reste utilisable : les prochains emprunts créent des clients neufs,
+    // configurés selon la configuration du moment (mode fixtures notamment). Les clients prêtés ne sont pas touchés
+    public void closeIdle() {
+        List<PooledClient> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PooledClient pooled : toClose) {
+            pooled.client.close();
+        }
+    }
+
+    public void shutdown() {
+        List<PooledClient> toClose;
+        synchronized (this) {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        evictor.shutdownNow();
+        for (PooledClient pooled : toClose) {
+            pooled.client.close();
+        }
+    }
+
+    private PooledClient create() {
+        WebClient webClient = new WebClient();
+        webClient.getOptions().setJavaScriptEnabled(true);
+        webClient.getOptions().setCssEnabled(false);
+        webClient.getOptions().setThrowExceptionOnScriptError(false);
+        webClient.addRequestHeader("User-Agent", USER_AGENT);
+        FixtureMode.install(webClient);
+        return new PooledClient(webClient, new FilteringWebConnection(webClient, new ResourceFilter()));
+    }
+
+    private void release(PooledClient pooled) {
+        boolean keep = reset(pooled);
+        try {
+            synchronized (this) {
+                if (keep && !shutdown) {
+                    pooled.lastUsed = System.currentTimeMillis();
+                    idle.addFirst(pooled);
+                    return;
+                }
+            }
+            pooled.client.close();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Arrête les scripts et décharge la page ; le cache HTTP est conservé. Renvoie false si le client est inutilisable
+    private static boolean reset(PooledClient pooled) {
+        try {
+            WebClient webClient = pooled.client;
+            for (WebWindow window : webClient.getTopLevelWindows()) {
+                window.getJobManager().removeAllJobs();
+            }
+            webClient.getPage("about:blank");
+            webClient.getCookieManager().clearCookies();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la remise à zéro du WebClient : " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long limit = System.currentTimeMillis() - idleTimeoutMs;
+        List<PooledClient> expired = new ArrayList<>();
+        synchronized (this) {
+            // Les plus anciens sont en queue
+            while (!idle.isEmpty() && idle.peekLast().lastUsed < limit) {
+                expired.add(idle.pollLast());
+            }
+        }
+        for (PooledClient pooled : expired) {
+            pooled.client.close();
+        }
+    }
+
+    private static final class PooledClient {
+        final WebClient client;
+        final FilteringWebConnection connection;
+        long lastUsed;
+
+        PooledClient(WebClient client, FilteringWebConnection connection) {
+            this.client = client;
+            this.connection = connection;
+        }
+    }
+
+    // Emprunt d'un client, rendu au pool par close()
+    public final class Lease implements AutoCloseable {
+        private final PooledClient pooled;
+        private boolean released = false;
+
+        private Lease(PooledClient pooled) {
+            this.pooled = pooled;
+        }
+
+        public WebClient client() {
+            return pooled.client;
+        }
+
+        public FilteringWebConnection connection() {
+            return pooled.connection;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(pooled);
+            }
+        }
+    }
+}
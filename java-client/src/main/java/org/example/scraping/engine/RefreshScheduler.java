@@ -0,0 +1,236 @@
+package org.example.scraping.engine;
+
+import org.example.config.AppConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+// Rafraîchit chaque source activée en tâche de fond, à son propre intervalle (ScrapeSource.refreshMinutes),
+// décalé d'un aléa de ±scraping.refresh.jitterPercent pour ne pas solliciter tous les sites au même instant.
+// Après un échec, le prochain essai est avancé puis espacé exponentiellement (scraping.refresh.backoffSeconds,
+// doublé à chaque échec, plafonné par scraping.refresh.maxBackoffMinutes et par l'intervalle normal).
+// Les résultats sont publiés aux abonnés via l'Executor de leur choix (Platform::runLater pour l'interface).
+// Un rafraîchissement demandé pendant qu'un autre est en cours pour la même source le rejoint au lieu d'en lancer un second.
+public class RefreshScheduler {
+    public static final String JITTER_PERCENT_KEY = "scraping.refresh.jitterPercent";
+    public static final String BACKOFF_SECONDS_KEY = "scraping.refresh.backoffSeconds";
+    public static final String MAX_BACKOFF_MINUTES_KEY = "scraping.refresh.maxBackoffMinutes";
+    public static final String INITIAL_DELAY_SECONDS_KEY = "scraping.refresh.initialDelaySeconds";
+
+    private static RefreshScheduler instance;
+
+    private final ScrapeEngine engine;
+    private final ToLongFunction<ScrapeSource<?>> intervalMs;
+    private final double jitter;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final ScheduledExecutorService timer;
+    private final Map<String, SourceSchedule> schedules = new ConcurrentHashMap<>();
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean shutdown = false;
+
+    public RefreshScheduler(ScrapeEngine engine, ToLongFunction<ScrapeSource<?>> intervalMs, int jitterPercent,
+                            long backoffMs, long maxBackoffMs) {
+        this(engine, intervalMs, jitterPercent, backoffMs, maxBackoffMs, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "refresh-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // timer déclenche les passages automatiques (un minuteur piloté à la main dans les tests) ; arrêté par shutdown()
+    public RefreshScheduler(ScrapeEngine engine, ToLongFunction<ScrapeSource<?>> intervalMs, int jitterPercent,
+                            long backoffMs, long maxBackoffMs, ScheduledExecutorService timer) {
+        this.engine = engine;
+        this.intervalMs = intervalMs;
+        this.jitter = Math.max(0, Math.min(100, jitterPercent)) / 100.0;
+        this.backoffMs = Math.max(1, backoffMs);
+        this.maxBackoffMs = Math.max(this.backoffMs, maxBackoffMs);
+        this.timer = timer;
+    }
+
+    public static synchronized RefreshScheduler getInstance() {
+        if (instance == null) {
+            instance = new RefreshScheduler(ScrapeEngine.getInstance(), source -> source.refreshMinutes() * 60_000L,
+                    AppConfig.getInt(JITTER_PERCENT_KEY, 10), AppConfig.getInt(BACKOFF_SECONDS_KEY, 30) * 1000L,
+                    AppConfig.getInt(MAX_BACKOFF_MINUTES_KEY, 60) * 60_000L);
+        }
+        return instance;
+    }
+
+    // Planifie chaque source activée dont l'intervalle est positif, la première fois après initialDelayMs (± aléa)
+    public void start(long initialDelayMs) {
+        for (ScrapeSource<?> source : engine.getRegistry().enabled()) {
+            if (intervalMs.applyAsLong(source) > 0) {
+                SourceSchedule schedule = schedule(source);
+                synchronized (schedule) {
+                    scheduleAfter(schedule, jittered(initialDelayMs, ThreadLocalRandom.current().nextDouble()));
+                }
+            }
+        }
+    }
+
+    public void start() {
+        start(AppConfig.getInt(INITIAL_DELAY_SECONDS_KEY, 5) * 1000L);
+    }
+
+    // Rafraîchit une source tout de suite (ou rejoint le rafraîchissement en cours) ; le prochain passage
+    // automatique est recalculé à partir de ce résultat
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ScrapeResult<T>> refreshNow(ScrapeSource<T> source) {
+        SourceSchedule schedule = schedule(source);
+        synchronized (schedule) {
+            if (schedule.inFlight != null) {
+                return (CompletableFuture<ScrapeResult<T>>) schedule.inFlight;
+            }
+            if (schedule.next != null) {
+                schedule.next.cancel(false);
+                schedule.next = null;
+            }
+            // Le futur renvoyé se termine une fois le résultat publié et le prochain passage planifié
+            CompletableFuture<ScrapeResult<T>> future = engine.submit(source).thenApply(result -> {
+                onResult(schedule, source, result);
+                return result;
+            });
+            if (!future.isDone()) {
+                schedule.inFlight = future;
+            }
+            return future;
+        }
+    }
+
+    // Toutes les sources activées ; se termine quand chacune a publié son résultat
+    public CompletableFuture<Void> refreshAllNow() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (ScrapeSource<?> source : engine.getRegistry().enabled()) {
+            futures.add(refreshNow(source));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    // Reçoit chaque résultat de la source (automatique ou demandé), exécuté par executor
+    public <T> void subscribe(ScrapeSource<T> source, Executor executor, Consumer<ScrapeResult<T>> listener) {
+        subscriptions.add(new Subscription<>(source.id(), executor, listener));
+    }
+
+    public void unsubscribe(Consumer<?> listener) {
+        subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    // Échecs consécutifs d'une source depuis son dernier succès
+    public int getFailures(String sourceId) {
+        SourceSchedule schedule = schedules.get(sourceId);
+        return schedule == null ? 0 : schedule.failures;
+    }
+
+    // Date (ms) du prochain rafraîchissement automatique, 0 si aucun n'est prévu
+    public long getNextRunAt(String sourceId) {
+        SourceSchedule schedule = schedules.get(sourceId);
+        return schedule == null ? 0 : schedule.nextRunAt;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        timer.shutdownNow();
+    }
+
+    // Délai avant le prochain passage : intervalle normal après un succès, attente exponentielle après des échecs,
+    // puis ±jitter (random dans [0, 1[)
+    public static long nextDelay(long intervalMs, int failures, long backoffMs, long maxBackoffMs, double jitter, double random) {
+        long delay = intervalMs;
+        if (failures > 0) {
+            long backoff = backoffMs << Math.min(failures - 1, 30);
+            delay = Math.min(Math.min(backoff, maxBackoffMs), intervalMs);
+        }
+        return Math.max(0, Math.round(delay * (1 + jitter * (2 * random - 1))));
+    }
+
+    private long jittered(long delayMs, double random) {
+        return nextDelay(delayMs, 0, backoffMs, maxBackoffMs, jitter, random);
+    }
+
+    private SourceSchedule schedule(ScrapeSource<?> source) {
+        return schedules.computeIfAbsent(source.id(), id -> new SourceSchedule(source));
+    }
+
+    // À appeler sous le verrou de schedule
+    private void scheduleAfter(SourceSchedule schedule, long delayMs) {
+        if (shutdown) {
+            return;
+        }
+        if (schedule.next != null) {
+            schedule.next.cancel(false);
+        }
+        schedule.nextRunAt = System.currentTimeMillis() + delayMs;
+        schedule.next = timer.schedule(() -> refreshNow(schedule.source), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> void onResult(SourceSchedule schedule, ScrapeSource<T> source, ScrapeResult<T> result) {
+        synchronized (schedule) {
+            schedule.inFlight = null;
+            schedule.failures = result.isSuccess() ? 0 : schedule.failures + 1;
+            long interval = intervalMs.applyAsLong(source);
+            if (interval > 0 && source.isEnabled()) {
+                scheduleAfter(schedule, nextDelay(interval, schedule.failures, backoffMs, maxBackoffMs, jitter,
+                        ThreadLocalRandom.current().nextDouble()));
+            } else {
+                schedule.nextRunAt = 0;
+            }
+        }
+        if (!result.isSuccess()) {
+            System.err.println("Rafraîchissement de " + source.id() + " en échec (" + schedule.failures
+                    + " de suite), nouvel essai dans " + (schedule.nextRunAt - System.currentTimeMillis()) / 1000 + " s");
+        }
+        publish(source.id(), result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publish(String sourceId, ScrapeResult<?> result) {
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.sourceId.equals(sourceId)) {
+                Subscription<Object> typed = (Subscription<Object>) subscription;
+                try {
+                    typed.executor.execute(() -> typed.listener.accept((ScrapeResult<Object>) result));
+                } catch (RuntimeException e) {
+                    System.err.println("Erreur lors de la publication du rafraîchissement : " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class SourceSchedule {
+        final ScrapeSource<?> source;
+        int failures;
+        long nextRunAt;
+        ScheduledFuture<?> next;
+        CompletableFuture<?> inFlight;
+
+        SourceSchedule(ScrapeSource<?> source) {
+            this.source = source;
+        }
+    }
+
+    private static final class Subscription<T> {
+        final String sourceId;
+        final Executor executor;
+        final Consumer<ScrapeResult<T>> listener;
+
+        Subscription(String sourceId, Executor executor, Consumer<ScrapeResult<T>> listener) {
+            this.sourceId = sourceId;
+            this.executor = executor;
+            this.listener = listener;
+        }
+    }
+}
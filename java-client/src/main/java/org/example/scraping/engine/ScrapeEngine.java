@@ -0,0 +1,179 @@
+package org.example.scraping.engine;
+
+import org.example.config.AppConfig;
+import org.example.metrics.RefreshSummary;
+import org.example.metrics.ScrapeMetrics;
+import org.example.scraping.Scraper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lance les sources activées en parallèle : un rafraîchissement complet dure autant que la source la plus lente.
+// Les scrapings passent leur temps à attendre le réseau, chacun a donc son thread (pool extensible de threads démons).
+// Le nombre de scrapings simultanés vers un même hôte est borné par scraping.engine.maxPerHost ; les sous-tâches
+// d'une source (invokeAll, une page par salle par exemple) passent par les mêmes threads et la même limite.
+public class ScrapeEngine {
+    public static final String MAX_PER_HOST_KEY = "scraping.engine.maxPerHost";
+
+    private static ScrapeEngine instance;
+    // Moteur et hôte dont le thread courant détient un jeton, pendant un scraping ou une sous-tâche
+    private static final ThreadLocal<ScrapeEngine> currentEngine = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentHost = new ThreadLocal<>();
+
+    private final SourceRegistry registry;
+    private final int maxPerHost;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public ScrapeEngine(SourceRegistry registry, int maxPerHost) {
+        this.registry = registry;
+        this.maxPerHost = Math.max(1, maxPerHost);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "scrape-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized ScrapeEngine getInstance() {
+        if (instance == null) {
+            instance = new ScrapeEngine(Scraper.defaultSources(), AppConfig.getInt(MAX_PER_HOST_KEY, 2));
+        }
+        return instance;
+    }
+
+    // Moteur qui exécute la source en cours sur ce thread, sinon le moteur de l'application
+    public static ScrapeEngine current() {
+        ScrapeEngine engine = currentEngine.get();
+        return engine != null ? engine : getInstance();
+    }
+
+    public SourceRegistry getRegistry() {
+        return registry;
+    }
+
+    public <T> CompletableFuture<ScrapeResult<T>> submit(ScrapeSource<T> source) {
+        return CompletableFuture.supplyAsync(() -> execute(source), executor);
+    }
+
+    // Scraping d'une seule source, bloquant
+    public <T> ScrapeResult<T> run(ScrapeSource<T> source) {
+        return submit(source).join();
+    }
+
+    // Toutes les sources activées en parallèle ; rend la main quand chacune a un résultat ou une erreur
+    public ScrapeReport runAll() {
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<? extends ScrapeResult<?>>> futures = new ArrayList<>();
+        for (ScrapeSource<?> source : registry.enabled()) {
+            futures.add(submit(source));
+        }
+        List<ScrapeResult<?>> results = new ArrayList<>();
+        for (CompletableFuture<? extends ScrapeResult<?>> future : futures) {
+            results.add(future.join());
+        }
+        return new ScrapeReport(results, System.currentTimeMillis() - start);
+    }
+
+    // Lance des sous-tâches vers host sur les threads du moteur et attend qu'elles soient toutes terminées
+    // (résultat ou erreur, comme ExecutorService.invokeAll). Chacune prend un jeton de l'hôte ; si le thread
+    // appelant en détient déjà un, il le prête pendant l'attente pour que ses sous-tâches ne l'attendent pas.
+    // Une interruption annule les sous-tâches encore en cours.
+    public <V> List<Future<V>> invokeAll(String host, List<? extends Callable<V>> tasks) throws InterruptedException {
+        Semaphore permits = permits(host);
+        List<Future<V>> futures = new ArrayList<>();
+        for (Callable<V> task : tasks) {
+            Callable<V> inRefresh = ScrapeMetrics.inCurrentRefresh(task);
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return holding(host, inRefresh);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        boolean lent = this == currentEngine.get() && host.equals(currentHost.get());
+        if (lent) {
+            permits.release();
+        }
+        try {
+            for (Future<V> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException | CancellationException e) {
+                    // rendu tel quel à l'appelant par future.get()
+                }
+            }
+        } catch (InterruptedException e) {
+            for (Future<V> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        } finally {
+            if (lent) {
+                permits.acquireUninterruptibly();
+            }
+        }
+        return futures;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> ScrapeResult<T> execute(ScrapeSource<T> source) {
+        long start = System.currentTimeMillis();
+        Semaphore permits = permits(source.host());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ScrapeResult.failure(source.id(), e, System.currentTimeMillis() - start);
+        }
+        // Les phases mesurées pendant scrape() sont rattachées à ce rafraîchissement (ScrapeMetrics.history())
+        RefreshSummary summary = ScrapeMetrics.beginRefresh(source.id());
+        boolean success = false;
+        try {
+            T value = holding(source.host(), source::scrape);
+            success = true;
+            return ScrapeResult.success(source.id(), value, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            System.err.println("Erreur lors du scraping de " + source.id() + " : " + e.getMessage());
+            return ScrapeResult.failure(source.id(), e, System.currentTimeMillis() - start);
+        } finally {
+            ScrapeMetrics.endRefresh(summary, success);
+            permits.release();
+        }
+    }
+
+    private Semaphore permits(String host) {
+        return hostPermits.computeIfAbsent(host, h -> new Semaphore(maxPerHost, true));
+    }
+
+    // Exécute task en notant que ce thread détient un jeton de host pour ce moteur
+    private <V> V holding(String host, Callable<V> task) throws Exception {
+        ScrapeEngine previousEngine = currentEngine.get();
+        String previousHost = currentHost.get();
+        currentEngine.set(this);
+        currentHost.set(host);
+        try {
+            return task.call();
+        } finally {
+            currentEngine.set(previousEngine);
+            currentHost.set(previousHost);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.scraping.engine;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Résultats d'un rafraîchissement complet, dans l'ordre d'enregistrement des sources
+public class ScrapeReport {
+    private final Map<String, ScrapeResult<?>> results = new LinkedHashMap<>();
+    private final long durationMs;
+
+    public ScrapeReport(Collection<ScrapeResult<?>> results, long durationMs) {
+        for (ScrapeResult<?> result : results) {
+            this.results.put(result.getSourceId(), result);
+        }
+        this.durationMs = durationMs;
+    }
+
+    // Résultat de source, null si elle n'a pas été lancée (désactivée)
+    @SuppressWarnings("unchecked")
+    public <T> ScrapeResult<T> get(ScrapeSource<T> source) {
+        return (ScrapeResult<T>) results.get(source.id());
+    }
+
+    public Collection<ScrapeResult<?>> getResults() {
+        return Collections.unmodifiableCollection(results.values());
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Rafraîchissement en " + durationMs + " ms");
+        for (ScrapeResult<?> result : results.values()) {
+            sb.append("\n  ").append(result);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.scraping.engine;
+
+// Résultat d'une source : sa valeur ou son erreur, et la durée du scraping
+public class ScrapeResult<T> {
+    private final String sourceId;
+    private final T value;
+    private final Exception error;
+    private final long durationMs;
+
+    private ScrapeResult(String sourceId, T value, Exception error, long durationMs) {
+        this.sourceId = sourceId;
+        this.value = value;
+        this.error = error;
+        this.durationMs = durationMs;
+    }
+
+    public static <T> ScrapeResult<T> success(String sourceId, T value, long durationMs) {
+        return new ScrapeResult<>(sourceId, value, null, durationMs);
+    }
+
+    public static <T> ScrapeResult<T> failure(String sourceId, Exception error, long durationMs) {
+        return new ScrapeResult<>(sourceId, null, error, durationMs);
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return sourceId + " : " + (isSuccess() ? "ok" : "erreur (" + error.getMessage() + ")") + " en " + durationMs + " ms";
+    }
+}
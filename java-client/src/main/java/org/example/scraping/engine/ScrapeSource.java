@@ -0,0 +1,24 @@
+package org.example.scraping.engine;
+
+import org.example.config.AppConfig;
+
+// Une source de scraping (site d'actualités, cinéma...) : récupère, analyse et enregistre ses données.
+// Elle lève une exception en cas d'échec, le moteur l'isole dans le résultat de cette seule source.
+public interface ScrapeSource<T> {
+    // Identifiant stable, utilisé dans config.properties (scraping.<id>.enabled) et dans les rapports
+    String id();
+
+    // Hôte interrogé, pour limiter le nombre de scrapings simultanés vers un même site
+    String host();
+
+    T scrape() throws Exception;
+
+    default boolean isEnabled() {
+        return Boolean.parseBoolean(AppConfig.getString("scraping." + id() + ".enabled", "true"));
+    }
+
+    // Intervalle de rafraîchissement automatique (scraping.<id>.refreshMinutes), 0 pour le désactiver
+    default int refreshMinutes() {
+        return AppConfig.getInt("scraping." + id() + ".refreshMinutes", 30);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.scraping.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sources connues du moteur, indexées par identifiant ; une nouvelle salle ou un nouveau site s'ajoute ici
+public class SourceRegistry {
+    private final Map<String, ScrapeSource<?>> sources = new LinkedHashMap<>();
+
+    public synchronized SourceRegistry register(ScrapeSource<?> source) {
+        if (sources.putIfAbsent(source.id(), source) != null) {
+            throw new IllegalArgumentException("Source déjà enregistrée : " + source.id());
+        }
+        return this;
+    }
+
+    public synchronized ScrapeSource<?> get(String id) {
+        return sources.get(id);
+    }
+
+    public synchronized List<ScrapeSource<?>> all() {
+        return new ArrayList<>(sources.values());
+    }
+
+    public synchronized List<ScrapeSource<?>> enabled() {
+        List<ScrapeSource<?>> enabled = new ArrayList<>();
+        for (ScrapeSource<?> source : sources.values()) {
+            if (source.isEnabled()) {
+                enabled.add(source);
+            }
+        }
+        return enabled;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.scraping.fixture;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import org.example.config.AppConfig;
+
+import java.nio.file.Path;
+
+// Mode de connexion des WebClient du scraping, choisi par propriété système ou dans config.properties :
+//   -Dscraping.fixtures.mode=record  : réseau réel, chaque réponse est enregistrée dans scraping.fixtures.dir
+//   -Dscraping.fixtures.mode=replay  : aucun accès réseau, réponses lues dans scraping.fixtures.dir
+//   -Dscraping.fixtures.synthetic.articles=5000 -Dscraping.fixtures.synthetic.films=500 (.seances=12) :
+//    en replay, fil d'actualités et pages de salles générés à cette échelle
+// Sans mode (off), le client garde sa connexion HTTP normale.
+public class FixtureMode {
+    public static final String MODE_KEY = "scraping.fixtures.mode";
+    public static final String DIR_KEY = "scraping.fixtures.dir";
+    public static final String SYNTHETIC_ARTICLES_KEY = "scraping.fixtures.synthetic.articles";
+    public static final String SYNTHETIC_FILMS_KEY = "scraping.fixtures.synthetic.films";
+    public static final String SYNTHETIC_SEANCES_KEY = "scraping.fixtures.synthetic.seances";
+
+    public static String mode() {
+        return AppConfig.getString(MODE_KEY, "off").trim().toLowerCase();
+    }
+
+    // Branche la connexion du mode courant sur un client neuf (avant tout autre wrapper)
+    public static void install(WebClient webClient) {
+        String mode = mode();
+        if (mode.equals("off")) {
+            return;
+        }
+        FixtureStore store = new FixtureStore(Path.of(AppConfig.getString(DIR_KEY, "fixtures")));
+        switch (mode) {
+            case "record" -> webClient.setWebConnection(new RecordingWebConnection(webClient.getWebConnection(), store));
+            case "replay" -> {
+                int articles = AppConfig.getInt(SYNTHETIC_ARTICLES_KEY, 0);
+                int films = AppConfig.getInt(SYNTHETIC_FILMS_KEY, 0);
+                SyntheticPages synthetic = articles > 0 || films > 0
+                        ? new SyntheticPages(articles, films, AppConfig.getInt(SYNTHETIC_SEANCES_KEY, 10)) : null;
+                webClient.setWebConnection(new ReplayWebConnection(store, synthetic));
+            }
+            default -> System.err.println("Mode de fixtures inconnu : " + mode);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.scraping.fixture;
+
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.WebResponseData;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+// Réponses HTTP enregistrées sur disque, une par (méthode, URL) : <dossier>/<hôte>/<empreinte>.properties
+// (URL, statut, en-têtes) et <empreinte>.body (contenu déjà décompressé par HtmlUnit).
+// Les fichiers sont lisibles et peuvent être remplacés à la main ou par des pages générées (put).
+public class FixtureStore {
+    // En-têtes de transport qui ne décrivent plus le contenu enregistré
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding", "connection");
+
+    private final Path directory;
+
+    public FixtureStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public boolean contains(WebRequest request) {
+        return Files.exists(metaPath(request.getHttpMethod().name(), request.getUrl()));
+    }
+
+    public synchronized void save(WebRequest request, WebResponse response) throws IOException {
+        List<NameValuePair> headers = new ArrayList<>();
+        for (NameValuePair header : response.getResponseHeaders()) {
+            if (!DROPPED_HEADERS.contains(header.getName().toLowerCase())) {
+                headers.add(header);
+            }
+        }
+        byte[] body;
+        try (InputStream in = response.getContentAsStream()) {
+            body = in.readAllBytes();
+        }
+        write(request.getHttpMethod().name(), request.getUrl(), response.getStatusCode(), response.getStatusMessage(), headers, body);
+    }
+
+    // Page écrite directement dans le magasin (GET), par exemple une page synthétique
+    public synchronized void put(URL url, String contentType, String content) throws IOException {
+        write("GET", url, 200, "OK", List.of(new NameValuePair("Content-Type", contentType)),
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Réponse enregistrée, ou null si la requête n'a jamais été enregistrée
+    public WebResponseData load(WebRequest request) throws IOException {
+        Path meta = metaPath(request.getHttpMethod().name(), request.getUrl());
+        if (!Files.exists(meta)) {
+            return null;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            props.load(in);
+        }
+        List<NameValuePair> headers = new ArrayList<>();
+        for (int i = 0; props.containsKey("header." + i + ".name"); i++) {
+            headers.add(new NameValuePair(props.getProperty("header." + i + ".name"), props.getProperty("header." + i + ".value")));
+        }
+        byte[] body = Files.readAllBytes(bodyPath(meta));
+        return new WebResponseData(body, Integer.parseInt(props.getProperty("status", "200")), props.getProperty("message", "OK"), headers);
+    }
+
+    private void write(String method, URL url, int status, String message, List<NameValuePair> headers, byte[] body) throws IOException {
+        Path meta = metaPath(method, url);
+        Files.createDirectories(meta.getParent());
+        Properties props = new Properties();
+        props.setProperty("method", method);
+        props.setProperty("url", url.toExternalForm());
+        props.setProperty("status", String.valueOf(status));
+        props.setProperty("message", message != null ? message : "");
+        for (int i = 0; i < headers.size(); i++) {
+            props.setProperty("header." + i + ".name", headers.get(i).getName());
+            props.setProperty("header." + i + ".value", headers.get(i).getValue());
+        }
+        Files.write(bodyPath(meta), body);
+        try (OutputStream out = Files.newOutputStream(meta)) {
+            props.store(out, null);
+        }
+    }
+
+    private Path metaPath(String method, URL url) {
+        String host = url.getHost().isEmpty() ? "local" : url.getHost();
+        return directory.resolve(host).resolve(hash(method + " " + url.toExternalForm()) + ".properties");
+    }
+
+    private static Path bodyPath(Path meta) {
+        String name = meta.getFileName().toString();
+        return meta.resolveSibling(name.substring(0, name.length() - ".properties".length()) + ".body");
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 10);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
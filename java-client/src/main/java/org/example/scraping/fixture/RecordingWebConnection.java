@@ -0,0 +1,29 @@
+package org.example.scraping.fixture;
+
+import com.gargoylesoftware.htmlunit.WebConnection;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.util.WebConnectionWrapper;
+
+import java.io.IOException;
+
+// Laisse passer les requêtes vers le réseau et enregistre chaque réponse dans le magasin de fixtures
+public class RecordingWebConnection extends WebConnectionWrapper {
+    private final FixtureStore store;
+
+    public RecordingWebConnection(WebConnection network, FixtureStore store) {
+        super(network);
+        this.store = store;
+    }
+
+    @Override
+    public WebResponse getResponse(WebRequest request) throws IOException {
+        WebResponse response = super.getResponse(request);
+        try {
+            store.save(request, response);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'enregistrement de " + request.getUrl() + " : " + e.getMessage());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.scraping.fixture;
+
+import com.gargoylesoftware.htmlunit.WebConnection;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.WebResponseData;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Rejoue les réponses enregistrées sans aucun accès réseau. Les pages synthétiques (si configurées)
+// passent avant le magasin ; une requête jamais enregistrée reçoit un 404 vide et est comptée.
+public class ReplayWebConnection implements WebConnection {
+    private final FixtureStore store;
+    private final SyntheticPages synthetic;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ReplayWebConnection(FixtureStore store, SyntheticPages synthetic) {
+        this.store = store;
+        this.synthetic = synthetic;
+    }
+
+    @Override
+    public WebResponse getResponse(WebRequest request) throws IOException {
+        long start = System.nanoTime();
+        WebResponseData data = null;
+        if (synthetic != null) {
+            String page = synthetic.pageFor(request.getUrl());
+            if (page != null) {
+                data = new WebResponseData(page.getBytes(StandardCharsets.UTF_8), 200, "OK",
+                        List.of(new NameValuePair("Content-Type", "text/html; charset=UTF-8")));
+            }
+        }
+        if (data == null) {
+            data = store.load(request);
+        }
+        if (data == null) {
+            misses.incrementAndGet();
+            System.err.println("Fixture absente : " + request.getHttpMethod() + " " + request.getUrl());
+            data = new WebResponseData(new byte[0], 404, "Not Found", List.of(new NameValuePair("Content-Type", "text/plain")));
+        } else {
+            hits.incrementAndGet();
+        }
+        return new WebResponse(data, request, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public void close() {
+    }
+}
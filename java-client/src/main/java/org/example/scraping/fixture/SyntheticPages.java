@@ -0,0 +1,90 @@
+package org.example.scraping.fixture;
+
+import java.net.URL;
+
+// Pages générées au gabarit de sortiraparis.com et d'ugc.fr, à n'importe quelle échelle : fil d'actualités
+// de N articles répartis sur la semaine, page de salle de N films à M séances chacun.
+// Seules les parties lues par le Scraper sont reproduites ; 0 désactive la page correspondante.
+public class SyntheticPages {
+    private static final String[] DAYS = {"Lundi", "Mardi", "Mercredi", "Jeudi", "Vendredi", "Samedi", "Dimanche"};
+    private static final String[] VERSIONS = {"VF", "VOSTF"};
+
+    private final int articles;
+    private final int films;
+    private final int seancesPerFilm;
+
+    public SyntheticPages(int articles, int films, int seancesPerFilm) {
+        this.articles = articles;
+        this.films = films;
+        this.seancesPerFilm = seancesPerFilm;
+    }
+
+    // Page générée pour cette URL, ou null si elle n'en fait pas partie
+    public String pageFor(URL url) {
+        String host = url.getHost();
+        if (articles > 0 && host.endsWith("sortiraparis.com") && (url.getPath().isEmpty() || url.getPath().equals("/"))) {
+            return newsPage(articles);
+        }
+        if (films > 0 && host.endsWith("ugc.fr") && url.getPath().equals("/cinema.html")) {
+            String query = url.getQuery();
+            return cinemaPage(query != null ? query.replace("id=", "") : "0", films, seancesPerFilm);
+        }
+        return null;
+    }
+
+    public static String newsPage(int articles) {
+        int perDay = (articles + DAYS.length - 1) / DAYS.length;
+        StringBuilder html = new StringBuilder(articles * 80 + 512);
+        html.append("<!DOCTYPE html><html lang=\"fr\"><head><meta charset=\"UTF-8\"><title>Sortir à Paris</title></head><body>\n");
+        html.append("<div class=\"live\">\n");
+        int written = 0;
+        for (int d = 0; d < DAYS.length && written < articles; d++) {
+            html.append("<div class=\"row \"><span>").append(DAYS[d]).append("</span></div>\n");
+            for (int i = 0; i < perDay && written < articles; i++, written++) {
+                int minutes = (i * 7) % (24 * 60);
+                html.append("<div class=\"row").append(i % 5 == 4 ? " hidden" : " ").append("\"><span class=\"time\">")
+                        .append(minutes / 60).append('h').append(String.format("%02d", minutes % 60))
+                        .append("</span> <a href=\"/actualites/").append(written).append("\">Article synthétique ")
+                        .append(written).append(" : sortie, concert ou exposition à Paris</a></div>\n");
+            }
+        }
+        html.append("</div>\n</body></html>\n");
+        return html.toString();
+    }
+
+    public static String cinemaPage(String cinemaId, int films, int seancesPerFilm) {
+        StringBuilder html = new StringBuilder(films * (900 + seancesPerFilm * 400) + 512);
+        html.append("<!DOCTYPE html><html lang=\"fr\"><head><meta charset=\"UTF-8\"><title>UGC ").append(cinemaId)
+                .append("</title></head><body>\n<div class=\"container component--cinema-list\">\n");
+        for (int f = 0; f < films; f++) {
+            html.append("<div class=\"slider-item component--film-presentation d-flex\" data-film-id=\"").append(f).append("\">\n")
+                    .append("<div class=\"img-wrapper\"><img src=\"https://www.ugc.fr/dispatcher/poster/").append(f).append(".jpg\" alt=\"\"></div>\n")
+                    .append("<div class=\"block--infos\">\n")
+                    .append("<div class=\"block--title\"><a href=\"/film.html?id=").append(f).append("\">Film synthétique ").append(f).append("</a></div>\n")
+                    .append("<p class=\"color--dark-blue\">Drame, Comédie (1h").append(30 + f % 30).append(")</p>\n")
+                    .append("<p>Sortie le <span>").append(1 + f % 28).append(" juin 2024</span></p>\n")
+                    .append("<p>De <span>Réalisatrice ").append(f).append("</span></p>\n")
+                    .append("<p>Avec <span>Acteur ").append(f).append(", Actrice ").append(f).append("</span></p>\n")
+                    .append("<p>Synopsis : <span>Résumé du film synthétique ").append(f).append(". voir plus</span></p>\n")
+                    .append("</div>\n<ul class=\"component--screening-cards d-flex\">\n");
+            for (int s = 0; s < seancesPerFilm; s++) {
+                int start = 9 * 60 + (s * 37) % (15 * 60);
+                int end = start + 90 + f % 30;
+                html.append("<li><button type=\"button\" onclick=\"javascript:location.href='https://www.ugc.fr/reservationSeances.html?id=")
+                        .append(cinemaId).append('-').append(f).append('-').append(s).append("'\">")
+                        .append("<span class=\"screening-lang\">").append(VERSIONS[s % VERSIONS.length]).append("</span>")
+                        .append("<div class=\"screening-start\">").append(time(start)).append("</div>")
+                        .append("<div class=\"screening-end\">").append(time(end)).append("</div>")
+                        .append("<div class=\"screening-detail\">Salle ").append(1 + (f + s) % 12).append("</div>")
+                        .append("</button></li>\n");
+            }
+            html.append("</ul>\n</div>\n");
+        }
+        html.append("</div>\n</body></html>\n");
+        return html.toString();
+    }
+
+    private static String time(int minutes) {
+        return String.format("%02d:%02d", (minutes / 60) % 24, minutes % 60);
+    }
+}
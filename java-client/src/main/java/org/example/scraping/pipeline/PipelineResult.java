@@ -0,0 +1,44 @@
+package org.example.scraping.pipeline;
+
+import java.util.Collections;
+import java.util.List;
+
+// Sorties du dernier étage, erreurs de tous les étages et compteurs d'une exécution
+public class PipelineResult<O> {
+    private final List<O> outputs;
+    private final List<Exception> errors;
+    private final List<StageMetrics> metrics;
+    private final long durationMs;
+
+    PipelineResult(List<O> outputs, List<Exception> errors, List<StageMetrics> metrics, long durationMs) {
+        this.outputs = outputs;
+        this.errors = errors;
+        this.metrics = metrics;
+        this.durationMs = durationMs;
+    }
+
+    public List<O> getOutputs() {
+        return Collections.unmodifiableList(outputs);
+    }
+
+    public List<Exception> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public List<StageMetrics> getMetrics() {
+        return Collections.unmodifiableList(metrics);
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Pipeline en " + durationMs + " ms, " + outputs.size() + " sorties, " + errors.size() + " erreurs");
+        for (StageMetrics stage : metrics) {
+            sb.append("\n  ").append(stage);
+        }
+        return sb.toString();
+    }
+}
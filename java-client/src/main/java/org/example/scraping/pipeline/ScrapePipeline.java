@@ -0,0 +1,244 @@
+package org.example.scraping.pipeline;
+
+import org.example.metrics.ScrapeMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Chaîne d'étages (téléchargement, analyse, normalisation, enregistrement...) reliés par des files bornées.
+// Chaque étage a ses propres threads : l'étage réseau, lent, avance pendant que les suivants analysent et écrivent.
+// Une file pleine bloque l'étage précédent (contre-pression) au lieu d'accumuler des pages en mémoire.
+// Une erreur sur un élément est comptée et l'élément abandonné, les autres continuent. Une interruption (du thread
+// appelant ou d'un étage) annule tout le pipeline, de même qu'une Error, relancée par run() une fois les threads arrêtés.
+// Usage : ScrapePipeline.<String>builder(4).stage("fetch", 2, url -> ...).stage("parse", 1, page -> ...).build().run(urls)
+public class ScrapePipeline<I, O> {
+    // Marque de fin de flux, transmise d'un étage au suivant quand tous ses threads ont terminé
+    private static final Object END = new Object();
+
+    @FunctionalInterface
+    public interface Stage<I, O> {
+        // Renvoyer null abandonne l'élément sans erreur
+        O process(I input) throws Exception;
+    }
+
+    private final List<StageDef<Object, Object>> stages;
+    private final int queueCapacity;
+    private volatile List<StageMetrics> currentMetrics = Collections.emptyList();
+
+    private ScrapePipeline(List<StageDef<Object, Object>> stages, int queueCapacity) {
+        this.stages = stages;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public static <I> Builder<I, I> builder(int queueCapacity) {
+        return new Builder<>(new ArrayList<>(), Math.max(1, queueCapacity));
+    }
+
+    // Compteurs de l'exécution en cours (ou de la dernière), lisibles depuis un autre thread
+    public List<StageMetrics> getMetrics() {
+        return currentMetrics;
+    }
+
+    // Fait passer les entrées dans tous les étages ; rend la main quand le dernier a fini.
+    // InterruptedException si l'exécution a été annulée (appelant ou étage interrompu)
+    public synchronized PipelineResult<O> run(Iterable<? extends I> inputs) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        List<BlockingQueue<Object>> queues = new ArrayList<>();
+        List<StageMetrics> metrics = new ArrayList<>();
+        for (StageDef<Object, Object> stage : stages) {
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            metrics.add(new StageMetrics(stage.name, stage.workers, queue));
+        }
+        currentMetrics = Collections.unmodifiableList(metrics);
+
+        List<Object> outputs = Collections.synchronizedList(new ArrayList<>());
+        List<Exception> errors = Collections.synchronizedList(new ArrayList<>());
+        Execution execution = new Execution(Thread.currentThread());
+        for (int i = 0; i < stages.size(); i++) {
+            StageDef<Object, Object> stage = stages.get(i);
+            BlockingQueue<Object> input = queues.get(i);
+            BlockingQueue<Object> output = i + 1 < stages.size() ? queues.get(i + 1) : null;
+            StageMetrics own = metrics.get(i);
+            StageMetrics next = output != null ? metrics.get(i + 1) : null;
+            AtomicInteger running = new AtomicInteger(stage.workers);
+            for (int w = 1; w <= stage.workers; w++) {
+                // Les threads des étages mesurent leurs phases dans le rafraîchissement qui lance le pipeline
+                Thread thread = new Thread(ScrapeMetrics.inCurrentRefresh(() -> work(stage, input, output, own, next, running, outputs, errors, execution)),
+                        "pipeline-" + stage.name + "-" + w);
+                thread.setDaemon(true);
+                execution.threads.add(thread);
+            }
+        }
+        for (Thread thread : execution.threads) {
+            thread.start();
+        }
+
+        try {
+            BlockingQueue<Object> first = queues.get(0);
+            for (I item : inputs) {
+                first.put(item);
+                metrics.get(0).recordEnqueued();
+            }
+            first.put(END);
+            for (Thread thread : execution.threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            execution.abort(e);
+        }
+        if (execution.failure.get() != null) {
+            // Annulation : les étages ont été interrompus, on attend qu'ils rendent la main avant de signaler l'échec
+            Thread.interrupted();
+            joinUninterruptibly(execution.threads);
+            Throwable failure = execution.failure.get();
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            InterruptedException cancelled = new InterruptedException("Pipeline annulé");
+            cancelled.initCause(failure);
+            throw cancelled;
+        }
+        // Seules les marques de fin restent en file
+        for (BlockingQueue<Object> queue : queues) {
+            queue.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<O> typed = (List<O>) new ArrayList<>(outputs);
+        return new PipelineResult<>(typed, new ArrayList<>(errors), metrics, System.currentTimeMillis() - start);
+    }
+
+    private static void work(StageDef<Object, Object> stage, BlockingQueue<Object> input, BlockingQueue<Object> output,
+                             StageMetrics metrics, StageMetrics next, AtomicInteger running,
+                             List<Object> outputs, List<Exception> errors, Execution execution) {
+        try {
+            while (true) {
+                Object item = input.take();
+                if (item == END) {
+                    // Remise en file pour les autres threads de l'étage ; le dernier prévient l'étage suivant
+                    input.put(END);
+                    break;
+                }
+                long itemStart = System.nanoTime();
+                Object result;
+                try {
+                    result = stage.stage.process(item);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    metrics.recordItem(itemStart, System.nanoTime(), false);
+                    System.err.println("Erreur dans l'étage " + stage.name + " : " + e.getMessage());
+                    errors.add(e);
+                    continue;
+                }
+                metrics.recordItem(itemStart, System.nanoTime(), true);
+                if (result == null) {
+                    continue;
+                }
+                if (output != null) {
+                    output.put(result);
+                    next.recordEnqueued();
+                } else {
+                    outputs.add(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            execution.abort(e);
+        } catch (Error e) {
+            System.err.println("Erreur fatale dans l'étage " + stage.name + " : " + e);
+            execution.abort(e);
+        } finally {
+            // Quelle que soit la sortie du thread, le dernier de l'étage prévient l'étage suivant (sauf annulation,
+            // où tous les threads sont déjà interrompus)
+            if (running.decrementAndGet() == 0 && output != null && execution.failure.get() == null) {
+                try {
+                    output.put(END);
+                } catch (InterruptedException e) {
+                    execution.abort(e);
+                }
+            }
+        }
+    }
+
+    // Une interruption reçue pendant l'attente ne change rien : l'annulation est déjà en cours
+    private static void joinUninterruptibly(List<Thread> threads) {
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    // on attend quand même la fin du thread
+                }
+            }
+        }
+    }
+
+    // État d'une exécution : la première cause d'annulation interrompt les étages et le thread appelant
+    private static final class Execution {
+        final Thread caller;
+        final List<Thread> threads = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Execution(Thread caller) {
+            this.caller = caller;
+        }
+
+        void abort(Throwable cause) {
+            if (!failure.compareAndSet(null, cause)) {
+                return;
+            }
+            for (Thread thread : threads) {
+                if (thread != Thread.currentThread()) {
+                    thread.interrupt();
+                }
+            }
+            if (caller != Thread.currentThread()) {
+                caller.interrupt();
+            }
+        }
+    }
+
+    private static final class StageDef<I, O> {
+        final String name;
+        final int workers;
+        final Stage<I, O> stage;
+
+        StageDef(String name, int workers, Stage<I, O> stage) {
+            this.name = name;
+            this.workers = Math.max(1, workers);
+            this.stage = stage;
+        }
+    }
+
+    // Ajoute les étages dans l'ordre ; T est le type produit par le dernier étage ajouté
+    public static final class Builder<I, T> {
+        private final List<StageDef<Object, Object>> stages;
+        private final int queueCapacity;
+
+        private Builder(List<StageDef<Object, Object>> stages, int queueCapacity) {
+            this.stages = stages;
+            this.queueCapacity = queueCapacity;
+        }
+
+        // Les étages sont gardés sans leurs types : chacun ne reçoit que ce que produit le précédent
+        @SuppressWarnings("unchecked")
+        public <R> Builder<I, R> stage(String name, int workers, Stage<? super T, ? extends R> stage) {
+            stages.add(new StageDef<>(name, workers, (Stage<Object, Object>) stage));
+            return new Builder<>(stages, queueCapacity);
+        }
+
+        public ScrapePipeline<I, T> build() {
+            if (stages.isEmpty()) {
+                throw new IllegalStateException("Pipeline sans étage");
+            }
+            return new ScrapePipeline<>(new ArrayList<>(stages), queueCapacity);
+        }
+    }
+}
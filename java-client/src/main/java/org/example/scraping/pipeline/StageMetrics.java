@@ -0,0 +1,79 @@
+package org.example.scraping.pipeline;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compteurs d'un étage, lisibles pendant l'exécution : éléments traités, erreurs, temps de travail,
+// débit et profondeur de la file d'entrée (actuelle et maximale)
+public class StageMetrics {
+    private final String name;
+    private final int workers;
+    private final BlockingQueue<?> input;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private final AtomicLong firstStart = new AtomicLong();
+    private final AtomicLong lastEnd = new AtomicLong();
+
+    StageMetrics(String name, int workers, BlockingQueue<?> input) {
+        this.name = name;
+        this.workers = workers;
+        this.input = input;
+    }
+
+    void recordEnqueued() {
+        maxQueueDepth.accumulateAndGet(input.size(), Math::max);
+    }
+
+    void recordItem(long startNanos, long endNanos, boolean success) {
+        firstStart.compareAndSet(0, startNanos);
+        lastEnd.accumulateAndGet(endNanos, Math::max);
+        busyNanos.addAndGet(endNanos - startNanos);
+        (success ? processed : failed).incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getBusyMs() {
+        return busyNanos.get() / 1_000_000;
+    }
+
+    public int getQueueDepth() {
+        return input.size();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    // Éléments par seconde entre le début du premier et la fin du dernier
+    public double getThroughput() {
+        long elapsed = lastEnd.get() - firstStart.get();
+        long items = processed.get() + failed.get();
+        if (items == 0 || elapsed <= 0) {
+            return 0;
+        }
+        return items * 1_000_000_000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d threads) : %d traités, %d erreurs, %d ms de travail, %.1f/s, file %d (max %d)",
+                name, workers, getProcessed(), getFailed(), getBusyMs(), getThroughput(), getQueueDepth(), getMaxQueueDepth());
+    }
+}
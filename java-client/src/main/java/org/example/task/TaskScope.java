@@ -0,0 +1,109 @@
+package org.example.task;
+
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+// Travaux lancés par une vue : les callbacks sont appelés sur le thread FX, et seulement si la vue n'a pas
+// annulé entre-temps. Une même clé déjà demandée par la vue n'est pas redemandée (clics répétés).
+// Usage : tasks.run("ugc.films", this::loadFilms, films -> ..., error -> ...)
+public class TaskScope {
+    private final TaskService service;
+    private final Executor fxExecutor;
+    private final Map<String, Pending<?>> pending = new HashMap<>();
+
+    TaskScope(TaskService service, Executor fxExecutor) {
+        this.service = service;
+        this.fxExecutor = fxExecutor;
+    }
+
+    // Annule les travaux en cours quand la vue est masquée (changement de vue, ViewRegistry) ou quitte la scène ;
+    // la portée reste utilisable quand la vue revient
+    public TaskScope bindTo(Node root) {
+        root.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                cancelAll();
+            }
+        });
+        root.visibleProperty().addListener((obs, wasVisible, visible) -> {
+            if (!visible) {
+                cancelAll();
+            }
+        });
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> CompletableFuture<T> run(String key, Callable<T> work, Consumer<? super T> onSuccess,
+                                                   Consumer<Throwable> onError) {
+        Pending<?> existing = pending.get(key);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing.published;
+        }
+        TaskService.InFlight<T> flight = service.subscribe(key, work);
+        Pending<T> request = new Pending<>(flight);
+        pending.put(key, request);
+        flight.result().whenComplete((value, error) -> fxExecutor.execute(() -> {
+            synchronized (this) {
+                if (pending.get(key) != request) {
+                    return; // annulée entre-temps
+                }
+                pending.remove(key);
+            }
+            service.release(flight);
+            if (error == null) {
+                onSuccess.accept(value);
+                request.published.complete(value);
+            } else {
+                onError.accept(error);
+                request.published.completeExceptionally(error);
+            }
+        }));
+        return request.published;
+    }
+
+    // Abandonne le résultat attendu pour key (demande remplacée par une plus récente) ; sans effet si rien n'est en cours
+    public void cancel(String key) {
+        Pending<?> request;
+        synchronized (this) {
+            request = pending.remove(key);
+        }
+        if (request != null) {
+            service.release(request.flight);
+            request.published.cancel(false);
+        }
+    }
+
+    public synchronized boolean isPending(String key) {
+        return pending.containsKey(key);
+    }
+
+    // Abandonne les résultats attendus par la vue ; une exécution partagée continue pour les autres demandeurs
+    public void cancelAll() {
+        List<Pending<?>> cancelled;
+        synchronized (this) {
+            cancelled = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        for (Pending<?> request : cancelled) {
+            service.release(request.flight);
+            request.published.cancel(false);
+        }
+    }
+
+    private static final class Pending<T> {
+        final TaskService.InFlight<T> flight;
+        final CompletableFuture<T> published = new CompletableFuture<>();
+
+        Pending(TaskService.InFlight<T> flight) {
+            this.flight = flight;
+        }
+    }
+}
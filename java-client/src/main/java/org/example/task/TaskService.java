@@ -0,0 +1,113 @@
+package org.example.task;
+
+import javafx.application.Platform;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Travaux de fond des contrôleurs, partagés par toute l'application : deux demandes de même clé pendant qu'une
+// exécution est en cours la rejoignent au lieu d'en lancer une seconde. Chaque vue passe par son TaskScope,
+// qui publie les résultats sur le thread FX et se désabonne quand la vue quitte la scène ; une exécution
+// dont plus personne n'attend le résultat est interrompue.
+public class TaskService {
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static final TaskService instance = new TaskService(Platform::runLater, Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "task-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }));
+
+    private final Executor fxExecutor;
+    private final ExecutorService workers;
+    // Exécutions en cours par clé
+    private final Map<String, InFlight<?>> inFlight = new HashMap<>();
+
+    public TaskService(Executor fxExecutor, ExecutorService workers) {
+        this.fxExecutor = fxExecutor;
+        this.workers = workers;
+    }
+
+    public static TaskService getInstance() {
+        return instance;
+    }
+
+    // Portée d'une vue : à lier à son nœud racine (TaskScope.bindTo)
+    public TaskScope newScope() {
+        return new TaskScope(this, fxExecutor);
+    }
+
+    // Sans portée : le résultat arrive sur le thread de travail et l'exécution n'est jamais annulée par les autres demandeurs
+    public <T> CompletableFuture<T> submit(String key, Callable<T> work) {
+        return subscribe(key, work).result();
+    }
+
+    public synchronized boolean isRunning(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized <T> InFlight<T> subscribe(String key, Callable<T> work) {
+        InFlight<T> flight = (InFlight<T>) inFlight.get(key);
+        if (flight == null) {
+            InFlight<T> started = new InFlight<>(key);
+            flight = started;
+            inFlight.put(key, flight);
+            flight.worker = workers.submit(() -> {
+                T value = null;
+                Throwable error = null;
+                try {
+                    value = work.call();
+                } catch (Throwable e) {
+                    error = e;
+                }
+                // Retirée avant d'être terminée : une demande qui voit le résultat relancera une exécution
+                synchronized (TaskService.this) {
+                    inFlight.remove(key, started);
+                }
+                if (error == null) {
+                    started.result.complete(value);
+                } else {
+                    started.result.completeExceptionally(error);
+                }
+            });
+        }
+        flight.subscribers++;
+        return flight;
+    }
+
+    // Un demandeur renonce au résultat ; le dernier interrompt l'exécution
+    synchronized void release(InFlight<?> flight) {
+        flight.subscribers--;
+        if (flight.subscribers == 0 && !flight.result.isDone()) {
+            inFlight.remove(flight.key, flight);
+            flight.worker.cancel(true);
+            flight.result.cancel(false);
+        }
+    }
+
+    static final class InFlight<T> {
+        final String key;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> worker;
+        int subscribers;
+
+        InFlight(String key) {
+            this.key = key;
+        }
+
+        CompletableFuture<T> result() {
+            return result;
+        }
+    }
+}
@@ -53,8 +53,13 @@ public class ThemeManager {
     }
 
     private static void saveThemeToConfig(String themeName) {
+        // On relit le fichier pour ne pas écraser les autres réglages (AppConfig)
+        Properties props = new Properties();
+        try (InputStream in = new FileInputStream(CONFIG_PATH)) {
+            props.load(in);
+        } catch (IOException ignored) {
+        }
         try (OutputStream out = new FileOutputStream(CONFIG_PATH)) {
-            Properties props = new Properties();
             props.setProperty(THEME_KEY, themeName);
             props.store(out, null);
         } catch (IOException e) {
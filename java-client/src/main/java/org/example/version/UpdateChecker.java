@@ -6,6 +6,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.*;
+import java.time.Duration;
 import java.util.regex.*;
 
 import javafx.scene.control.Alert;
@@ -17,38 +18,50 @@ public class UpdateChecker {
     private static final String VERSION_FILE = "/version.txt";
     private static final String GITHUB_API_URL = "https://api.github.com/repos/NabilBoubekri/the-bench-client-release/releases/latest";
     private static final String DOWNLOAD_DIR = "update";
-
-    public static void checkForUpdate() {
-        try {
-            String localVersion = VersionUtil.getLocalVersion();
-            JSONObject release = fetchLatestRelease();
-
-            String remoteVersion = release.getString("tag_name").trim();
-            if (!remoteVersion.equals(localVersion)) {
-                JSONArray assets = release.getJSONArray("assets");
-                for (int i = 0; i < assets.length(); i++) {
-                    JSONObject asset = assets.getJSONObject(i);
-                    if (asset.getString("name").endsWith(".jar")) {
-                        String downloadUrl = asset.getString("browser_download_url");
-                        UpdateUI.showUpdatePrompt(remoteVersion, () -> {
-                            try {
-                                downloadJarAndReplace(downloadUrl, remoteVersion);
-                                Alert info = new Alert(Alert.AlertType.INFORMATION);
-                                info.setTitle("Téléchargement terminé");
-                                info.setHeaderText(null);
-                                info.setContentText("La nouvelle version a été téléchargée dans le dossier 'update'.");
-                                info.showAndWait();
-                            } catch (Exception e) {
-                                e.printStackTrace();
-                            }
-                        });
-                        return;
-                    }
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    // Dernière version publiée si elle diffère de la version locale et fournit un jar, sinon null
+    public static Update findUpdate() throws IOException, InterruptedException {
+        String localVersion = VersionUtil.getLocalVersion();
+        JSONObject release = fetchLatestRelease();
+
+        String remoteVersion = release.getString("tag_name").trim();
+        if (!remoteVersion.equals(localVersion)) {
+            JSONArray assets = release.getJSONArray("assets");
+            for (int i = 0; i < assets.length(); i++) {
+                JSONObject asset = assets.getJSONObject(i);
+                if (asset.getString("name").endsWith(".jar")) {
+                    return new Update(remoteVersion, asset.getString("browser_download_url"));
                 }
             }
+        }
+        return null;
+    }
+
+    // À appeler sur le thread FX
+    public static void promptUpdate(Update update) {
+        UpdateUI.showUpdatePrompt(update.version, () -> {
+            try {
+                downloadJarAndReplace(update.downloadUrl, update.version);
+                Alert info = new Alert(Alert.AlertType.INFORMATION);
+                info.setTitle("Téléchargement terminé");
+                info.setHeaderText(null);
+                info.setContentText("La nouvelle version a été téléchargée dans le dossier 'update'.");
+                info.showAndWait();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    public static final class Update {
+        public final String version;
+        public final String downloadUrl;
 
-        } catch (Exception e) {
-            System.err.println("Erreur lors de la vérification de mise à jour : " + e.getMessage());
+        public Update(String version, String downloadUrl) {
+            this.version = version;
+            this.downloadUrl = downloadUrl;
         }
     }
 
@@ -60,12 +73,16 @@ public class UpdateChecker {
     }
 
     private static JSONObject fetchLatestRelease() throws IOException, InterruptedException {
+        // Délais bornés : hors ligne, l'étape de démarrage échoue vite au lieu d'attendre le délai système
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(GITHUB_API_URL))
                 .header("Accept", "application/vnd.github.v3+json")
+                .timeout(REQUEST_TIMEOUT)
                 .build();
 
-        HttpResponse<String> response = HttpClient.newHttpClient()
+        HttpResponse<String> response = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build()
                 .send(request, HttpResponse.BodyHandlers.ofString());
 
         return new JSONObject(response.body());
@@ -1,19 +1,53 @@
 import org.example.db.DatabaseManager;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 public class ConnectionDbTest {
     @Test
     public void testGetConnection() throws SQLException {
-        DatabaseManager.getConnection();
-        assertTrue(DatabaseManager.connection.isValid(5));
+        Connection connection = DatabaseManager.getConnection();
+        assertTrue(connection.isValid(5));
+        assertSame(connection, DatabaseManager.getConnection());
     }
 
     @Test
     public void testCloseConnection() throws SQLException {
-        DatabaseManager.getConnection();
+        Connection connection = DatabaseManager.getConnection();
         DatabaseManager.closeConnection();
-        assertTrue(DatabaseManager.connection.isClosed());
+        assertTrue(connection.isClosed());
+        assertFalse(DatabaseManager.getConnection().isClosed());
+    }
+
+    @Test
+    public void testWalMode() throws SQLException {
+        try (Statement stmt = DatabaseManager.getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+            assertTrue(rs.next());
+            assertEquals("wal", rs.getString(1));
+        }
+    }
+
+    @Test
+    public void testConnectionIsConfinedToThread() throws Exception {
+        Connection mine = DatabaseManager.getConnection();
+        AtomicReference<Connection> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                other.set(DatabaseManager.getConnection());
+                DatabaseManager.closeConnection();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(other.get());
+        assertNotSame(mine, other.get());
+        assertFalse(mine.isClosed());
     }
 }
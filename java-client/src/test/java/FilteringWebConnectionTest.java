@@ -0,0 +1,83 @@
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import org.example.scraping.FilteringWebConnection;
+import org.example.scraping.ResourceFilter;
+
+import java.net.URL;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilteringWebConnectionTest {
+    private static final String SITE = "https://www.sortiraparis.com/";
+
+    private WebClient webClient;
+    private MockWebConnection mock;
+    private FilteringWebConnection connection;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        webClient = new WebClient();
+        webClient.getOptions().setJavaScriptEnabled(true);
+        webClient.getOptions().setCssEnabled(false);
+        webClient.getOptions().setThrowExceptionOnScriptError(false);
+        mock = new MockWebConnection();
+        mock.setResponse(new URL(SITE), "<html><head>"
+                + "<script src='https://www.googletagmanager.com/gtm.js'></script>"
+                + "</head><body><div id='live'></div>"
+                + "<script src='https://www.sortiraparis.com/app.js'></script>"
+                + "<script src='https://cdn.example.net/carousel.js'></script>"
+                + "</body></html>");
+        mock.setResponse(new URL(SITE + "app.js"), "document.getElementById('live').className = 'live';", "application/javascript");
+        mock.setResponse(new URL("https://cdn.example.net/carousel.js"), "document.title = 'tiers';", "application/javascript");
+        mock.setResponse(new URL("https://www.googletagmanager.com/gtm.js"), "document.title = 'gtm';", "application/javascript");
+        mock.setResponse(new URL(SITE + "pixel"), "GIF89a", "image/gif");
+        webClient.setWebConnection(mock);
+        connection = new FilteringWebConnection(webClient, ResourceFilter.forSite("sortiraparis.com"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        webClient.close();
+    }
+
+    @Test
+    public void testThirdPartyAndTrackerScriptsAreNotDownloaded() throws Exception {
+        HtmlPage page = webClient.getPage(SITE);
+
+        assertNotNull(page.getFirstByXPath("//div[@class='live']"), "le script de la source doit s'exécuter");
+        assertNotEquals("tiers", page.getTitleText());
+        assertNotEquals("gtm", page.getTitleText());
+        assertEquals(2, mock.getRequestCount()); // la page et app.js
+        assertEquals(4, connection.getRequestCount());
+        assertEquals(2, connection.getBlockedCount());
+        assertTrue(connection.getBytesDownloaded() > 0);
+    }
+
+    @Test
+    public void testImagesAreShortCircuitedWithEmptyResponses() throws Exception {
+        WebResponse byExtension = connection.getResponse(new WebRequest(new URL(SITE + "photos/affiche.jpg")));
+        assertEquals(200, byExtension.getStatusCode());
+        assertEquals(0, byExtension.getContentLength());
+        assertEquals(0, mock.getRequestCount());
+
+        // Sans extension, le type n'est connu qu'à la réception : la réponse est remplacée
+        WebResponse byContentType = connection.getResponse(new WebRequest(new URL(SITE + "pixel")));
+        assertEquals(0, byContentType.getContentLength());
+        assertEquals(1, connection.getBlockedCount());
+        assertEquals(1, connection.getDiscardedCount());
+    }
+
+    @Test
+    public void testAllowedHostOverridesDenyRules() throws Exception {
+        ResourceFilter filter = ResourceFilter.forSite("sortiraparis.com").allowHosts("cdn.example.net");
+        assertFalse(filter.isBlocked(new WebRequest(new URL("https://cdn.example.net/carousel.js"))));
+        assertTrue(filter.isBlocked(new WebRequest(new URL("https://static.other.org/lib.js"))));
+        assertFalse(filter.isBlocked(new WebRequest(new URL("https://api.sortiraparis.com/lib.js"))));
+        assertTrue(new ResourceFilter().denyPaths("^/ads/").isBlocked(new WebRequest(new URL(SITE + "ads/banner"))));
+    }
+}
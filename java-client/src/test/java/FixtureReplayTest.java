@@ -0,0 +1,87 @@
+import com.gargoylesoftware.htmlunit.HttpMethod;
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+import org.example.scraping.DayArticles;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Scraper;
+import org.example.scraping.ShowtimeUpdate;
+import org.example.scraping.WebClientPool;
+import org.example.scraping.fixture.FixtureMode;
+import org.example.scraping.fixture.FixtureStore;
+import org.example.scraping.fixture.RecordingWebConnection;
+import org.example.scraping.fixture.ReplayWebConnection;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixtureReplayTest {
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("fixtures");
+
+    @AfterEach
+    public void tearDown() {
+        // Les clients créés pendant le test rejouent les fixtures : ils ne doivent pas resservir aux tests suivants
+        WebClientPool.getInstance().closeIdle();
+        System.clearProperty(FixtureMode.MODE_KEY);
+        System.clearProperty(FixtureMode.DIR_KEY);
+        System.clearProperty(FixtureMode.SYNTHETIC_ARTICLES_KEY);
+        System.clearProperty(FixtureMode.SYNTHETIC_FILMS_KEY);
+        System.clearProperty(FixtureMode.SYNTHETIC_SEANCES_KEY);
+    }
+
+    @Test
+    public void testRecordedResponsesAreReplayedOffline() throws IOException {
+        URL url = new URL("https://www.sortiraparis.com/");
+        MockWebConnection network = new MockWebConnection();
+        network.setResponse(url, "<html><body><div class=\"live\">fil</div></body></html>", 200, "OK", "text/html",
+                List.of(new NameValuePair("ETag", "\"v1\""), new NameValuePair("Content-Encoding", "gzip")));
+        FixtureStore store = new FixtureStore(database.dir().resolve("store"));
+
+        WebResponse recorded = new RecordingWebConnection(network, store).getResponse(new WebRequest(url));
+        assertEquals(200, recorded.getStatusCode());
+        assertTrue(store.contains(new WebRequest(url)));
+
+        ReplayWebConnection replay = new ReplayWebConnection(store, null);
+        WebResponse replayed = replay.getResponse(new WebRequest(url));
+        assertEquals(recorded.getContentAsString(), replayed.getContentAsString());
+        assertEquals("\"v1\"", replayed.getResponseHeaderValue("ETag"));
+        // Le contenu est enregistré décompressé
+        assertNull(replayed.getResponseHeaderValue("Content-Encoding"));
+
+        // Une autre méthode sur la même URL n'a pas été enregistrée
+        WebResponse missing = replay.getResponse(new WebRequest(url, HttpMethod.HEAD));
+        assertEquals(404, missing.getStatusCode());
+        assertEquals(1, replay.getHitCount());
+        assertEquals(1, replay.getMissCount());
+    }
+
+    @Test
+    public void testSyntheticPagesScrapedEndToEnd() throws Exception {
+        System.setProperty(FixtureMode.MODE_KEY, "replay");
+        System.setProperty(FixtureMode.DIR_KEY, database.dir().resolve("store").toString());
+        System.setProperty(FixtureMode.SYNTHETIC_ARTICLES_KEY, "2000");
+        System.setProperty(FixtureMode.SYNTHETIC_FILMS_KEY, "200");
+        System.setProperty(FixtureMode.SYNTHETIC_SEANCES_KEY, "12");
+
+        List<DayArticles> added = Scraper.NEWS_SOURCE.scrape();
+        assertEquals(2000, added.stream().mapToInt(day -> day.articles.size()).sum());
+        assertEquals(7, added.size());
+        // Même page : rien à analyser ni à enregistrer
+        assertTrue(Scraper.NEWS_SOURCE.scrape().isEmpty());
+
+        ShowtimeUpdate update = Scraper.UGC_SOURCE.scrape();
+        List<FilmPresentation> films = update.films();
+        assertEquals(200, films.size());
+        assertEquals(2400, films.stream().mapToInt(film -> film.seances.size()).sum());
+        assertEquals("Film synthétique 0", films.get(0).titre);
+        assertFalse(Scraper.UGC_SOURCE.scrape().isChanged());
+    }
+}
@@ -0,0 +1,143 @@
+import org.example.dao.ArticlesDAO;
+import org.example.dao.FilmsSearchDAO;
+import org.example.repository.JournalRepository;
+import org.example.scraping.Article;
+import org.example.scraping.ArticleSearch;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+import org.example.scraping.ShowtimeIndex;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FullTextSearchTest {
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("fts");
+
+    @Test
+    public void testArticleSearchIgnoresAccentsAndMatchesPrefixes() {
+        DayArticlesUtils.InsertDayArticles(List.of(
+                new DayArticles(LocalDate.of(2025, 4, 3), new ArrayList<>(List.of(new Article("09h00", "Fête de la musique à l'Opéra")))),
+                new DayArticles(LocalDate.of(2025, 4, 4), new ArrayList<>(List.of(
+                        new Article("14h30", "Nouvel opéra au Châtelet"),
+                        new Article("18h00", "Marché de printemps"))))
+        ));
+        JournalRepository repository = new JournalRepository(10);
+
+        List<DayArticles> result = repository.search("opera").days();
+        assertEquals(2, result.size());
+        assertEquals(LocalDate.of(2025, 4, 4), result.get(0).day);
+
+        assertEquals(List.of("Nouvel opéra au Châtelet"), titles(repository.search("chat nouv").days()));
+        assertEquals(List.of("Nouvel opéra au Châtelet"), titles(repository.search("14h").days()));
+        assertTrue(repository.search("cinéma").days().isEmpty());
+        assertFalse(repository.search("opera").isTruncated());
+    }
+
+    @Test
+    public void testArticlesKeepRelevanceOrderAndReportTruncation() {
+        LocalDate older = LocalDate.of(2025, 4, 1);
+        LocalDate newer = LocalDate.of(2025, 4, 5);
+        DayArticlesUtils.InsertDayArticles(List.of(
+                new DayArticles(older, new ArrayList<>(List.of(new Article("20h00", "Concert")))),
+                new DayArticles(newer, new ArrayList<>(List.of(
+                        new Article("10h00", "Brocante, marché aux puces et concert de fanfare dans le quartier"),
+                        new Article("11h00", "Concert gratuit"))))
+        ));
+        ArticlesDAO dao = new ArticlesDAO();
+
+        // Le jour le plus ancien a l'article le plus pertinent : il reste en tête
+        ArticleSearch all = dao.searchArticles("concert", 10);
+        assertEquals(List.of(older, newer), all.days().stream().map(day -> day.day).toList());
+        assertEquals(List.of("Concert", "Concert gratuit", "Brocante, marché aux puces et concert de fanfare dans le quartier"),
+                titles(all.days()));
+        assertFalse(all.isTruncated());
+
+        ArticleSearch firstTwo = dao.searchArticles("concert", 2);
+        assertEquals(List.of("Concert", "Concert gratuit"), titles(firstTwo.days()));
+        assertTrue(firstTwo.isTruncated());
+        assertEquals(2, firstTwo.limit());
+    }
+
+    @Test
+    public void testFilmSearch() {
+        FilmPresentation film = new FilmPresentation();
+        film.titre = "Le Comte de Monte-Cristo";
+        film.genres = "Aventure";
+        film.realisateur = "Matthieu Delaporte";
+        film.acteurs = "Pierre Niney";
+        film.synopsis = "Victime d'un complot";
+        Seance seance = new Seance();
+        seance.salle = "Salle 12";
+        seance.version = "VF";
+        film.seances.add(seance);
+        FilmPresentation other = new FilmPresentation();
+        other.titre = "Élémentaire";
+        other.genres = "Animation";
+
+        FilmsSearchDAO dao = new FilmsSearchDAO();
+        dao.indexFilms(List.of(film, other));
+
+        assertEquals(List.of("Le Comte de Monte-Cristo"), dao.searchFilms("niney", 10));
+        assertEquals(List.of("Élémentaire"), dao.searchFilms("element", 10));
+        assertEquals(List.of("Le Comte de Monte-Cristo"), dao.searchFilms("salle 12", 10));
+    }
+
+    @Test
+    public void testFilmsWithTheSameTitleStayDistinct() {
+        FilmPresentation original = new FilmPresentation();
+        original.titre = "Dune";
+        original.lien = "/film.html?id=1";
+        original.realisateur = "David Lynch";
+        FilmPresentation remake = new FilmPresentation();
+        remake.titre = "Dune";
+        remake.lien = "/film.html?id=2";
+        remake.realisateur = "Denis Villeneuve";
+
+        FilmsSearchDAO dao = new FilmsSearchDAO();
+        dao.indexFilms(List.of(original, remake));
+
+        assertEquals(List.of("/film.html?id=2"), dao.searchFilms("villeneuve", 10));
+        assertEquals(2, dao.searchFilms("dune", 10).size());
+        assertEquals("/film.html?id=1", FilmsSearchDAO.key(original));
+    }
+
+    @Test
+    public void testFilmSearchResolvesToTheMergedShowtimeEntries() {
+        ShowtimeIndex index = new ShowtimeIndex();
+        FilmPresentation lynch = TestFilms.film("Les Halles", "Dune", "11:00");
+        lynch.lien = "/film.html?id=1";
+        lynch.realisateur = "David Lynch";
+        FilmPresentation villeneuve = TestFilms.film("Les Halles", "Dune", "14:00");
+        villeneuve.lien = "/film.html?id=2";
+        villeneuve.realisateur = "Denis Villeneuve";
+        FilmPresentation villeneuveMontparnasse = TestFilms.film("Montparnasse", "Dune", "20:00");
+        villeneuveMontparnasse.lien = "/film.html?id=2";
+        villeneuveMontparnasse.realisateur = "Denis Villeneuve";
+        index.add(List.of(lynch, villeneuve));
+        index.add(List.of(villeneuveMontparnasse));
+
+        FilmsSearchDAO dao = new FilmsSearchDAO();
+        List<FilmPresentation> films = index.films();
+        dao.indexFilms(films);
+
+        List<FilmPresentation> found = dao.filterFilms(films, "villeneuve");
+        assertEquals(1, found.size());
+        assertSame(films.get(1), found.get(0));
+        assertEquals(2, found.get(0).seances.size());
+        assertEquals(2, dao.filterFilms(films, "dune").size());
+        assertSame(films, dao.filterFilms(films, " "));
+    }
+
+    private static List<String> titles(List<DayArticles> days) {
+        return days.stream().flatMap(d -> d.articles.stream()).map(a -> a.title).toList();
+    }
+}
@@ -0,0 +1,124 @@
+import com.gargoylesoftware.htmlunit.HttpMethod;
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.Page;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
+import org.example.dao.ScrapeStateDAO;
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+import org.example.scraping.IncrementalScrape;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+import org.example.scraping.ScrapeState;
+import org.example.scraping.ShowtimeIndex;
+
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalScrapeTest {
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("incremental");
+
+    @Test
+    public void testStateIsSavedAndHashDetectsChanges() throws Exception {
+        ScrapeStateDAO dao = new ScrapeStateDAO();
+        ScrapeState state = dao.get("sortiraparis:https://www.sortiraparis.com/");
+        assertNull(state.contentHash);
+        assertFalse(state.hasValidators());
+
+        assertTrue(IncrementalScrape.updateHash(state, List.of("Lundi", "12h30 Concert")));
+        state.etag = "\"abc\"";
+        dao.save(state);
+
+        ScrapeState reloaded = dao.get(state.key);
+        assertEquals("\"abc\"", reloaded.etag);
+        assertEquals(state.contentHash, reloaded.contentHash);
+        assertFalse(IncrementalScrape.updateHash(reloaded, List.of("Lundi", "12h30 Concert")));
+        // Le séparateur évite que des découpages différents donnent la même empreinte
+        assertTrue(IncrementalScrape.updateHash(reloaded, List.of("Lundi12h30", " Concert")));
+    }
+
+    @Test
+    public void testConditionalGetSendsValidators() throws Exception {
+        URL url = new URL("https://www.sortiraparis.com/");
+        MockWebConnection connection = new MockWebConnection();
+        try (WebClient webClient = new WebClient()) {
+            webClient.setWebConnection(connection);
+            ScrapeState state = new ScrapeState("sortiraparis:" + url);
+
+            // Sans validateurs, GET ordinaire
+            connection.setResponse(url, "<html></html>", 200, "OK", "text/html", List.of(new NameValuePair("ETag", "\"v1\"")));
+            Page first = webClient.getPage(IncrementalScrape.request(url.toString(), state));
+            assertFalse(IncrementalScrape.notModified(first.getWebResponse()));
+            assertEquals(HttpMethod.GET, connection.getLastMethod());
+            assertFalse(connection.getLastAdditionalHeaders().containsKey("If-None-Match"));
+            IncrementalScrape.captureValidators(state, first.getWebResponse());
+            assertEquals("\"v1\"", state.etag);
+
+            // Page inchangée : une seule requête, le GET conditionnel, qui reçoit 304
+            state.lastModified = "Mon, 03 Jun 2024 10:00:00 GMT";
+            connection.setResponse(url, "", 304, "Not Modified", "text/html", List.of(new NameValuePair("ETag", "\"v1\"")));
+            int requestsBefore = connection.getRequestCount();
+            Page unchanged = webClient.getPage(IncrementalScrape.request(url.toString(), state));
+            assertTrue(IncrementalScrape.notModified(unchanged.getWebResponse()));
+            assertEquals(requestsBefore + 1, connection.getRequestCount());
+            assertEquals(HttpMethod.GET, connection.getLastMethod());
+            assertEquals("\"v1\"", connection.getLastAdditionalHeaders().get("If-None-Match"));
+            assertEquals(state.lastModified, connection.getLastAdditionalHeaders().get("If-Modified-Since"));
+
+            // Page modifiée : la même requête renvoie directement le nouveau contenu
+            connection.setResponse(url, "<html><body>v2</body></html>", 200, "OK", "text/html", List.of(new NameValuePair("ETag", "\"v2\"")));
+            Page changed = webClient.getPage(IncrementalScrape.request(url.toString(), state));
+            assertFalse(IncrementalScrape.notModified(changed.getWebResponse()));
+            assertEquals("v2", ((HtmlPage) changed).getBody().asNormalizedText());
+
+            // Sans scraping précédent utilisable, pas de validateurs envoyés
+            webClient.getPage(IncrementalScrape.request(url.toString(), null));
+            assertFalse(connection.getLastAdditionalHeaders().containsKey("If-None-Match"));
+        }
+    }
+
+    @Test
+    public void testOnlyNewArticlesAreReturned() throws Exception {
+        LocalDate day = LocalDate.of(2024, 6, 3);
+        List<DayArticles> first = DayArticlesUtils.insertNewArticles(List.of(
+                new DayArticles(day, new ArrayList<>(List.of(new Article("10h00", "Concert"), new Article("11h00", "Expo"))))));
+        assertEquals(2, first.get(0).articles.size());
+
+        List<DayArticles> second = DayArticlesUtils.insertNewArticles(List.of(
+                new DayArticles(day, new ArrayList<>(List.of(new Article("10h00", "Concert"), new Article("18h00", "Marché de nuit")))),
+                new DayArticles(day.minusDays(1), new ArrayList<>(List.of(new Article("09h00", "Brocante"))))));
+        assertEquals(2, second.size());
+        assertEquals(List.of("Marché de nuit"), second.get(0).articles.stream().map((Article a) -> a.title).toList());
+        assertEquals(day.minusDays(1), second.get(1).day);
+
+        assertTrue(DayArticlesUtils.insertNewArticles(List.of(
+                new DayArticles(day, new ArrayList<>(List.of(new Article("10h00", "Concert")))))).isEmpty());
+    }
+
+    @Test
+    public void testNewSeancesDelta() {
+        ShowtimeIndex before = new ShowtimeIndex();
+        before.add(List.of(TestFilms.film("Les Halles", "Longlegs", "11:10", "16:20")));
+        ShowtimeIndex after = new ShowtimeIndex();
+        after.add(List.of(TestFilms.film("Les Halles", "Longlegs", "11:10", "16:20", "21:00"),
+                TestFilms.film("Les Halles", "Horizon", "14:00")));
+
+        List<FilmPresentation> added = after.newSeancesSince(before);
+        assertEquals(2, added.size());
+        assertEquals("Longlegs", added.get(0).titre);
+        assertEquals(List.of("21:00"), added.get(0).seances.stream().map((Seance s) -> s.heureDebut).toList());
+        assertEquals(1, added.get(1).seances.size());
+        assertTrue(after.newSeancesSince(after).isEmpty());
+    }
+
+}
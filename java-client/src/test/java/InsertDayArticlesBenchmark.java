@@ -0,0 +1,71 @@
+import org.example.dao.ArticlesDAO;
+import org.example.dao.DayArticlesDAO;
+import org.example.db.DatabaseManager;
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Benchmark hors suite de tests (aucune assertion) : insertion de 10 000 articles ligne par ligne en autocommit,
+// comme avant, puis par insertNewArticles (une transaction, INSERT groupés), chacune dans une base neuve.
+// Usage : scripts/benchmark.sh InsertDayArticlesBenchmark [jours] [articles par jour]
+public class InsertDayArticlesBenchmark {
+    public static void main(String[] args) throws Exception {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int articlesPerDay = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        List<DayArticles> dayArticles = generate(days, articlesPerDay);
+
+        Path dir = Files.createTempDirectory("thebench-bench");
+        try {
+            DatabaseManager.setDatabasePath(dir.resolve("row-by-row.db").toString());
+            long start = System.nanoTime();
+            insertRowByRow(dayArticles);
+            long rowByRowMs = (System.nanoTime() - start) / 1_000_000;
+
+            DatabaseManager.setDatabasePath(dir.resolve("batched.db").toString());
+            start = System.nanoTime();
+            DayArticlesUtils.insertNewArticles(dayArticles);
+            long batchedMs = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.println("Insertion de " + days * articlesPerDay + " articles : ligne par ligne = "
+                    + rowByRowMs + " ms, transaction + batch = " + batchedMs + " ms");
+        } finally {
+            DatabaseManager.closeAllConnections();
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    // Ancien chemin : un INSERT autocommité (donc un fsync) par jour et par article
+    private static void insertRowByRow(List<DayArticles> dayArticles) throws Exception {
+        DayArticlesDAO dayArticlesDAO = new DayArticlesDAO();
+        ArticlesDAO articlesDAO = new ArticlesDAO();
+        for (DayArticles dayArticle : dayArticles) {
+            int idDayArticles = dayArticlesDAO.insertDayArticles(dayArticle);
+            for (Article article : dayArticle.articles) {
+                articlesDAO.insertArticle(article, idDayArticles);
+            }
+        }
+    }
+
+    private static List<DayArticles> generate(int days, int articlesPerDay) {
+        List<DayArticles> dayArticles = new ArrayList<>();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int d = 0; d < days; d++) {
+            List<Article> articles = new ArrayList<>();
+            for (int a = 0; a < articlesPerDay; a++) {
+                articles.add(new Article(String.format("%dh%02d", a % 24, a % 60), "Article " + d + "-" + a));
+            }
+            dayArticles.add(new DayArticles(start.plusDays(d), articles));
+        }
+        return dayArticles;
+    }
+}
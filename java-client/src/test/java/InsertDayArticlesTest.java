@@ -0,0 +1,112 @@
+import org.example.dao.ArticlesDAO;
+import org.example.dao.DayArticlesDAO;
+import org.example.db.DatabaseManager;
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InsertDayArticlesTest {
+    private static final int DAYS = 100;
+    private static final int ARTICLES_PER_DAY = 100;
+
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("insert");
+
+    @Test
+    public void testAllArticlesAreInserted() throws SQLException {
+        DayArticlesUtils.InsertDayArticles(generate(DAYS, ARTICLES_PER_DAY));
+
+        assertEquals(DAYS, count("day_articles"));
+        assertEquals(DAYS * ARTICLES_PER_DAY, count("articles"));
+    }
+
+    @Test
+    public void testScrapeIsInsertedInOneTransaction() throws SQLException {
+        List<DayArticles> dayArticles = generate(DAYS, ARTICLES_PER_DAY);
+        // Dernier jour invalide : l'échec annule aussi les jours et articles déjà insérés
+        dayArticles.add(new DayArticles(null, new ArrayList<>(List.of(new Article("10h00", "Sans jour")))));
+
+        assertThrows(NullPointerException.class, () -> DayArticlesUtils.insertNewArticles(dayArticles));
+
+        assertTrue(DatabaseManager.getConnection().getAutoCommit());
+        assertEquals(0, count("day_articles"));
+        assertEquals(0, count("articles"));
+    }
+
+    @Test
+    public void testExistingDayKeepsRealId() throws SQLException {
+        LocalDate day = LocalDate.of(2025, 4, 4);
+        DayArticlesUtils.InsertDayArticles(List.of(new DayArticles(day, new ArrayList<>(List.of(new Article("10h00", "Premier"))))));
+        DayArticlesUtils.InsertDayArticles(List.of(new DayArticles(day, new ArrayList<>(List.of(new Article("11h00", "Second"))))));
+
+        Connection conn = DatabaseManager.getConnection();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM articles a JOIN day_articles d ON d.id = a.day_id")) {
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testSameTitleAtAnotherTimeIsKept() throws SQLException {
+        LocalDate day = LocalDate.of(2025, 4, 4);
+        DayArticlesUtils.InsertDayArticles(List.of(new DayArticles(day, new ArrayList<>(List.of(
+                new Article("10h00", "Concert"), new Article("18h00", "Concert"))))));
+        List<DayArticles> delta = DayArticlesUtils.insertNewArticles(List.of(new DayArticles(day, new ArrayList<>(List.of(
+                new Article("10h00", "Concert"), new Article("21h00", "Concert"))))));
+
+        assertEquals(3, count("articles"));
+        assertEquals(1, delta.size());
+        assertEquals("21h00", delta.get(0).articles.get(0).time);
+    }
+
+    @Test
+    public void testOldUniqueKeyIsMigrated() throws SQLException {
+        LocalDate day = LocalDate.of(2025, 4, 4);
+        int dayId = new DayArticlesDAO().upsertDayArticles(new DayArticles(day, new ArrayList<>()));
+        try (Statement stmt = DatabaseManager.getConnection().createStatement()) {
+            stmt.execute("CREATE TABLE articles ( id INTEGER PRIMARY KEY AUTOINCREMENT, day_id INTEGER NOT NULL, time TEXT NOT NULL, "
+                    + "title TEXT NOT NULL, FOREIGN KEY(day_id) REFERENCES day_articles(id), UNIQUE(day_id, title) );");
+            stmt.execute("INSERT INTO articles (day_id, time, title) VALUES (" + dayId + ", '10h00', 'Concert')");
+        }
+
+        ArticlesDAO dao = new ArticlesDAO();
+        DayArticlesUtils.InsertDayArticles(List.of(new DayArticles(day, new ArrayList<>(List.of(new Article("18h00", "Concert"))))));
+
+        assertEquals(2, count("articles"));
+        assertEquals(2, dao.searchArticles("concert", 10).days().get(0).articles.size());
+    }
+
+    private static List<DayArticles> generate(int days, int articlesPerDay) {
+        List<DayArticles> dayArticles = new ArrayList<>();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int d = 0; d < days; d++) {
+            List<Article> articles = new ArrayList<>();
+            for (int a = 0; a < articlesPerDay; a++) {
+                articles.add(new Article(String.format("%dh%02d", a % 24, a % 60), "Article " + d + "-" + a));
+            }
+            dayArticles.add(new DayArticles(start.plusDays(d), articles));
+        }
+        return dayArticles;
+    }
+
+    private static int count(String table) throws SQLException {
+        Connection conn = DatabaseManager.getConnection();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+import org.example.repository.JournalRepository;
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalRepositoryTest {
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("repo");
+
+    @Test
+    public void testKeysetPagesInBothDirections() {
+        for (int i = 1; i <= 10; i++) {
+            DayArticlesUtils.InsertDayArticles(List.of(day(LocalDate.of(2025, 4, i), "Article " + i)));
+        }
+        JournalRepository repository = new JournalRepository(4);
+
+        List<DayArticles> first = repository.firstPage(true, null, null, 3);
+        assertEquals(List.of(10, 9, 8), daysOfMonth(first));
+        List<DayArticles> second = repository.page(true, null, null, first.get(2).day, 3);
+        assertEquals(List.of(7, 6, 5), daysOfMonth(second));
+        assertEquals(List.of(4, 3, 2), daysOfMonth(repository.page(true, null, null, LocalDate.of(2025, 4, 5), 3)));
+
+        List<DayArticles> oldest = repository.firstPage(false, null, null, 3);
+        assertEquals(List.of(1, 2, 3), daysOfMonth(oldest));
+        assertEquals(List.of(4, 5, 6), daysOfMonth(repository.page(false, null, null, LocalDate.of(2025, 4, 3), 3)));
+        assertEquals(List.of(10), daysOfMonth(repository.page(false, null, null, LocalDate.of(2025, 4, 9), 3)));
+    }
+
+    @Test
+    public void testDateRange() {
+        for (int i = 1; i <= 10; i++) {
+            DayArticlesUtils.InsertDayArticles(List.of(day(LocalDate.of(2025, 4, i), "Article " + i)));
+        }
+        JournalRepository repository = new JournalRepository(100);
+
+        LocalDate from = LocalDate.of(2025, 4, 3);
+        LocalDate to = LocalDate.of(2025, 4, 6);
+        assertEquals(List.of(6, 5, 4, 3), daysOfMonth(repository.firstPage(true, from, to, 10)));
+        assertEquals(List.of(3, 4), daysOfMonth(repository.firstPage(false, from, to, 2)));
+        assertEquals(List.of(5, 6), daysOfMonth(repository.page(false, from, to, LocalDate.of(2025, 4, 4), 5)));
+    }
+
+    @Test
+    public void testInsertMergesWithoutReload() {
+        JournalRepository repository = new JournalRepository(10);
+        assertTrue(repository.firstPage(true, null, null, 5).isEmpty());
+
+        LocalDate day = LocalDate.of(2025, 4, 4);
+        repository.onInserted(List.of(day(day, "Concert")));
+        repository.onInserted(List.of(day(day, "Concert"), day(day, "Exposition")));
+
+        List<DayArticles> page = repository.firstPage(true, null, null, 5);
+        assertEquals(1, page.size());
+        assertEquals(List.of("Concert", "Exposition"), page.get(0).articles.stream().map(a -> a.title).toList());
+    }
+
+    @Test
+    public void testWindowIsBoundedByArticleCount() {
+        for (int i = 1; i <= 10; i++) {
+            DayArticles day = day(LocalDate.of(2025, 4, i), "Article " + i);
+            day.articles.add(new Article("18h00", "Soirée " + i));
+            DayArticlesUtils.InsertDayArticles(List.of(day));
+        }
+        JournalRepository repository = new JournalRepository(100, 5);
+
+        // Deux articles par jour : la fenêtre garde les deux jours les plus récents, le reste est lu en base
+        assertEquals(List.of(10, 9, 8, 7), daysOfMonth(repository.firstPage(true, null, null, 4)));
+        assertEquals(List.of(6, 5, 4), daysOfMonth(repository.page(true, null, null, LocalDate.of(2025, 4, 7), 3)));
+        assertEquals(List.of(1, 2), daysOfMonth(repository.firstPage(false, null, null, 2)));
+
+        repository.onInserted(List.of(day(LocalDate.of(2025, 4, 11), "Nouveau")));
+        assertEquals(List.of(11, 10, 9), daysOfMonth(repository.firstPage(true, null, null, 3)));
+    }
+
+    @Test
+    public void testSwitchingDatabaseInvalidatesTheWindow() throws Exception {
+        DayArticlesUtils.InsertDayArticles(List.of(day(LocalDate.of(2025, 4, 1), "Ancienne base")));
+        JournalRepository repository = JournalRepository.getInstance();
+        assertEquals(List.of(1), daysOfMonth(repository.firstPage(true, null, null, 5)));
+
+        database.use("autre");
+        assertTrue(repository.firstPage(true, null, null, 5).isEmpty());
+        database.use("repo");
+        assertEquals(List.of(1), daysOfMonth(repository.firstPage(true, null, null, 5)));
+    }
+
+    private static List<Integer> daysOfMonth(List<DayArticles> days) {
+        return days.stream().map(d -> d.day.getDayOfMonth()).toList();
+    }
+
+    private static DayArticles day(LocalDate date, String title) {
+        return new DayArticles(date, new ArrayList<>(List.of(new Article("10h00", title))));
+    }
+}
@@ -0,0 +1,36 @@
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadDayArticlesTest {
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("load");
+
+    @Test
+    public void testJoinGroupsArticlesByDay() {
+        LocalDate monday = LocalDate.of(2025, 3, 31);
+        LocalDate tuesday = LocalDate.of(2025, 4, 1);
+        DayArticlesUtils.InsertDayArticles(List.of(
+                new DayArticles(tuesday, new ArrayList<>(List.of(new Article("09h00", "Mardi 1"), new Article("10h00", "Mardi 2")))),
+                new DayArticles(monday, new ArrayList<>(List.of(new Article("08h00", "Lundi 1")))),
+                new DayArticles(LocalDate.of(2025, 4, 2), new ArrayList<>())
+        ));
+
+        List<DayArticles> days = DayArticlesUtils.getAllDayArticles();
+
+        assertEquals(3, days.size());
+        assertEquals(monday, days.get(0).day);
+        assertEquals(List.of("Lundi 1"), days.get(0).articles.stream().map(a -> a.title).toList());
+        assertEquals(List.of("Mardi 1", "Mardi 2"), days.get(1).articles.stream().map(a -> a.title).toList());
+        assertTrue(days.get(2).articles.isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.PageReadiness;
+import org.example.scraping.UgcFilmParser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageReadinessTest {
+    @TempDir
+    Path tempDir;
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setUp() {
+        webClient = new WebClient();
+        webClient.getOptions().setJavaScriptEnabled(true);
+        webClient.getOptions().setCssEnabled(false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        webClient.close();
+    }
+
+    // Les timers JavaScript ne tournent que pour une page chargée depuis une URL
+    private HtmlPage load(String html) throws Exception {
+        Path file = Files.createTempFile(tempDir, "page", ".html");
+        Files.writeString(file, html);
+        return webClient.getPage(file.toUri().toURL());
+    }
+
+    @Test
+    public void testReturnsAsSoonAsTheElementIsRendered() throws Exception {
+        // Contenu ajouté après 300 ms, pendant qu'un timer continue de tourner (publicité, statistiques...)
+        HtmlPage page = load("<html><body><script>"
+                + "setTimeout(function() { var d = document.createElement('div'); d.className = 'live';"
+                + " document.body.appendChild(d); }, 300);"
+                + "setInterval(function() {}, 50);"
+                + "</script></body></html>");
+
+        long start = System.currentTimeMillis();
+        boolean ready = PageReadiness.elementPresent("//div[@class='live']")
+                .or(PageReadiness.noPendingJobs())
+                .await(webClient, page, 5000);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(ready);
+        assertNotNull(page.getFirstByXPath("//div[@class='live']"));
+        assertTrue(elapsed < 2000, "attente de " + elapsed + " ms");
+    }
+
+    @Test
+    public void testReturnsWhenNoJobIsPending() throws Exception {
+        HtmlPage page = load("<html><body><p>statique</p></body></html>");
+
+        long start = System.currentTimeMillis();
+        assertTrue(PageReadiness.elementPresent("//div[@class='live']").or(PageReadiness.noPendingJobs())
+                .await(webClient, page, 5000));
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    @Test
+    public void testGivesUpAtTheUpperBound() throws Exception {
+        HtmlPage page = load("<html><body><script>"
+                + "setInterval(function() {}, 50);"
+                + "</script></body></html>");
+
+        long start = System.currentTimeMillis();
+        boolean ready = PageReadiness.elementPresent("//div[@class='live']").await(webClient, page, 500);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertFalse(ready);
+        assertTrue(elapsed >= 500 && elapsed < 2000, "attente de " + elapsed + " ms");
+    }
+
+    @Test
+    public void testFilmsAreStreamedBeforeThePageIsReady() throws Exception {
+        // Un bloc de film (et sa liste de séances) toutes les 150 ms, puis le marqueur de fin de rendu
+        HtmlPage page = load("<html><body><script>"
+                + "var n = 0;"
+                + "function add() {"
+                + "  n++;"
+                + "  if (n > 3) { var done = document.createElement('div'); done.id = 'done';"
+                + "    document.body.appendChild(done); return; }"
+                + "  var film = document.createElement('div'); film.className = 'component--film-presentation';"
+                + "  film.innerHTML = '<div class=\\'block--title\\'><a href=\\'/film' + n + '\\'>Film ' + n + '</a></div>';"
+                + "  document.body.appendChild(film);"
+                + "  var list = document.createElement('ul'); list.className = 'component--screening-cards';"
+                + "  list.innerHTML = '<li><div class=\\'screening-start\\'>1' + n + ':00</div></li>';"
+                + "  document.body.appendChild(list);"
+                + "  setTimeout(add, 150);"
+                + "}"
+                + "setTimeout(add, 150);"
+                + "</script></body></html>");
+
+        PageReadiness done = PageReadiness.elementPresent("//div[@id='done']");
+        List<FilmPresentation> films = new ArrayList<>();
+        List<Boolean> readyAtEmit = new ArrayList<>();
+        UgcFilmParser.FilmStream stream = UgcFilmParser.stream("Châtelet", film -> {
+            films.add(film);
+            readyAtEmit.add(done.isReady(page));
+        });
+
+        assertTrue(done.await(webClient, page, 5000, () -> stream.poll(page)));
+        stream.finish(page);
+
+        assertEquals(List.of("Film 1", "Film 2", "Film 3"), films.stream().map(film -> film.titre).toList());
+        assertFalse(readyAtEmit.get(0), "premier film transmis seulement une fois la page prête");
+        for (int i = 0; i < films.size(); i++) {
+            assertEquals(1, films.get(i).seances.size());
+            assertEquals("1" + (i + 1) + ":00", films.get(i).seances.get(0).heureDebut);
+            assertEquals("Châtelet", films.get(i).seances.get(0).cinema);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import org.example.scraping.engine.RefreshScheduler;
+import org.example.scraping.engine.ScrapeEngine;
+import org.example.scraping.engine.ScrapeResult;
+import org.example.scraping.engine.ScrapeSource;
+import org.example.scraping.engine.SourceRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RefreshSchedulerTest {
+    private ScrapeEngine engine;
+    private RefreshScheduler scheduler;
+
+    @AfterEach
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    public void testDelayBacksOffExponentiallyWithJitter() {
+        long minute = 60_000;
+        assertEquals(15 * minute, RefreshScheduler.nextDelay(15 * minute, 0, 30_000, 60 * minute, 0.1, 0.5));
+        assertEquals(Math.round(15 * minute * 0.9), RefreshScheduler.nextDelay(15 * minute, 0, 30_000, 60 * minute, 0.1, 0.0));
+        // 30 s, 60 s, 120 s... plafonné par l'intervalle normal
+        assertEquals(30_000, RefreshScheduler.nextDelay(15 * minute, 1, 30_000, 60 * minute, 0, 0.5));
+        assertEquals(60_000, RefreshScheduler.nextDelay(15 * minute, 2, 30_000, 60 * minute, 0, 0.5));
+        assertEquals(240_000, RefreshScheduler.nextDelay(15 * minute, 4, 30_000, 60 * minute, 0, 0.5));
+        assertEquals(15 * minute, RefreshScheduler.nextDelay(15 * minute, 10, 30_000, 60 * minute, 0, 0.5));
+        assertEquals(5 * minute, RefreshScheduler.nextDelay(60 * minute, 40, 30_000, 5 * minute, 0, 0.5));
+    }
+
+    @Test
+    public void testSourcesAreRefreshedPeriodicallyAndPublished() throws Exception {
+        CountingSource source = new CountingSource("news", 0, false);
+        engine = new ScrapeEngine(new SourceRegistry().register(source), 2);
+        ManualTimer timer = new ManualTimer();
+        scheduler = new RefreshScheduler(engine, s -> 100, 0, 50, 1000, timer);
+        BlockingQueue<ScrapeResult<Integer>> published = new LinkedBlockingQueue<>();
+        scheduler.subscribe(source, Runnable::run, published::add);
+
+        scheduler.start(0);
+        List<Long> delays = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            delays.add(timer.runNext());
+            ScrapeResult<Integer> result = published.poll(5, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertTrue(result.isSuccess());
+            assertEquals(i, result.getValue());
+        }
+
+        // Premier passage après le délai initial, puis à l'intervalle de la source
+        assertEquals(List.of(0L, 100L, 100L), delays);
+        assertEquals(3, source.calls.get());
+        assertEquals(0, scheduler.getFailures("news"));
+        assertTrue(scheduler.getNextRunAt("news") > 0);
+        assertEquals(100, timer.nextDelay());
+    }
+
+    @Test
+    public void testFailuresBackOffAndResetOnSuccess() throws Exception {
+        CountingSource source = new CountingSource("ugc", 0, true);
+        engine = new ScrapeEngine(new SourceRegistry().register(source), 2);
+        ManualTimer timer = new ManualTimer();
+        // Intervalle normal de 10 s : après un échec, le nouvel essai vient bien plus tôt (50, 100, 200 ms...)
+        scheduler = new RefreshScheduler(engine, s -> 10_000, 0, 50, 1000, timer);
+        BlockingQueue<ScrapeResult<Integer>> published = new LinkedBlockingQueue<>();
+        scheduler.subscribe(source, Runnable::run, published::add);
+
+        scheduler.start(0);
+        List<Long> delays = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            delays.add(timer.runNext());
+            ScrapeResult<Integer> result = published.poll(5, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertFalse(result.isSuccess());
+            // Aucun passage n'est lancé tant que le test ne le déclenche pas : compteurs stables
+            assertEquals(i, scheduler.getFailures("ugc"));
+            assertEquals(i, source.calls.get());
+        }
+        assertEquals(List.of(0L, 50L, 100L), delays);
+        assertEquals(200, timer.nextDelay());
+
+        source.failing = false;
+        assertTrue(scheduler.refreshNow(source).join().isSuccess());
+        assertEquals(0, scheduler.getFailures("ugc"));
+        assertTrue(scheduler.getNextRunAt("ugc") > System.currentTimeMillis() + 5_000);
+        assertEquals(10_000, timer.nextDelay());
+    }
+
+    @Test
+    public void testManualRefreshJoinsRunningOne() throws Exception {
+        CountingSource source = new CountingSource("slow", 300, false);
+        engine = new ScrapeEngine(new SourceRegistry().register(source), 2);
+        scheduler = new RefreshScheduler(engine, s -> 0, 0, 50, 1000);
+        AtomicInteger published = new AtomicInteger();
+        Consumer<ScrapeResult<Integer>> listener = result -> published.incrementAndGet();
+        scheduler.subscribe(source, Runnable::run, listener);
+
+        CompletableFuture<ScrapeResult<Integer>> first = scheduler.refreshNow(source);
+        CompletableFuture<ScrapeResult<Integer>> second = scheduler.refreshNow(source);
+        assertSame(first, second);
+        scheduler.refreshAllNow().join();
+
+        assertEquals(1, source.calls.get());
+        assertEquals(1, published.get());
+        assertEquals(0, scheduler.getNextRunAt("slow"));
+
+        scheduler.unsubscribe(listener);
+        scheduler.refreshNow(source).join();
+        assertEquals(2, source.calls.get());
+        assertEquals(1, published.get());
+    }
+
+    // Minuteur piloté par le test : chaque tâche planifiée est notée avec son délai et ne s'exécute que sur runNext()
+    private static class ManualTimer extends ScheduledThreadPoolExecutor {
+        private final BlockingQueue<Planned> planned = new LinkedBlockingQueue<>();
+
+        ManualTimer() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            // Futur réel jamais échu : l'annulation par le scheduler reste visible
+            ScheduledFuture<?> future = super.schedule(() -> { }, 1, TimeUnit.DAYS);
+            planned.add(new Planned(command, unit.toMillis(delay), future));
+            return future;
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            ScheduledFuture<V> future = super.schedule(() -> null, 1, TimeUnit.DAYS);
+            planned.add(new Planned(() -> {
+                try {
+                    callable.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, unit.toMillis(delay), future));
+            return future;
+        }
+
+        // Exécute la prochaine tâche encore planifiée et renvoie son délai
+        long runNext() throws InterruptedException {
+            Planned next = nextPlanned();
+            planned.remove(next);
+            next.command.run();
+            return next.delayMs;
+        }
+
+        // Délai de la prochaine tâche encore planifiée, sans l'exécuter
+        long nextDelay() throws InterruptedException {
+            return nextPlanned().delayMs;
+        }
+
+        private Planned nextPlanned() throws InterruptedException {
+            while (true) {
+                Planned next = planned.peek();
+                if (next == null) {
+                    next = planned.poll(5, TimeUnit.SECONDS);
+                    assertNotNull(next, "aucun passage planifié");
+                    planned.add(next);
+                    continue;
+                }
+                if (!next.future.isCancelled()) {
+                    return next;
+                }
+                planned.remove(next);
+            }
+        }
+
+        private record Planned(Runnable command, long delayMs, ScheduledFuture<?> future) {
+        }
+    }
+
+    private static class CountingSource implements ScrapeSource<Integer> {
+        private final String id;
+        private final long sleepMs;
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean failing;
+
+        CountingSource(String id, long sleepMs, boolean failing) {
+            this.id = id;
+            this.sleepMs = sleepMs;
+            this.failing = failing;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String host() {
+            return id + ".example";
+        }
+
+        @Override
+        public Integer scrape() throws Exception {
+            int call = calls.incrementAndGet();
+            Thread.sleep(sleepMs);
+            if (failing) {
+                throw new IllegalStateException("site indisponible");
+            }
+            return call;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+import org.example.scraping.engine.ScrapeEngine;
+import org.example.scraping.engine.ScrapeReport;
+import org.example.scraping.engine.ScrapeResult;
+import org.example.scraping.engine.ScrapeSource;
+import org.example.scraping.engine.SourceRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScrapeEngineTest {
+    private ScrapeEngine engine;
+
+    @AfterEach
+    public void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    public void testSourcesRunConcurrently() {
+        // Chaque source attend que les trois soient en cours : la barrière ne s'ouvre que si elles tournent en même temps
+        CyclicBarrier allRunning = new CyclicBarrier(3);
+        SourceRegistry registry = new SourceRegistry()
+                .register(new BarrierSource("a", allRunning))
+                .register(new BarrierSource("b", allRunning))
+                .register(new BarrierSource("c", allRunning));
+        engine = new ScrapeEngine(registry, 2);
+
+        ScrapeReport report = engine.runAll();
+
+        assertEquals(3, report.getResults().size());
+        for (ScrapeResult<?> result : report.getResults()) {
+            assertTrue(result.isSuccess(), () -> "source bloquée : " + result.getError());
+        }
+    }
+
+    @Test
+    public void testEachSourceGetsItsOwnError() {
+        SleepingSource ok = new SleepingSource("ok", "ok.example", 10, null);
+        SleepingSource broken = new SleepingSource("broken", "broken.example", 10, "page introuvable");
+        engine = new ScrapeEngine(new SourceRegistry().register(ok).register(broken), 2);
+
+        ScrapeReport report = engine.runAll();
+
+        ScrapeResult<String> okResult = report.get(ok);
+        assertTrue(okResult.isSuccess());
+        assertEquals("ok", okResult.getValue());
+        ScrapeResult<String> brokenResult = report.get(broken);
+        assertFalse(brokenResult.isSuccess());
+        assertEquals("page introuvable", brokenResult.getError().getMessage());
+    }
+
+    @Test
+    public void testConcurrencyIsLimitedPerHost() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        SourceRegistry registry = new SourceRegistry();
+        for (int i = 0; i < 5; i++) {
+            registry.register(new CountingSource("s" + i, running, maxRunning));
+        }
+        engine = new ScrapeEngine(registry, 2);
+
+        engine.runAll();
+
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void testSubtasksShareTheHostLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        SubtaskSource source = new SubtaskSource(5, running, maxRunning);
+        engine = new ScrapeEngine(new SourceRegistry().register(source), 2);
+
+        ScrapeResult<List<Integer>> result = engine.run(source);
+
+        assertTrue(result.isSuccess());
+        assertEquals(List.of(0, 1, 2, 3, 4), result.getValue());
+        // La source prête son jeton à ses sous-tâches : deux au plus en même temps, sans compter la source
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void testSubtasksDoNotWaitForTheLastPermitHeldByTheirSource() {
+        SubtaskSource source = new SubtaskSource(3, new AtomicInteger(), new AtomicInteger());
+        engine = new ScrapeEngine(new SourceRegistry().register(source), 1);
+
+        ScrapeResult<List<Integer>> result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> engine.run(source));
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getValue().size());
+    }
+
+    @Test
+    public void testDisabledSourcesAreSkipped() {
+        SleepingSource disabled = new SleepingSource("off", "off.example", 10, null) {
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+        };
+        engine = new ScrapeEngine(new SourceRegistry().register(disabled), 2);
+
+        assertNull(engine.runAll().get(disabled));
+    }
+
+    private static class SleepingSource implements ScrapeSource<String> {
+        private final String id;
+        private final String host;
+        private final long sleepMs;
+        private final String error;
+
+        SleepingSource(String id, String host, long sleepMs, String error) {
+            this.id = id;
+            this.host = host;
+            this.sleepMs = sleepMs;
+            this.error = error;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String host() {
+            return host;
+        }
+
+        @Override
+        public String scrape() throws Exception {
+            Thread.sleep(sleepMs);
+            if (error != null) {
+                throw new IllegalStateException(error);
+            }
+            return id;
+        }
+    }
+
+    // Source qui attend à la barrière les autres sources, sur un hôte qui lui est propre
+    private static class BarrierSource implements ScrapeSource<String> {
+        private final String id;
+        private final CyclicBarrier barrier;
+
+        BarrierSource(String id, CyclicBarrier barrier) {
+            this.id = id;
+            this.barrier = barrier;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String host() {
+            return id + ".example";
+        }
+
+        @Override
+        public String scrape() throws Exception {
+            barrier.await(5, TimeUnit.SECONDS);
+            return id;
+        }
+    }
+
+    // Source qui découpe son scraping en sous-tâches vers son propre hôte (comme une page par salle)
+    private static class SubtaskSource implements ScrapeSource<List<Integer>> {
+        private final int subtasks;
+        private final AtomicInteger running;
+        private final AtomicInteger maxRunning;
+
+        SubtaskSource(int subtasks, AtomicInteger running, AtomicInteger maxRunning) {
+            this.subtasks = subtasks;
+            this.running = running;
+            this.maxRunning = maxRunning;
+        }
+
+        @Override
+        public String id() {
+            return "subtasks";
+        }
+
+        @Override
+        public String host() {
+            return "same.example";
+        }
+
+        @Override
+        public List<Integer> scrape() throws Exception {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < subtasks; i++) {
+                int index = i;
+                tasks.add(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(50);
+                    running.decrementAndGet();
+                    return index;
+                });
+            }
+            List<Integer> values = new ArrayList<>();
+            for (Future<Integer> future : ScrapeEngine.current().invokeAll(host(), tasks)) {
+                values.add(future.get());
+            }
+            return values;
+        }
+    }
+
+    // Sources d'un même hôte qui relèvent le nombre maximal de scrapings simultanés
+    private static class CountingSource implements ScrapeSource<Integer> {
+        private final String id;
+        private final AtomicInteger running;
+        private final AtomicInteger maxRunning;
+
+        CountingSource(String id, AtomicInteger running, AtomicInteger maxRunning) {
+            this.id = id;
+            this.running = running;
+            this.maxRunning = maxRunning;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String host() {
+            return "same.example";
+        }
+
+        @Override
+        public Integer scrape() throws Exception {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            Thread.sleep(150);
+            running.decrementAndGet();
+            return now;
+        }
+    }
+}
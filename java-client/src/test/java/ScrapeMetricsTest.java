@@ -0,0 +1,128 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.metrics.Phase;
+import org.example.metrics.RefreshSummary;
+import org.example.metrics.ScrapeMetrics;
+import org.example.scraping.engine.ScrapeEngine;
+import org.example.scraping.engine.ScrapeSource;
+import org.example.scraping.engine.SourceRegistry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScrapeMetricsTest {
+
+    @Test
+    public void testPhasesFromWorkerThreadsAreAttributedToTheRefresh() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        RefreshSummary summary = ScrapeMetrics.beginRefresh("test-workers");
+        try {
+            for (int i = 0; i < 3; i++) {
+                workers.submit(ScrapeMetrics.inCurrentRefresh(() -> {
+                    try (Phase phase = ScrapeMetrics.phase("fetch")) {
+                        Thread.sleep(20);
+                        phase.items(10).bytes(2048).ok();
+                    }
+                    return null;
+                })).get();
+            }
+            try (Phase phase = ScrapeMetrics.phase("parse")) {
+                phase.items(30);
+                // quittée sans ok() : comptée en échec
+            }
+        } finally {
+            ScrapeMetrics.endRefresh(summary, true);
+            workers.shutdown();
+        }
+
+        Map<String, RefreshSummary.PhaseStats> phases = summary.getPhases();
+        assertEquals(List.of("fetch", "parse"), List.copyOf(phases.keySet()));
+        RefreshSummary.PhaseStats fetch = phases.get("fetch");
+        assertEquals(3, fetch.count);
+        assertEquals(30, fetch.items);
+        assertEquals(3 * 2048, fetch.bytes);
+        assertTrue(fetch.getTotalMs() >= 60);
+        assertEquals(1, phases.get("parse").failures);
+        assertSame(summary, ScrapeMetrics.history().get(0));
+        assertTrue(ScrapeMetrics.report().contains("test-workers : OK"));
+
+        // Hors rafraîchissement, rien n'est ajouté à l'historique
+        int size = ScrapeMetrics.history().size();
+        try (Phase phase = ScrapeMetrics.phase("db.days.page")) {
+            phase.ok();
+        }
+        assertEquals(size, ScrapeMetrics.history().size());
+    }
+
+    @Test
+    public void testEngineRecordsOneSummaryPerRefresh() {
+        ScrapeSource<String> source = new ScrapeSource<>() {
+            @Override
+            public String id() {
+                return "test-engine";
+            }
+
+            @Override
+            public String host() {
+                return "engine.example";
+            }
+
+            @Override
+            public String scrape() {
+                try (Phase phase = ScrapeMetrics.phase("extract")) {
+                    phase.items(5).ok();
+                }
+                throw new IllegalStateException("page vide");
+            }
+        };
+        ScrapeEngine engine = new ScrapeEngine(new SourceRegistry().register(source), 1);
+        try {
+            assertFalse(engine.run(source).isSuccess());
+        } finally {
+            engine.shutdown();
+        }
+
+        RefreshSummary summary = ScrapeMetrics.history().stream()
+                .filter(s -> s.getSourceId().equals("test-engine")).findFirst().orElseThrow();
+        assertFalse(summary.isSuccess());
+        assertEquals(5, summary.getPhases().get("extract").items);
+    }
+
+    @Test
+    public void testPhasesAreRecordedAsJfrEvents() throws Exception {
+        Path file = Files.createTempFile("thebench", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.example.ScrapePhase").withoutThreshold();
+            recording.enable("org.example.Refresh").withoutThreshold();
+            recording.start();
+            RefreshSummary summary = ScrapeMetrics.beginRefresh("test-jfr");
+            try (Phase phase = ScrapeMetrics.phase("fetch")) {
+                phase.items(3).bytes(4096).detail("https://www.ugc.fr/cinema.html?id=10").ok();
+            }
+            ScrapeMetrics.endRefresh(summary, true);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+        RecordedEvent phase = events.stream().filter(e -> e.getEventType().getName().equals("org.example.ScrapePhase"))
+                .findFirst().orElseThrow();
+        assertEquals("test-jfr", phase.getString("source"));
+        assertEquals("fetch", phase.getString("phase"));
+        assertEquals(3, phase.getLong("items"));
+        assertEquals(4096, phase.getLong("bytes"));
+        assertTrue(phase.getBoolean("success"));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.example.Refresh")
+                && "test-jfr".equals(e.getString("source"))));
+    }
+}
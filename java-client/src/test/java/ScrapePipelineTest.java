@@ -0,0 +1,169 @@
+import org.example.scraping.Article;
+import org.example.scraping.DayArticles;
+import org.example.scraping.DayArticlesUtils;
+import org.example.scraping.pipeline.PipelineResult;
+import org.example.scraping.pipeline.ScrapePipeline;
+import org.example.scraping.pipeline.StageMetrics;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScrapePipelineTest {
+
+    @Test
+    public void testStagesOverlap() throws Exception {
+        // Le téléchargement des pages suivantes attend que la première soit analysée : sans recouvrement
+        // des étages, l'analyse ne commencerait qu'après le dernier téléchargement et l'attente échouerait
+        CountDownLatch firstParsed = new CountDownLatch(1);
+        AtomicInteger fetchedWhileParsing = new AtomicInteger();
+        ScrapePipeline<Integer, String> pipeline = ScrapePipeline.<Integer>builder(2)
+                .stage("fetch", 2, (Integer i) -> {
+                    if (i > 0 && firstParsed.await(5, TimeUnit.SECONDS)) {
+                        fetchedWhileParsing.incrementAndGet();
+                    }
+                    return "page" + i;
+                })
+                .stage("parse", 1, (String page) -> {
+                    firstParsed.countDown();
+                    return page.toUpperCase();
+                })
+                .build();
+
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            inputs.add(i);
+        }
+        PipelineResult<String> result = pipeline.run(inputs);
+
+        assertEquals(8, result.getOutputs().size());
+        assertTrue(result.getOutputs().contains("PAGE7"));
+        assertEquals(7, fetchedWhileParsing.get());
+        StageMetrics fetch = result.getMetrics().get(0);
+        assertEquals("fetch", fetch.getName());
+        assertEquals(8, fetch.getProcessed());
+        assertTrue(fetch.getThroughput() > 0);
+        assertEquals(0, fetch.getQueueDepth());
+    }
+
+    @Test
+    public void testBoundedQueueAppliesBackpressure() throws Exception {
+        AtomicInteger produced = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        ScrapePipeline<Integer, Integer> pipeline = ScrapePipeline.<Integer>builder(1)
+                .stage("fetch", 1, (Integer i) -> {
+                    produced.incrementAndGet();
+                    return i;
+                })
+                .stage("persist", 1, (Integer i) -> {
+                    Thread.sleep(20);
+                    maxAhead.accumulateAndGet(produced.get() - consumed.incrementAndGet(), Math::max);
+                    return i;
+                })
+                .build();
+
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            inputs.add(i);
+        }
+        PipelineResult<Integer> result = pipeline.run(inputs);
+
+        assertEquals(20, result.getOutputs().size());
+        // L'étage rapide ne peut avoir qu'un élément en file et un en main d'avance sur le lent
+        assertTrue(maxAhead.get() <= 2, "avance : " + maxAhead.get());
+        assertTrue(result.getMetrics().get(1).getMaxQueueDepth() <= 1);
+    }
+
+    @Test
+    public void testFailedItemsAreCountedAndSkipped() throws Exception {
+        ScrapePipeline<Integer, Integer> pipeline = ScrapePipeline.<Integer>builder(4)
+                .stage("parse", 2, (Integer i) -> {
+                    if (i % 3 == 0) {
+                        throw new IllegalStateException("page " + i + " illisible");
+                    }
+                    return i;
+                })
+                .stage("normalize", 1, (Integer i) -> i % 2 == 0 ? null : i)
+                .build();
+
+        PipelineResult<Integer> result = pipeline.run(List.of(1, 2, 3, 4, 5, 6, 7));
+
+        assertEquals(List.of(1, 5, 7), result.getOutputs().stream().sorted().toList());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(2, result.getMetrics().get(0).getFailed());
+        assertEquals(5, result.getMetrics().get(0).getProcessed());
+        assertEquals(5, result.getMetrics().get(1).getProcessed());
+    }
+
+    @Test
+    public void testInterruptedStageCancelsThePipeline() {
+        ScrapePipeline<Integer, Integer> pipeline = ScrapePipeline.<Integer>builder(1)
+                .stage("fetch", 2, (Integer i) -> {
+                    if (i == 3) {
+                        throw new InterruptedException("arrêt");
+                    }
+                    return i;
+                })
+                .stage("persist", 1, (Integer i) -> {
+                    // Bloque jusqu'à l'annulation : seule l'interruption libère l'étage
+                    new CountDownLatch(1).await();
+                    return i;
+                })
+                .build();
+
+        InterruptedException cancelled = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(InterruptedException.class, () -> pipeline.run(List.of(1, 2, 3, 4, 5, 6))));
+        assertEquals("arrêt", cancelled.getCause().getMessage());
+    }
+
+    @Test
+    public void testErrorInAStageIsRethrownOnceThreadsStop() {
+        ScrapePipeline<Integer, Integer> pipeline = ScrapePipeline.<Integer>builder(1)
+                .stage("parse", 1, (Integer i) -> {
+                    if (i == 2) {
+                        throw new OutOfMemoryError("page trop grande");
+                    }
+                    return i;
+                })
+                .stage("persist", 2, (Integer i) -> i)
+                .build();
+
+        OutOfMemoryError error = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(OutOfMemoryError.class, () -> pipeline.run(List.of(1, 2, 3, 4))));
+        assertEquals("page trop grande", error.getMessage());
+    }
+
+    @Test
+    public void testParseAndNormalizeNewsRows() {
+        LocalDate monday = LocalDate.of(2024, 6, 3);
+        List<String> rows = List.of(
+                "Lundi",
+                "12h30 Concert  gratuit au parc ",
+                "12h30 Concert gratuit au parc",
+                "13h00 Concert gratuit au parc",
+                "ligne sans heure",
+                "Dimanche",
+                "Lundi",
+                "18h00 Marché de nuit"
+        );
+
+        List<DayArticles> parsed = DayArticlesUtils.parseNewsRows(rows, monday);
+        assertEquals(3, parsed.size());
+
+        List<DayArticles> normalized = DayArticlesUtils.normalize(parsed);
+        assertEquals(1, normalized.size());
+        assertEquals(monday, normalized.get(0).day);
+        List<String> titles = normalized.get(0).articles.stream().map((Article a) -> a.title).toList();
+        // Un doublon (même heure, même titre) est retiré, le même titre à une autre heure reste
+        assertEquals(List.of("Concert gratuit au parc", "Concert gratuit au parc", "Marché de nuit"), titles);
+    }
+}
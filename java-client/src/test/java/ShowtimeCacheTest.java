@@ -0,0 +1,80 @@
+import org.example.dao.FilmsDAO;
+import org.example.scraping.CachedShowtimes;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.UgcCinema;
+import org.example.scraping.UgcSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShowtimeCacheTest {
+    @RegisterExtension
+    final TempDatabase database = new TempDatabase("showtimes");
+
+    @Test
+    public void testFilmsAndSeancesRoundTripInPageOrder() throws Exception {
+        FilmsDAO dao = new FilmsDAO();
+        LocalDate today = LocalDate.now();
+        assertNull(dao.getFilms("10", today));
+
+        dao.replaceFilms("10", today, List.of(TestFilms.film("UGC 10", "Dune", "14:00", "20:30"),
+                TestFilms.film("UGC 10", "Alien", "18:15")), 1000);
+
+        List<FilmPresentation> films = dao.getFilms("10", today);
+        assertEquals(2, films.size());
+        assertEquals("Dune", films.get(0).titre);
+        assertEquals("Synopsis de Dune", films.get(0).synopsis);
+        assertEquals(2, films.get(0).seances.size());
+        assertEquals("20:30", films.get(0).seances.get(1).heureDebut);
+        assertEquals("UGC 10", films.get(0).seances.get(1).cinema);
+        assertEquals("Alien", films.get(1).titre);
+        assertEquals(1000L, dao.getFetchedAt("10", today));
+        assertNull(dao.getFilms("12", today));
+    }
+
+    @Test
+    public void testReplaceOverwritesTheDayAndPurgesOlderDays() throws Exception {
+        FilmsDAO dao = new FilmsDAO();
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        dao.replaceFilms("10", yesterday, List.of(TestFilms.film("UGC 10", "Hier", "10:00")), 1000);
+        dao.replaceFilms("10", today, List.of(TestFilms.film("UGC 10", "Dune", "14:00")), 2000);
+        dao.replaceFilms("10", today, List.of(TestFilms.film("UGC 10", "Alien", "18:15", "21:00")), 3000);
+
+        assertNull(dao.getFilms("10", yesterday));
+        List<FilmPresentation> films = dao.getFilms("10", today);
+        assertEquals(1, films.size());
+        assertEquals("Alien", films.get(0).titre);
+        assertEquals(2, films.get(0).seances.size());
+
+        assertTrue(dao.touch("10", today, 4000));
+        assertEquals(4000L, dao.getFetchedAt("10", today));
+        assertFalse(dao.touch("10", today.plusDays(1), 5000));
+    }
+
+    @Test
+    public void testCachedShowtimesAreServedAndExpire() throws Exception {
+        UgcCinema cinema = UgcCinema.fromConfig().get(0);
+        UgcSource source = new UgcSource();
+        assertTrue(source.loadCached().isEmpty());
+        assertTrue(source.loadCached().isStale());
+
+        new FilmsDAO().replaceFilms(cinema.id, LocalDate.now(), List.of(TestFilms.film(cinema.name, "Dune", "14:00")),
+                System.currentTimeMillis());
+        CachedShowtimes fresh = new UgcSource().loadCached();
+        assertEquals(1, fresh.films().size());
+        assertEquals(cinema.name, fresh.films().get(0).seances.get(0).cinema);
+        assertFalse(fresh.isStale());
+
+        new FilmsDAO().touch(cinema.id, LocalDate.now(), System.currentTimeMillis() - 24 * 3600_000L);
+        CachedShowtimes stale = new UgcSource().loadCached();
+        assertEquals(1, stale.films().size());
+        assertTrue(stale.isStale());
+    }
+
+}
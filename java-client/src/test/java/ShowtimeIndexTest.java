@@ -0,0 +1,96 @@
+import org.example.scraping.HostRateLimiter;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+import org.example.scraping.Model.Cinema.UgcCinema;
+import org.example.scraping.ShowtimeIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShowtimeIndexTest {
+    @Test
+    public void testFilmsAreMergedAcrossCinemas() {
+        ShowtimeIndex index = new ShowtimeIndex();
+        FilmPresentation hallesLonglegs = film("Les Halles", "Longlegs", "/film.html?id=1", "11:10", "16:20");
+        index.add(List.of(hallesLonglegs, film("Les Halles", "Vice-versa 2", "/film.html?id=2", "10:45")));
+        index.add(List.of(film("Montparnasse", "Longlegs", "/film.html?id=1", "20:00"),
+                film("Montparnasse", "Horizon", "/film.html?id=3", "14:00")));
+
+        List<FilmPresentation> films = index.films();
+        assertEquals(3, films.size());
+        assertEquals("Longlegs", films.get(0).titre);
+        assertEquals(3, films.get(0).seances.size());
+        assertEquals("Montparnasse", films.get(0).seances.get(2).cinema);
+
+        Map<String, List<Seance>> byCinema = index.seancesByCinema(films.get(0));
+        assertEquals(List.of("Les Halles", "Montparnasse"), new ArrayList<>(byCinema.keySet()));
+        assertEquals(2, byCinema.get("Les Halles").size());
+        assertEquals("20:00", byCinema.get("Montparnasse").get(0).heureDebut);
+
+        // Les fiches ajoutées ne sont pas modifiées par la fusion
+        assertEquals(2, hallesLonglegs.seances.size());
+        assertEquals("Les Halles", hallesLonglegs.seances.get(0).cinema);
+    }
+
+    @Test
+    public void testFilmsWithTheSameTitleKeepTheirOwnSeances() {
+        ShowtimeIndex index = new ShowtimeIndex();
+        index.add(List.of(film("Les Halles", "Nosferatu", "/film.html?id=1922", "11:00")));
+        index.add(List.of(film("Montparnasse", "Nosferatu", "/film.html?id=2024", "20:00")));
+
+        List<FilmPresentation> films = index.films();
+        assertEquals(2, films.size());
+        assertEquals("/film.html?id=1922", films.get(0).lien);
+        assertEquals(List.of("Les Halles"), new ArrayList<>(index.seancesByCinema(films.get(0)).keySet()));
+        assertEquals("20:00", films.get(1).seances.get(0).heureDebut);
+        assertEquals(List.of("Montparnasse"), new ArrayList<>(index.seancesByCinema(films.get(1)).keySet()));
+    }
+
+    @Test
+    public void testCinemaConfigParsing() {
+        List<UgcCinema> cinemas = UgcCinema.parse("10=Les Halles, 12 ,abc, 35=");
+        assertEquals(3, cinemas.size());
+        assertEquals("Les Halles", cinemas.get(0).name);
+        assertEquals("https://www.ugc.fr/cinema.html?id=12", cinemas.get(1).url());
+        assertEquals("UGC 35", cinemas.get(2).name);
+    }
+
+    @Test
+    public void testRateLimiterSpacesRequestsToTheSameHost() throws Exception {
+        HostRateLimiter limiter = new HostRateLimiter(100);
+        List<Long> times = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    limiter.acquire("www.ugc.fr");
+                    times.add(System.currentTimeMillis());
+                } catch (InterruptedException ignored) {
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        long start = System.currentTimeMillis();
+        limiter.acquire("www.sortiraparis.com"); // autre hôte : pas d'attente
+        assertTrue(System.currentTimeMillis() - start < 50);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        List<Long> sorted = new ArrayList<>(times);
+        sorted.sort(null);
+        assertTrue(sorted.get(3) - sorted.get(0) >= 290, "écart total " + (sorted.get(3) - sorted.get(0)) + " ms");
+    }
+
+    private static FilmPresentation film(String cinema, String titre, String lien, String... heures) {
+        FilmPresentation film = TestFilms.film(cinema, titre, heures);
+        film.lien = lien;
+        return film;
+    }
+}
@@ -0,0 +1,92 @@
+import org.example.StartupOrchestrator;
+import org.example.metrics.StartupMetrics;
+import org.example.task.TaskScope;
+import org.example.task.TaskService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupOrchestratorTest {
+    private TaskService service;
+
+    @BeforeEach
+    public void setUp() {
+        service = new TaskService(Runnable::run, Executors.newCachedThreadPool());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void testStepsRunInParallelAndFailuresStayIsolated() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator(service);
+        // Chaque étape attend les deux autres : le test n'aboutit que si les trois tournent en même temps
+        CyclicBarrier together = new CyclicBarrier(3);
+        CompletableFuture<String> schema = startup.step("test.schema", () -> meet(together, "schema"));
+        CompletableFuture<String> update = startup.step("test.update", () -> {
+            meet(together, "update");
+            throw new IllegalStateException("hors ligne");
+        });
+        CompletableFuture<String> plugins = startup.step("test.plugins", () -> meet(together, "plugins"));
+
+        assertEquals("schema", schema.get(10, TimeUnit.SECONDS));
+        assertEquals("plugins", plugins.get(10, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> update.get(10, TimeUnit.SECONDS));
+        assertEquals("hors ligne", error.getCause().getMessage());
+
+        String report = StartupMetrics.report();
+        assertTrue(report.contains("test.schema : "), report);
+        assertTrue(report.contains("test.update : ") && report.contains("(échec)"), report);
+    }
+
+    @Test
+    public void testViewJoinsTheRunningWarmUp() throws Exception {
+        StartupOrchestrator startup = new StartupOrchestrator(service);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> warmUp = startup.step("test.warmUp", () -> {
+            runs.incrementAndGet();
+            release.await();
+            return 30;
+        });
+
+        TaskScope view = service.newScope();
+        CompletableFuture<Integer> shown = view.run("test.warmUp", () -> {
+            runs.incrementAndGet();
+            return -1;
+        }, page -> { }, e -> fail(e));
+        release.countDown();
+
+        assertEquals(30, warmUp.get(5, TimeUnit.SECONDS));
+        assertEquals(30, shown.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testMilestonesAreKeptOnce() {
+        StartupMetrics.markFirstFrame();
+        long firstFrame = StartupMetrics.getTimeToFirstFrameMs();
+        StartupMetrics.markInteractive();
+        StartupMetrics.markFirstFrame();
+
+        assertTrue(firstFrame >= 0);
+        assertEquals(firstFrame, StartupMetrics.getTimeToFirstFrameMs());
+        assertTrue(StartupMetrics.getTimeToInteractiveMs() >= firstFrame);
+    }
+
+    private static String meet(CyclicBarrier barrier, String value) throws Exception {
+        barrier.await(5, TimeUnit.SECONDS);
+        return value;
+    }
+}
@@ -0,0 +1,135 @@
+import org.example.task.TaskScope;
+import org.example.task.TaskService;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskServiceTest {
+    private ExecutorService fxThread;
+    private TaskService service;
+
+    @BeforeEach
+    public void setUp() {
+        // Thread unique qui tient lieu de thread FX
+        fxThread = Executors.newSingleThreadExecutor(r -> new Thread(r, "fx-test"));
+        service = new TaskService(fxThread, Executors.newCachedThreadPool());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.shutdown();
+        fxThread.shutdownNow();
+    }
+
+    @Test
+    public void testIdenticalRequestsShareOneExecution() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> published = new CopyOnWriteArrayList<>();
+        TaskScope first = service.newScope();
+        TaskScope second = service.newScope();
+
+        for (int i = 0; i < 5; i++) {
+            first.run("films", () -> slowWork(runs, release), value -> published.add("first " + Thread.currentThread().getName()), e -> fail(e));
+        }
+        var done = second.run("films", () -> slowWork(runs, release), value -> published.add("second " + value), e -> fail(e));
+        assertTrue(service.isRunning("films"));
+        release.countDown();
+        assertEquals(42, done.get(5, TimeUnit.SECONDS));
+        fxThread.submit(() -> { }).get();
+
+        assertEquals(1, runs.get());
+        assertEquals(2, published.size());
+        assertTrue(published.containsAll(List.of("first fx-test", "second 42")), published.toString());
+        assertFalse(service.isRunning("films"));
+    }
+
+    @Test
+    public void testCancelledKeyIsReplacedByTheNextRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<String> published = new CopyOnWriteArrayList<>();
+        TaskScope scope = service.newScope();
+
+        scope.run("page", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "ancienne";
+        }, published::add, e -> published.add("erreur"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scope.cancel("page");
+        var latest = scope.run("page", () -> "récente", published::add, e -> fail(e));
+
+        assertEquals("récente", latest.get(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        fxThread.submit(() -> { }).get();
+        assertEquals(List.of("récente"), published);
+        assertFalse(scope.isPending("page"));
+    }
+
+    @Test
+    public void testCancelledViewInterruptsWorkNobodyElseWaitsFor() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean publishedAfterCancel = new AtomicBoolean();
+        TaskScope scope = service.newScope();
+
+        scope.run("scrape", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "fini";
+        }, value -> publishedAfterCancel.set(true), e -> publishedAfterCancel.set(true));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        scope.cancelAll();
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertFalse(service.isRunning("scrape"));
+        assertFalse(scope.isPending("scrape"));
+        fxThread.submit(() -> { }).get();
+        assertFalse(publishedAfterCancel.get());
+    }
+
+    @Test
+    public void testSharedExecutionSurvivesOneViewLeaving() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        TaskScope leaving = service.newScope();
+        TaskScope staying = service.newScope();
+        AtomicBoolean leavingPublished = new AtomicBoolean();
+
+        leaving.run("films", () -> slowWork(runs, release), value -> leavingPublished.set(true), e -> fail(e));
+        var done = staying.run("films", () -> slowWork(runs, release), value -> { }, e -> fail(e));
+        leaving.cancelAll();
+        release.countDown();
+
+        assertEquals(42, done.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertFalse(leavingPublished.get());
+    }
+
+    private static int slowWork(AtomicInteger runs, CountDownLatch release) throws InterruptedException {
+        runs.incrementAndGet();
+        release.await();
+        return 42;
+    }
+}
@@ -0,0 +1,48 @@
+import org.example.db.DatabaseManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// Base SQLite jetable par test : dossier temporaire créé avant chaque test et supprimé après, base précédente rétablie.
+// Usage : @RegisterExtension final TempDatabase database = new TempDatabase("fts");
+public class TempDatabase implements BeforeEachCallback, AfterEachCallback {
+    private final String name;
+    private Path dir;
+    private String previousPath;
+
+    public TempDatabase(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        dir = Files.createTempDirectory("thebench-" + name);
+        previousPath = DatabaseManager.getDatabasePath();
+        use(name);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        DatabaseManager.setDatabasePath(previousPath);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // Dossier du test, pour d'autres fichiers (magasin de fixtures, pages)
+    public Path dir() {
+        return dir;
+    }
+
+    // Passe à une autre base du même dossier
+    public void use(String fileName) throws SQLException {
+        DatabaseManager.setDatabasePath(dir.resolve(fileName + ".db").toString());
+    }
+}
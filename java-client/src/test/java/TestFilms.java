@@ -0,0 +1,21 @@
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+
+// Fiches de films pour les tests : une séance par horaire, en salle 1 et en VF, dans la salle de cinéma donnée
+public class TestFilms {
+    public static FilmPresentation film(String cinema, String titre, String... heures) {
+        FilmPresentation film = new FilmPresentation();
+        film.titre = titre;
+        film.synopsis = "Synopsis de " + titre;
+        for (String heure : heures) {
+            Seance seance = new Seance();
+            seance.heureDebut = heure;
+            seance.heureFin = heure;
+            seance.salle = "1";
+            seance.version = "VF";
+            seance.cinema = cinema;
+            film.seances.add(seance);
+        }
+        return film;
+    }
+}
@@ -0,0 +1,94 @@
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlAnchor;
+import com.gargoylesoftware.htmlunit.html.HtmlElement;
+import com.gargoylesoftware.htmlunit.html.HtmlImage;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+import org.example.scraping.UgcFilmParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Benchmark hors suite de tests (aucune assertion) : ancienne extraction XPath, qui cherchait les séances dans
+// tout le document pour chaque film, contre UgcFilmParser (séances lues dans le bloc de leur film), sur une page générée.
+// Affiche la durée moyenne de chaque analyse et la taille des listes de séances obtenues.
+// Usage : scripts/benchmark.sh UgcFilmParserBenchmark [films] [séances par film] [répétitions]
+public class UgcFilmParserBenchmark {
+    public static void main(String[] args) throws Exception {
+        int films = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        int seancesPerFilm = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        try (WebClient webClient = new WebClient()) {
+            webClient.getOptions().setJavaScriptEnabled(false);
+            webClient.getOptions().setCssEnabled(false);
+            HtmlPage page = webClient.loadHtmlCodeIntoCurrentWindow(UgcFilmParserTest.generatePage(films, seancesPerFilm));
+
+            // Un premier passage de chaque version pour la compilation JIT
+            int wholeDocumentSeances = parseWholeDocument(page).get(0).seances.size();
+            int scopedSeances = UgcFilmParser.parseFilms(page).get(0).seances.size();
+
+            long wholeDocumentMs = 0;
+            long scopedMs = 0;
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                parseWholeDocument(page);
+                wholeDocumentMs += (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                UgcFilmParser.parseFilms(page);
+                scopedMs += (System.nanoTime() - start) / 1_000_000;
+            }
+
+            System.out.println("Analyse de " + films + " films x " + seancesPerFilm + " séances, moyenne sur " + runs
+                    + " passages : document entier = " + wholeDocumentMs / runs + " ms (" + wholeDocumentSeances
+                    + " séances par film), par bloc = " + scopedMs / runs + " ms (" + scopedSeances + " séances par film)");
+        }
+    }
+
+    // Ancienne extraction : expressions XPath réévaluées pour chaque élément, séances cherchées dans tout le document
+    private static List<FilmPresentation> parseWholeDocument(HtmlPage page) {
+        HtmlElement body = page.getBody();
+        List<FilmPresentation> films = new ArrayList<>();
+        List<HtmlElement> filmBlocks = body.getByXPath("//div[contains(@class,'component--film-presentation')]");
+        for (HtmlElement filmBlock : filmBlocks) {
+            FilmPresentation film = new FilmPresentation();
+
+            HtmlAnchor titleAnchor = filmBlock.getFirstByXPath(".//div[contains(@class,'block--title')]//a");
+            film.titre = titleAnchor.asNormalizedText();
+            film.lien = titleAnchor.getHrefAttribute();
+
+            HtmlImage img = filmBlock.getFirstByXPath(".//div[contains(@class,'img-wrapper')]//img");
+            film.imageUrl = (img != null) ? img.getSrcAttribute() : "";
+
+            HtmlElement genreDuree = filmBlock.getFirstByXPath(".//p[contains(@class,'color--dark-blue')]");
+            String[] parts = genreDuree.asNormalizedText().split("\\(");
+            film.genres = parts[0].trim();
+            film.duree = parts.length > 1 ? parts[1].replace(")", "").trim() : "";
+
+            film.dateSortie = text(filmBlock.getFirstByXPath(".//p[contains(.,'Sortie le')]//span"));
+            film.realisateur = text(filmBlock.getFirstByXPath(".//p[contains(.,'De')]//span"));
+            film.acteurs = text(filmBlock.getFirstByXPath(".//p[contains(.,'Avec')]//span"));
+            film.synopsis = text(filmBlock.getFirstByXPath(".//p[contains(.,'Synopsis')]//span")).replace("voir plus", "");
+
+            List<HtmlElement> seancesHtml = body.getByXPath("//ul[contains(@class,'component--screening-cards')]//li");
+            for (HtmlElement seanceHtml : seancesHtml) {
+                Seance seance = new Seance();
+                seance.version = text(seanceHtml.getFirstByXPath(".//span[contains(@class,'screening-lang')]"));
+                seance.heureDebut = text(seanceHtml.getFirstByXPath(".//div[contains(@class,'screening-start')]"));
+                seance.heureFin = text(seanceHtml.getFirstByXPath(".//div[contains(@class,'screening-end')]"));
+                seance.salle = text(seanceHtml.getFirstByXPath(".//div[contains(@class,'screening-detail')]"));
+                HtmlElement button = seanceHtml.getFirstByXPath(".//button");
+                seance.lienReservation = (button != null) ? button.getAttribute("onclick").replace("javascript:location.href='", "").replace("'", "") : "";
+                film.seances.add(seance);
+            }
+            films.add(film);
+        }
+        return films;
+    }
+
+    private static String text(HtmlElement element) {
+        return (element != null) ? element.asNormalizedText() : "";
+    }
+}
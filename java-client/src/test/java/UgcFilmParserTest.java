@@ -0,0 +1,157 @@
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import org.example.scraping.Model.Cinema.FilmPresentation;
+import org.example.scraping.Model.Cinema.Seance;
+import org.example.scraping.UgcFilmParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UgcFilmParserTest {
+    private static final int FILMS = 12;
+    private static final int SEANCES_PER_FILM = 12;
+
+    private WebClient webClient;
+
+    @BeforeEach
+    public void setUp() {
+        webClient = new WebClient();
+        webClient.getOptions().setJavaScriptEnabled(false);
+        webClient.getOptions().setCssEnabled(false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        webClient.close();
+    }
+
+    @Test
+    public void testFixtureFilmsGetOnlyTheirOwnSeances() throws Exception {
+        HtmlPage page = webClient.getPage(getClass().getResource("/ugc/cinema-chatelet.html"));
+        List<FilmPresentation> films = UgcFilmParser.parseFilms(page);
+
+        assertEquals(4, films.size());
+        FilmPresentation monteCristo = films.get(0);
+        assertEquals("Le Comte de Monte-Cristo", monteCristo.titre);
+        assertEquals("/film.html?id=16021", monteCristo.lien);
+        assertEquals("Aventure, Historique", monteCristo.genres);
+        assertEquals("2h58", monteCristo.duree);
+        assertEquals("28 juin 2024", monteCristo.dateSortie);
+        assertEquals("Pierre Niney, Bastien Bouillon, Anaïs Demoustier", monteCristo.acteurs);
+        assertFalse(monteCristo.synopsis.contains("voir plus"));
+
+        assertEquals(4, monteCristo.seances.size());
+        assertEquals(2, films.get(1).seances.size());
+        assertEquals(0, films.get(2).seances.size());
+        assertEquals(3, films.get(3).seances.size());
+
+        Seance seance = monteCristo.seances.get(2);
+        assertEquals("18:30", seance.heureDebut);
+        assertEquals("21:43", seance.heureFin);
+        assertEquals("Salle 7", seance.salle);
+        assertEquals("VOSTF", seance.version);
+        assertEquals("https://www.ugc.fr/reservationSeances.html?id=1602102", seance.lienReservation);
+        assertEquals("Salle 12", films.get(3).seances.get(0).salle);
+    }
+
+    @Test
+    public void testFilmsAreStreamedOnceComplete() throws Exception {
+        HtmlPage page = webClient.getPage(getClass().getResource("/ugc/cinema-chatelet.html"));
+        List<String> emitted = new ArrayList<>();
+        List<FilmPresentation> films = new ArrayList<>();
+        UgcFilmParser.parseFilms(page, "Châtelet", film -> {
+            // Une fiche transmise a déjà toutes ses séances
+            emitted.add(film.titre + " " + film.seances.size());
+            films.add(film);
+        });
+        for (FilmPresentation film : films) {
+            for (Seance seance : film.seances) {
+                assertEquals("Châtelet", seance.cinema);
+            }
+        }
+
+        List<FilmPresentation> expected = UgcFilmParser.parseFilms(page);
+        assertEquals(expected.size(), emitted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).titre + " " + expected.get(i).seances.size(), emitted.get(i));
+            assertEquals(expected.get(i).seances.size(), films.get(i).seances.size());
+        }
+    }
+
+    @Test
+    public void testSeanceListFollowingTheFilmBlock() throws Exception {
+        String html = "<html><body>"
+                + "<div class='component--film-presentation'><div class='block--title'><a href='/a'>A</a></div></div>"
+                + "<ul class='component--screening-cards'><li><div class='screening-start'>10:00</div></li></ul>"
+                + "<div class='component--film-presentation'><div class='block--title'><a href='/b'>B</a></div></div>"
+                + "<div class='component--film-presentation'><div class='block--title'><a href='/c'>C</a></div></div>"
+                + "<ul class='component--screening-cards'><li><div class='screening-start'>11:00</div></li>"
+                + "<li><div class='screening-start'>12:00</div></li></ul>"
+                + "</body></html>";
+        List<FilmPresentation> films = UgcFilmParser.parseFilms(webClient.loadHtmlCodeIntoCurrentWindow(html));
+
+        assertEquals(3, films.size());
+        assertEquals(1, films.get(0).seances.size());
+        assertEquals("10:00", films.get(0).seances.get(0).heureDebut);
+        assertEquals(0, films.get(1).seances.size());
+        assertEquals(2, films.get(2).seances.size());
+    }
+
+    @Test
+    public void testEachFilmGetsOnlyItsSeancesOnALargePage() throws Exception {
+        HtmlPage page = webClient.loadHtmlCodeIntoCurrentWindow(generatePage(FILMS, SEANCES_PER_FILM));
+        List<FilmPresentation> films = UgcFilmParser.parseFilms(page);
+
+        assertEquals(FILMS, films.size());
+        for (int f = 0; f < FILMS; f++) {
+            FilmPresentation film = films.get(f);
+            assertEquals("Film " + f, film.titre);
+            assertEquals(SEANCES_PER_FILM, film.seances.size());
+            assertEquals("/reservation?id=" + f + "-0", film.seances.get(0).lienReservation);
+        }
+    }
+
+    @Test
+    public void testClassesAndLabelsMatchExactly() throws Exception {
+        String html = "<html><body>"
+                + "<div class='component--film-presentation-header'><div class='block--title'><a href='/pub'>Pub</a></div></div>"
+                + "<div class='component--film-presentation'><div class='block--title'><a href='/a'>A</a></div>"
+                + "<p>Avec <span>Demi Moore</span></p><p>De <span>Coralie Fargeat</span></p></div>"
+                + "<ul class='component--screening-cards-legend'><li><div class='screening-start'>09:00</div></li></ul>"
+                + "<ul class='component--screening-cards'><li><div class='screening-start'>10:00</div></li></ul>"
+                + "</body></html>";
+        List<FilmPresentation> films = UgcFilmParser.parseFilms(webClient.loadHtmlCodeIntoCurrentWindow(html));
+
+        assertEquals(1, films.size());
+        assertEquals("A", films.get(0).titre);
+        assertEquals("Coralie Fargeat", films.get(0).realisateur);
+        assertEquals("Demi Moore", films.get(0).acteurs);
+        assertEquals(1, films.get(0).seances.size());
+        assertEquals("10:00", films.get(0).seances.get(0).heureDebut);
+    }
+
+    // Page de films générée, partagée avec UgcFilmParserBenchmark
+    static String generatePage(int films, int seancesPerFilm) {
+        StringBuilder sb = new StringBuilder("<html><body>");
+        for (int f = 0; f < films; f++) {
+            sb.append("<div class='component--film-presentation'>")
+                    .append("<div class='block--title'><a href='/film.html?id=").append(f).append("'>Film ").append(f).append("</a></div>")
+                    .append("<p class='color--dark-blue'>Drame (1h50)</p>")
+                    .append("<ul class='component--screening-cards'>");
+            for (int s = 0; s < seancesPerFilm; s++) {
+                sb.append("<li><button onclick=\"javascript:location.href='/reservation?id=").append(f).append('-').append(s).append("'\">")
+                        .append("<span class='screening-lang'>VF</span>")
+                        .append("<div class='screening-start'>").append(s % 24).append(":00</div>")
+                        .append("<div class='screening-end'>").append((s + 2) % 24).append(":00</div>")
+                        .append("<div class='screening-detail'>Salle ").append(s % 12).append("</div>")
+                        .append("</button></li>");
+            }
+            sb.append("</ul></div>");
+        }
+        return sb.append("</body></html>").toString();
+    }
+}
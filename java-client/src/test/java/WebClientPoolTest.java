@@ -0,0 +1,103 @@
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import com.gargoylesoftware.htmlunit.util.Cookie;
+import org.example.scraping.ResourceFilter;
+import org.example.scraping.WebClientPool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebClientPoolTest {
+    private WebClientPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testClientIsReusedAndReset() throws Exception {
+        pool = new WebClientPool(1, 60_000);
+        WebClient first;
+        try (WebClientPool.Lease lease = pool.borrow(new ResourceFilter())) {
+            first = lease.client();
+            first.getCookieManager().addCookie(new Cookie("ugc.fr", "session", "abc"));
+            HtmlPage page = first.loadHtmlCodeIntoCurrentWindow("<html><body><p>ancienne page</p></body></html>");
+            assertNotNull(page.getFirstByXPath("//p"));
+        }
+        assertEquals(1, pool.idleCount());
+
+        try (WebClientPool.Lease lease = pool.borrow(new ResourceFilter())) {
+            assertSame(first, lease.client());
+            assertTrue(lease.client().getCookieManager().getCookies().isEmpty());
+            assertEquals("about:blank", lease.client().getCurrentWindow().getEnclosedPage().getUrl().toString());
+            assertEquals(0, lease.connection().getRequestCount());
+        }
+    }
+
+    @Test
+    public void testBorrowWaitsWhenAllClientsAreInUse() throws Exception {
+        pool = new WebClientPool(1, 60_000);
+        WebClientPool.Lease lease = pool.borrow(new ResourceFilter());
+        CountDownLatch borrowed = new CountDownLatch(1);
+        AtomicReference<WebClient> second = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            try (WebClientPool.Lease otherLease = pool.borrow(new ResourceFilter())) {
+                second.set(otherLease.client());
+                borrowed.countDown();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        other.start();
+
+        assertFalse(borrowed.await(300, TimeUnit.MILLISECONDS));
+        WebClient first = lease.client();
+        lease.close();
+        assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+        assertSame(first, second.get());
+        other.join();
+    }
+
+    @Test
+    public void testCloseIdleDropsFreeClients() throws Exception {
+        pool = new WebClientPool(2, 60_000);
+        WebClient first;
+        try (WebClientPool.Lease lease = pool.borrow(new ResourceFilter())) {
+            first = lease.client();
+        }
+        assertEquals(1, pool.idleCount());
+
+        pool.closeIdle();
+
+        assertEquals(0, pool.idleCount());
+        try (WebClientPool.Lease lease = pool.borrow(new ResourceFilter())) {
+            assertNotSame(first, lease.client());
+        }
+    }
+
+    @Test
+    public void testIdleClientsAreClosedAfterTimeout() throws Exception {
+        pool = new WebClientPool(2, 100);
+        WebClient first;
+        try (WebClientPool.Lease lease = pool.borrow(new ResourceFilter())) {
+            first = lease.client();
+        }
+        assertEquals(1, pool.idleCount());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.idleCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, pool.idleCount());
+        try (WebClientPool.Lease lease = pool.borrow(new ResourceFilter())) {
+            assertNotSame(first, lease.client());
+        }
+    }
+}